@@ -0,0 +1,24 @@
+# قواعد R8 لنسخة الإصدار
+# مكتبات SESL تصل إلى واجهات Samsung والواجهات المخفية في النظام عبر الانعكاس (Reflection)
+# لذلك تُحفظ أسماء فئاتها كما هي
+
+# --- SESL / OneUI ---
+-keep class androidx.reflect.** { *; }
+-keep class dev.oneuiproject.oneui.** { *; }
+-keep class androidx.picker.** { *; }
+-keep class androidx.apppickerview.** { *; }
+-keep class androidx.indexscroll.** { *; }
+-keep class com.samsung.** { *; }
+-dontwarn com.samsung.**
+-dontwarn androidx.reflect.**
+
+# --- التطبيق ---
+# FragmentManager يعيد إنشاء الشاشات بأسماء فئاتها بعد تغيير الإعدادات أو موت العملية
+-keep public class * extends androidx.fragment.app.Fragment {
+    public <init>();
+}
+
+# تقارير الأخطاء وبصمتها تعتمد على أسماء الفئات وأرقام الأسطر
+# الأسماء تبقى مختصرة بعد التشويش، وملف mapping.txt لكل إصدار يُستخدم لقراءة التقارير
+-keepattributes SourceFile,LineNumberTable
+-renamesourcefileattribute SourceFile
@@ -0,0 +1,171 @@
+package com.example.oneuiapp;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.content.Context;
+import android.util.Log;
+import android.view.View;
+import androidx.recyclerview.widget.DefaultItemAnimator;
+import androidx.recyclerview.widget.RecyclerView;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * سياسة مدد الرسوم المتحركة على مستوى التطبيق
+ * كل مدة أساسية تُضرب في معامل سرعة الرسوم من الإعدادات ثم في معامل وضع الأداء
+ * السرعة 0 تلغي الرسوم المتحركة، والقيمة الافتراضية 75 تبقي المدد كما هي
+ * يُستخدم من الخيط الرئيسي فقط
+ */
+public final class AnimationPolicy implements SettingsStore.OnChangeListener, PerformanceMode.Listener {
+
+    private static final String TAG = "AnimationPolicy";
+
+    public static final long FADE_IN_MS = 300;
+
+    // المدد الافتراضية في DefaultItemAnimator
+    static final long ITEM_ADD_REMOVE_MS = 120;
+    static final long ITEM_MOVE_CHANGE_MS = 250;
+
+    // السرعة التي تقابل المدد الأساسية كما هي
+    static final int REFERENCE_SPEED = 75;
+    static final float MIN_SCALE = 0.25f;
+    static final float MAX_SCALE = 4f;
+
+    /**
+     * يتم إبلاغه على الخيط الرئيسي عند تغيير معامل المدد لتطبيقه على الرسوم الجارية
+     */
+    public interface Listener {
+        void onAnimationScaleChanged(AnimationPolicy policy);
+    }
+
+    private static volatile AnimationPolicy instance;
+
+    private final SettingsStore settingsStore;
+    private final PerformanceMode performanceMode;
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private float speedScale;
+
+    private AnimationPolicy(Context context) {
+        settingsStore = SettingsStore.getInstance(context);
+        performanceMode = PerformanceMode.getInstance(context);
+        speedScale = scaleForSpeed(settingsStore.get(SettingsStore.ANIMATION_SPEED));
+        settingsStore.addListener(this);
+        performanceMode.addListener(this);
+    }
+
+    public static AnimationPolicy getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AnimationPolicy.class) {
+                if (instance == null) {
+                    instance = new AnimationPolicy(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * معامل المدة لقيمة شريط السرعة - أسرع من المرجع يقصر المدة وأبطأ منه يطيلها ضمن الحدود
+     */
+    static float scaleForSpeed(int speed) {
+        if (speed <= 0) {
+            return 0f;
+        }
+        float scale = (float) REFERENCE_SPEED / speed;
+        return Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale));
+    }
+
+    public boolean isEnabled() {
+        return speedScale > 0f;
+    }
+
+    /**
+     * المدة الفعلية لمدة أساسية - 0 عند إيقاف الرسوم المتحركة
+     */
+    public long scaleDuration(long durationMs) {
+        return performanceMode.getProfile().scaleDuration(Math.round(durationMs * speedScale));
+    }
+
+    public void addListener(Listener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void onSettingChanged(SettingsStore.Key<?> key, SettingsStore.Snapshot snapshot) {
+        if (key != SettingsStore.ANIMATION_SPEED) {
+            return;
+        }
+        float scale = scaleForSpeed(snapshot.get(SettingsStore.ANIMATION_SPEED));
+        if (scale == speedScale) {
+            return;
+        }
+        speedScale = scale;
+        Log.d(TAG, "معامل مدة الرسوم المتحركة: " + scale);
+        notifyListeners();
+    }
+
+    @Override
+    public void onProfileChanged(PerformanceMode.Profile profile) {
+        notifyListeners();
+    }
+
+    private void notifyListeners() {
+        for (Listener listener : listeners) {
+            listener.onAnimationScaleChanged(this);
+        }
+    }
+
+    /**
+     * إظهار تدريجي لعرض كامل على طبقة خارج الشاشة
+     * العرض يُرسم مرة واحدة في الطبقة وكل إطار يغير شفافيتها فقط بدلاً من إعادة رسم الشجرة
+     * إطارات الانتقال تُسجل في FrameMonitor بشكل منفصل لمقارنتها بين الإصدارات
+     */
+    public void fadeIn(View view, long durationMs) {
+        // إلغاء انتقال سابق ينهي قياسه قبل بدء الجديد
+        view.animate().cancel();
+        long duration = scaleDuration(durationMs);
+        if (duration <= 0) {
+            view.setAlpha(1f);
+            return;
+        }
+
+        FrameMonitor.getInstance().beginTransition();
+        view.setAlpha(0f);
+        view.animate()
+                .alpha(1f)
+                .setDuration(duration)
+                .withLayer()
+                .setListener(new AnimatorListenerAdapter() {
+                    @Override
+                    public void onAnimationEnd(Animator animation) {
+                        // يُستدعى عند الانتهاء والإلغاء
+                        view.animate().setListener(null);
+                        FrameMonitor.getInstance().endTransition();
+                    }
+                })
+                .start();
+    }
+
+    /**
+     * تطبيق المدد على رسوم عناصر القائمة - إزالة المحرك تماماً عند إيقاف الرسوم المتحركة
+     */
+    public void applyTo(RecyclerView recyclerView) {
+        if (!isEnabled()) {
+            recyclerView.setItemAnimator(null);
+            return;
+        }
+        RecyclerView.ItemAnimator animator = recyclerView.getItemAnimator();
+        if (animator == null) {
+            animator = new DefaultItemAnimator();
+            recyclerView.setItemAnimator(animator);
+        }
+        animator.setAddDuration(scaleDuration(ITEM_ADD_REMOVE_MS));
+        animator.setRemoveDuration(scaleDuration(ITEM_ADD_REMOVE_MS));
+        animator.setMoveDuration(scaleDuration(ITEM_MOVE_CHANGE_MS));
+        animator.setChangeDuration(scaleDuration(ITEM_MOVE_CHANGE_MS));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.oneuiapp;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * منفذات المهام المشتركة على مستوى التطبيق
+ * تضمن عدم تنفيذ أي عمل ثقيل على الخيط الرئيسي
+ */
+public final class AppExecutors {
+
+    public static final int DEFAULT_IO_THREADS = 2;
+
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+    private static volatile ThreadPoolExecutor ioExecutor;
+    private static int ioThreads = DEFAULT_IO_THREADS;
+    private static volatile ExecutorService backgroundExecutor;
+
+    private AppExecutors() {
+    }
+
+    /**
+     * منفذ عمليات القراءة وتحميل البيانات
+     */
+    public static ExecutorService io() {
+        if (ioExecutor == null) {
+            synchronized (AppExecutors.class) {
+                if (ioExecutor == null) {
+                    ioExecutor = new ThreadPoolExecutor(ioThreads, ioThreads,
+                        0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                        createThreadFactory("oneui-io", Process.THREAD_PRIORITY_BACKGROUND));
+                }
+            }
+        }
+        return ioExecutor;
+    }
+
+    /**
+     * تغيير عدد خيوط منفذ القراءة أثناء التشغيل حسب وضع الأداء
+     * الخيوط الزائدة تنتهي بعد إكمال مهامها الحالية
+     */
+    public static void setIoThreads(int threads) {
+        synchronized (AppExecutors.class) {
+            if (threads < 1 || threads == ioThreads) {
+                return;
+            }
+            ioThreads = threads;
+            ThreadPoolExecutor executor = ioExecutor;
+            if (executor == null) {
+                return;
+            }
+            // الحد الأعلى يجب ألا يقل عن الأساسي في أي لحظة
+            if (threads > executor.getMaximumPoolSize()) {
+                executor.setMaximumPoolSize(threads);
+                executor.setCorePoolSize(threads);
+            } else {
+                executor.setCorePoolSize(threads);
+                executor.setMaximumPoolSize(threads);
+            }
+        }
+    }
+
+    /**
+     * منفذ منخفض الأولوية للأعمال المؤجلة مثل التنظيف
+     */
+    public static ExecutorService background() {
+        if (backgroundExecutor == null) {
+            synchronized (AppExecutors.class) {
+                if (backgroundExecutor == null) {
+                    backgroundExecutor = Executors.newSingleThreadExecutor(
+                        createThreadFactory("oneui-background", Process.THREAD_PRIORITY_LOWEST));
+                }
+            }
+        }
+        return backgroundExecutor;
+    }
+
+    /**
+     * معالج الخيط الرئيسي لنشر النتائج
+     */
+    public static Handler mainHandler() {
+        return MAIN_HANDLER;
+    }
+
+    /**
+     * إنشاء مصنع خيوط بأسماء واضحة وأولوية محددة
+     */
+    static ThreadFactory createThreadFactory(String prefix, int priority) {
+        AtomicInteger counter = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(priority);
+                runnable.run();
+            }, prefix + "-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.oneuiapp;
+
+/**
+ * توحيد النص للبحث بحيث تتطابق الكتابات المختلفة لنفس الكلمة
+ * يحذف التشكيل والتطويل، ويوحد أشكال الألف والياء والتاء المربوطة، ويحول الأرقام العربية الهندية إلى لاتينية
+ * الدوال لا تحتفظ بأي حالة لذلك آمنة من أي خيط
+ */
+public final class ArabicNormalizer {
+
+    /**
+     * يُعاد بدلاً من الحرف عندما يُحذف من النص الموحد
+     */
+    static final char DROPPED = 0;
+
+    private ArabicNormalizer() {
+    }
+
+    /**
+     * الحرف بعد التوحيد أو DROPPED إذا كان يُحذف
+     */
+    public static char normalize(char c) {
+        // التشكيل من الفتحتين حتى العلامات الملحقة بالسكون
+        if (c >= '\u064B' && c <= '\u065F') {
+            return DROPPED;
+        }
+        if (c >= '\u0660' && c <= '\u0669') {
+            return (char) ('0' + (c - '\u0660'));
+        }
+        if (c >= '\u06F0' && c <= '\u06F9') {
+            return (char) ('0' + (c - '\u06F0'));
+        }
+        switch (c) {
+            case '\u0640': // تطويل
+            case '\u0670': // ألف خنجرية
+                return DROPPED;
+            case '\u0622': // آ
+            case '\u0623': // أ
+            case '\u0625': // إ
+            case '\u0671': // ٱ
+                return '\u0627';
+            case '\u0649': // ى
+            case '\u0626': // ئ
+            case '\u06CC': // ی
+                return '\u064A';
+            case '\u0629': // ة
+                return '\u0647';
+            default:
+                return c < 0x80 ? asciiLowerCase(c) : Character.toLowerCase(c);
+        }
+    }
+
+    private static char asciiLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /**
+     * النص بعد التوحيد - يعيد نفس النص دون نسخ إذا لم يتغير أي حرف
+     */
+    public static String normalize(CharSequence text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (normalize(c) != c) {
+                return normalizeFrom(text, i);
+            }
+        }
+        return text.toString();
+    }
+
+    private static String normalizeFrom(CharSequence text, int firstChanged) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        normalized.append(text, 0, firstChanged);
+        for (int i = firstChanged; i < text.length(); i++) {
+            char c = normalize(text.charAt(i));
+            if (c != DROPPED) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * هل يحتوي النص بعد توحيده على الاستعلام الموحد - بدون إنشاء نص جديد
+     */
+    public static boolean contains(CharSequence text, String normalizedQuery) {
+        int queryLength = normalizedQuery.length();
+        if (queryLength == 0) {
+            return true;
+        }
+        int length = text.length();
+        char first = normalizedQuery.charAt(0);
+        for (int start = 0; start < length; start++) {
+            if (normalize(text.charAt(start)) != first) {
+                continue;
+            }
+            int matched = 1;
+            for (int i = start + 1; i < length && matched < queryLength; i++) {
+                char c = normalize(text.charAt(i));
+                if (c == DROPPED) {
+                    continue;
+                }
+                if (c != normalizedQuery.charAt(matched)) {
+                    break;
+                }
+                matched++;
+            }
+            if (matched == queryLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
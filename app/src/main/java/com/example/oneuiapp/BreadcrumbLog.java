@@ -0,0 +1,260 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.util.Log;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * سجل مسار التطبيق (Breadcrumbs) في حلقة ثابتة الحجم مربوطة بملف عبر mmap
+ * الكتابة من أي خيط بدون استدعاء نظام لكل حدث، والملف يبقى بعد موت العملية
+ * الكتابة بدون أقفال: التسلسل يُحجز ذرياً والخانة تُنشر عبر تسلسلها في AtomicLongArray
+ * القارئ ينسخ الخانة ثم يتحقق أن تسلسلها لم يتغير، كما في seqlock
+ * لذلك يمكن تضمين آخر الأحداث في تقرير الخطأ أو قراءتها عند التشغيل التالي
+ */
+public final class BreadcrumbLog {
+
+    private static final String TAG = "BreadcrumbLog";
+    private static final String FILE_NAME = "breadcrumbs.bin";
+
+    public static final byte CATEGORY_NAVIGATION = 1;
+    public static final byte CATEGORY_SETTINGS = 2;
+    public static final byte CATEGORY_BIND = 3;
+    public static final byte CATEGORY_LIFECYCLE = 4;
+
+    private static final int MAGIC = 0x4F554942;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+
+    // عدد الخانات يجب أن يكون من قوى العدد 2
+    private static final int SLOT_COUNT = 256;
+    private static final int SLOT_SIZE = 128;
+
+    // تخطيط الخانة: التسلسل (يُكتب أخيراً كعلامة اكتمال) ثم الوقت ثم النوع والطول والنص
+    private static final int OFFSET_SEQUENCE = 0;
+    private static final int OFFSET_TIME = 8;
+    private static final int OFFSET_VALUE = 16;
+    private static final int OFFSET_CATEGORY = 24;
+    private static final int OFFSET_LENGTH = 26;
+    private static final int OFFSET_MESSAGE = 28;
+    public static final int MAX_MESSAGE_BYTES = SLOT_SIZE - OFFSET_MESSAGE;
+
+    private static final long NO_VALUE = Long.MIN_VALUE;
+
+    private static volatile BreadcrumbLog instance;
+
+    private final MappedByteBuffer buffer;
+    private final AtomicLong nextSequence;
+
+    // تسلسل الحدث المنشور في كل خانة، أو سالب تسلسل الكاتب أثناء الكتابة
+    // نسخة في الذاكرة من تسلسل الملف لأن MappedByteBuffer لا يدعم العمليات الذرية
+    private final AtomicLongArray published = new AtomicLongArray(SLOT_COUNT);
+
+    /**
+     * حاوية قراءة قابلة لإعادة الاستخدام لتجنب إنشاء كائنات أثناء كتابة التقرير
+     */
+    public static final class Entry {
+        public long timeMillis;
+        public long value;
+        public byte category;
+        public int length;
+        public final byte[] message = new byte[MAX_MESSAGE_BYTES];
+
+        public boolean hasValue() {
+            return value != NO_VALUE;
+        }
+    }
+
+    private BreadcrumbLog(MappedByteBuffer buffer, long firstSequence) {
+        this.buffer = buffer;
+        this.nextSequence = new AtomicLong(firstSequence);
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            published.set(slot, buffer.getLong(slotOffset(slot) + OFFSET_SEQUENCE));
+        }
+    }
+
+    /**
+     * فتح ملف السجل أو إنشاؤه - يُستدعى مرة واحدة لكل عملية
+     */
+    public static void initialize(Context context) {
+        if (instance != null) {
+            return;
+        }
+        synchronized (BreadcrumbLog.class) {
+            if (instance != null) {
+                return;
+            }
+            File file = new File(context.getFilesDir(), FILE_NAME);
+            int size = HEADER_SIZE + SLOT_COUNT * SLOT_SIZE;
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(size);
+                MappedByteBuffer mapped = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+                instance = new BreadcrumbLog(mapped, prepare(mapped));
+                Log.d(TAG, "تم فتح سجل المسار - التسلسل التالي: " + instance.nextSequence.get());
+            } catch (IOException e) {
+                Log.w(TAG, "تحذير: فشل في فتح سجل المسار", e);
+            }
+        }
+    }
+
+    public static BreadcrumbLog getInstance() {
+        return instance;
+    }
+
+    /**
+     * تسجيل حدث نصي
+     */
+    public static void record(byte category, String message) {
+        BreadcrumbLog log = instance;
+        if (log != null) {
+            log.append(category, message, NO_VALUE);
+        }
+    }
+
+    /**
+     * تسجيل حدث مع قيمة رقمية دون بناء نص جديد عند الاستدعاء
+     */
+    public static void record(byte category, String message, long value) {
+        BreadcrumbLog log = instance;
+        if (log != null) {
+            log.append(category, message, value);
+        }
+    }
+
+    /**
+     * التحقق من رأس الملف واستئناف التسلسل من آخر حدث محفوظ
+     */
+    private static long prepare(MappedByteBuffer mapped) {
+        if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION
+                || mapped.getInt(8) != SLOT_COUNT || mapped.getInt(12) != SLOT_SIZE) {
+            for (int i = 0; i < mapped.capacity(); i += 8) {
+                mapped.putLong(i, 0);
+            }
+            mapped.putInt(0, MAGIC);
+            mapped.putInt(4, VERSION);
+            mapped.putInt(8, SLOT_COUNT);
+            mapped.putInt(12, SLOT_SIZE);
+            return 1;
+        }
+
+        long maxSequence = 0;
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            maxSequence = Math.max(maxSequence, mapped.getLong(slotOffset(slot) + OFFSET_SEQUENCE));
+        }
+        return maxSequence + 1;
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private static int slotIndex(long sequence) {
+        return (int) (sequence & (SLOT_COUNT - 1));
+    }
+
+    /**
+     * حجز خانة بعملية ذرية واحدة ثم الكتابة فيها مباشرة في الذاكرة المربوطة
+     * لا ينتظر أي كاتب غيره: من يجد الخانة محجوزة لكاتب آخر أو منشوراً فيها حدث أحدث يتخطاها
+     * الحالة الأولى تعني أن الحلقة التفّت كاملة أثناء كتابة واحدة، فيضيع أحد الحدثين
+     */
+    private void append(byte category, String message, long value) {
+        long sequence = nextSequence.getAndIncrement();
+        int slot = slotIndex(sequence);
+        int base = slotOffset(slot);
+        long time = System.currentTimeMillis();
+
+        long current = published.get(slot);
+        if (current < 0 || current > sequence || !published.compareAndSet(slot, current, -sequence)) {
+            return;
+        }
+
+        // تعليم الخانة كغير مكتملة حتى لا تُقرأ من الملف بعد موت العملية أثناء الكتابة
+        buffer.putLong(base + OFFSET_SEQUENCE, 0);
+        buffer.putLong(base + OFFSET_TIME, time);
+        buffer.putLong(base + OFFSET_VALUE, value);
+        buffer.put(base + OFFSET_CATEGORY, category);
+
+        int length = encodeUtf8(message, base + OFFSET_MESSAGE);
+        buffer.putShort(base + OFFSET_LENGTH, (short) length);
+        buffer.putLong(base + OFFSET_SEQUENCE, sequence);
+        // النشر بعد كل الكتابات السابقة - لا يغير الخانة غير حاجزها فلا حاجة لـ CAS هنا
+        published.lazySet(slot, sequence);
+    }
+
+    private int encodeUtf8(String message, int offset) {
+        int written = 0;
+        int length = message.length();
+        for (int i = 0; i < length; i++) {
+            char c = message.charAt(i);
+            if (c < 0x80) {
+                if (written + 1 > MAX_MESSAGE_BYTES) break;
+                buffer.put(offset + written++, (byte) c);
+            } else if (c < 0x800) {
+                if (written + 2 > MAX_MESSAGE_BYTES) break;
+                buffer.put(offset + written++, (byte) (0xC0 | (c >> 6)));
+                buffer.put(offset + written++, (byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // الرموز خارج النطاق الأساسي غير مطلوبة في السجل
+                if (written + 1 > MAX_MESSAGE_BYTES) break;
+                buffer.put(offset + written++, (byte) '?');
+            } else {
+                if (written + 3 > MAX_MESSAGE_BYTES) break;
+                buffer.put(offset + written++, (byte) (0xE0 | (c >> 12)));
+                buffer.put(offset + written++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put(offset + written++, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return written;
+    }
+
+    /**
+     * تسلسل آخر حدث تم حجزه
+     */
+    public long getLastSequence() {
+        return nextSequence.get() - 1;
+    }
+
+    /**
+     * قراءة حدث حسب تسلسله
+     * يعيد false إذا تمت الكتابة فوقه أو كانت خانته قيد الكتابة - القراءة لا تنتظر الكاتب
+     */
+    public boolean readEntry(long sequence, Entry entry) {
+        if (sequence <= 0) {
+            return false;
+        }
+        int slot = slotIndex(sequence);
+        int base = slotOffset(slot);
+        if (published.get(slot) != sequence) {
+            return false;
+        }
+
+        entry.timeMillis = buffer.getLong(base + OFFSET_TIME);
+        entry.value = buffer.getLong(base + OFFSET_VALUE);
+        entry.category = buffer.get(base + OFFSET_CATEGORY);
+        entry.length = Math.min(Math.max(buffer.getShort(base + OFFSET_LENGTH), 0), MAX_MESSAGE_BYTES);
+        for (int i = 0; i < entry.length; i++) {
+            entry.message[i] = buffer.get(base + OFFSET_MESSAGE + i);
+        }
+        // CAS بنفس القيمة حاجز كامل، فلا تتأخر قراءات النسخ بعد التحقق كما قد يحدث مع قراءة عادية
+        // API 23 لا يوفر loadFence، والقراءة نادرة (تقرير الخطأ) فلا تضر تكلفة الكتابة
+        return published.compareAndSet(slot, sequence, sequence);
+    }
+
+    /**
+     * اسم نوع الحدث للعرض في التقرير
+     */
+    public static String categoryName(byte category) {
+        switch (category) {
+            case CATEGORY_NAVIGATION: return "تنقل";
+            case CATEGORY_SETTINGS: return "إعدادات";
+            case CATEGORY_BIND: return "ربط";
+            case CATEGORY_LIFECYCLE: return "دورة حياة";
+            default: return "غير معروف";
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.oneuiapp;
+
+import android.util.Log;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * أرشيف تقارير الأخطاء القديمة في ملف واحد يُضاف إليه فقط مع فهرس إزاحات ثابت الحجم
+ * قراءة أي مدخل أو معلوماته تتطلب عملية قراءة واحدة مهما كان عدد المدخلات
+ * الضغط يكتب نسخة جديدة من الملفين ثم يعتمدها بإعادة تسمية واحدة، ويُكمل أو يُلغى عند الفتح التالي
+ */
+public class CrashArchive {
+
+    private static final String TAG = "CrashArchive";
+
+    static final String DATA_FILE_NAME = "crash_archive.dat";
+    static final String INDEX_FILE_NAME = "crash_archive.idx";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String READY_SUFFIX = ".ready";
+
+    // تخطيط سجل الفهرس: الإزاحة، الطول، العلامات، الوقت، بصمة المكدس
+    private static final int RECORD_SIZE = 32;
+    private static final int OFFSET_FLAGS = 12;
+    private static final int FLAG_DELETED = 1;
+
+    private final File dataFile;
+    private final File indexFile;
+    private final File tempData;
+    private final File tempIndex;
+    // فهرس الضغط المكتمل - وجوده يعني أن الملفين الجديدين جاهزان للاستبدال
+    private final File readyIndex;
+
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private boolean recovered;
+
+    /**
+     * معلومات مدخل واحد في الأرشيف
+     */
+    public static final class Entry {
+        public final int index;
+        public final long offset;
+        public final int length;
+        public final long timeMillis;
+        public final long signature;
+        public final boolean deleted;
+
+        Entry(int index, long offset, int length, int flags, long timeMillis, long signature) {
+            this.index = index;
+            this.offset = offset;
+            this.length = length;
+            this.timeMillis = timeMillis;
+            this.signature = signature;
+            this.deleted = (flags & FLAG_DELETED) != 0;
+        }
+    }
+
+    public CrashArchive(File directory) {
+        this.dataFile = new File(directory, DATA_FILE_NAME);
+        this.indexFile = new File(directory, INDEX_FILE_NAME);
+        this.tempData = new File(dataFile.getPath() + TEMP_SUFFIX);
+        this.tempIndex = new File(indexFile.getPath() + TEMP_SUFFIX);
+        this.readyIndex = new File(indexFile.getPath() + READY_SUFFIX);
+    }
+
+    /**
+     * عدد المدخلات في الفهرس بما فيها المحذوفة
+     */
+    public int getEntryCount() throws IOException {
+        recover();
+        return (int) (indexFile.length() / RECORD_SIZE);
+    }
+
+    /**
+     * قراءة معلومات مدخل حسب ترتيبه
+     */
+    public Entry getEntry(int index) throws IOException {
+        recover();
+        try (FileChannel channel = new RandomAccessFile(indexFile, "r").getChannel()) {
+            record.clear();
+            readFully(channel, record, (long) index * RECORD_SIZE);
+            record.flip();
+            return readRecord(record, index);
+        }
+    }
+
+    /**
+     * قراءة جميع المدخلات بقراءة متسلسلة واحدة للفهرس
+     */
+    public Entry[] readAllEntries() throws IOException {
+        int count = getEntryCount();
+        Entry[] entries = new Entry[count];
+        if (count == 0) {
+            return entries;
+        }
+        ByteBuffer records = ByteBuffer.allocate(count * RECORD_SIZE);
+        try (FileChannel channel = new RandomAccessFile(indexFile, "r").getChannel()) {
+            readFully(channel, records, 0);
+        }
+        records.flip();
+        for (int i = 0; i < count; i++) {
+            entries[i] = readRecord(records, i);
+        }
+        return entries;
+    }
+
+    /**
+     * قراءة محتوى تقرير مؤرشف
+     */
+    public byte[] readContent(Entry entry) throws IOException {
+        recover();
+        byte[] content = new byte[entry.length];
+        try (FileChannel channel = new RandomAccessFile(dataFile, "r").getChannel()) {
+            readFully(channel, ByteBuffer.wrap(content), entry.offset);
+        }
+        return content;
+    }
+
+    /**
+     * إضافة تقرير إلى نهاية الأرشيف ثم تسجيله في الفهرس
+     * المحتوى يُكتب أولاً، فالتوقف بين العمليتين يترك بيانات بلا سجل فقط
+     */
+    public void append(byte[] content, long timeMillis, long signature) throws IOException {
+        recover();
+        long offset;
+        try (FileChannel data = new RandomAccessFile(dataFile, "rw").getChannel()) {
+            offset = data.size();
+            writeFully(data, ByteBuffer.wrap(content), offset);
+        }
+        try (FileChannel index = new RandomAccessFile(indexFile, "rw").getChannel()) {
+            long size = index.size();
+            putRecord(offset, content.length, 0, timeMillis, signature);
+            writeFully(index, record, size - size % RECORD_SIZE);
+        }
+    }
+
+    /**
+     * تعليم مدخل كمحذوف دون إعادة كتابة الأرشيف
+     */
+    public void markDeleted(int index) throws IOException {
+        recover();
+        try (FileChannel channel = new RandomAccessFile(indexFile, "rw").getChannel()) {
+            record.clear();
+            record.putInt(FLAG_DELETED);
+            record.flip();
+            writeFully(channel, record, (long) index * RECORD_SIZE + OFFSET_FLAGS);
+        }
+    }
+
+    /**
+     * إعادة كتابة الأرشيف بالمدخلات الحية فقط عندما تتجاوز المساحة المحذوفة المساحة المستخدمة
+     * إعادة تسمية الفهرس المؤقت إلى اسم الجاهز هي نقطة الاعتماد الوحيدة، وما بعدها يُستكمل عند الفتح
+     */
+    public void compactIfNeeded() throws IOException {
+        Entry[] entries = readAllEntries();
+        long liveBytes = 0;
+        long deletedBytes = 0;
+        for (Entry entry : entries) {
+            if (entry.deleted) {
+                deletedBytes += entry.length;
+            } else {
+                liveBytes += entry.length;
+            }
+        }
+        if (deletedBytes == 0 || deletedBytes < liveBytes) {
+            return;
+        }
+
+        try (FileChannel source = new RandomAccessFile(dataFile, "r").getChannel();
+             FileChannel data = new RandomAccessFile(tempData, "rw").getChannel();
+             FileChannel index = new RandomAccessFile(tempIndex, "rw").getChannel()) {
+            data.truncate(0);
+            index.truncate(0);
+            long dataOffset = 0;
+            long indexOffset = 0;
+            for (Entry entry : entries) {
+                if (entry.deleted) {
+                    continue;
+                }
+                ByteBuffer content = ByteBuffer.allocate(entry.length);
+                readFully(source, content, entry.offset);
+                content.flip();
+                writeFully(data, content, dataOffset);
+
+                putRecord(dataOffset, entry.length, 0, entry.timeMillis, entry.signature);
+                writeFully(index, record, indexOffset);
+                dataOffset += entry.length;
+                indexOffset += RECORD_SIZE;
+            }
+            data.force(true);
+            index.force(true);
+        }
+
+        if (!tempIndex.renameTo(readyIndex)) {
+            throw new IOException("فشل في اعتماد فهرس الأرشيف المضغوط");
+        }
+        finishCompaction();
+        Log.d(TAG, "تم ضغط الأرشيف - المساحة المستردة: " + CrashHandler.formatBytes(deletedBytes));
+    }
+
+    /**
+     * التحقق من تطابق الملفين مرة واحدة قبل أول استخدام
+     * ضغط معتمد لم يكتمل استبداله يُستكمل، وضغط لم يُعتمد يُحذف ويبقى الزوج القديم كما هو
+     * سجلات الفهرس التي تشير بعد نهاية البيانات تُحذف كما في ItemStore
+     */
+    private void recover() throws IOException {
+        if (recovered) {
+            return;
+        }
+        if (readyIndex.exists()) {
+            finishCompaction();
+            Log.w(TAG, "تم استكمال ضغط الأرشيف بعد توقف مفاجئ");
+        } else if (tempData.exists() || tempIndex.exists()) {
+            tempData.delete();
+            tempIndex.delete();
+            Log.w(TAG, "تم إلغاء ضغط غير مكتمل للأرشيف");
+        }
+
+        if (indexFile.exists()) {
+            long dataSize = dataFile.length();
+            try (FileChannel index = new RandomAccessFile(indexFile, "rw").getChannel()) {
+                int records = (int) (index.size() / RECORD_SIZE);
+                for (; records > 0; records--) {
+                    record.clear();
+                    readFully(index, record, (long) (records - 1) * RECORD_SIZE);
+                    record.flip();
+                    Entry last = readRecord(record, records - 1);
+                    if (last.offset + last.length <= dataSize) {
+                        break;
+                    }
+                }
+                if (index.size() != (long) records * RECORD_SIZE) {
+                    index.truncate((long) records * RECORD_SIZE);
+                    Log.w(TAG, "تم حذف سجلات فهرس لا تطابق ملف البيانات");
+                }
+            }
+        }
+        recovered = true;
+    }
+
+    /**
+     * استبدال الملفين بنسختي الضغط الجاهزتين - آمن للتكرار بعد توقف في أي خطوة
+     */
+    private void finishCompaction() throws IOException {
+        if (tempData.exists() && !tempData.renameTo(dataFile)) {
+            throw new IOException("فشل في استبدال ملف بيانات الأرشيف");
+        }
+        if (!readyIndex.renameTo(indexFile)) {
+            throw new IOException("فشل في استبدال فهرس الأرشيف");
+        }
+    }
+
+    private void putRecord(long offset, int length, int flags, long timeMillis, long signature) {
+        record.clear();
+        record.putLong(offset);
+        record.putInt(length);
+        record.putInt(flags);
+        record.putLong(timeMillis);
+        record.putLong(signature);
+        record.flip();
+    }
+
+    private static Entry readRecord(ByteBuffer buffer, int index) {
+        long offset = buffer.getLong();
+        int length = buffer.getInt();
+        int flags = buffer.getInt();
+        long timeMillis = buffer.getLong();
+        long signature = buffer.getLong();
+        return new Entry(index, offset, length, flags, timeMillis, signature);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("نهاية غير متوقعة لملف الأرشيف عند: " + position);
+            }
+            position += read;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
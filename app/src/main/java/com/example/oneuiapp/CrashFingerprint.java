@@ -0,0 +1,67 @@
+package com.example.oneuiapp;
+
+/**
+ * بصمة الخطأ من أعلى إطارات المكدس وسلسلة الأسباب
+ * تتجاهل أرقام الأسطر والأرقام المولدة في أسماء الفئات المجهولة وتعابير lambda
+ * حتى تبقى البصمة ثابتة لنفس الخطأ، ولا تنشئ أي كائنات أثناء الحساب
+ */
+public final class CrashFingerprint {
+
+    private static final int TOP_FRAMES = 8;
+    private static final int MAX_CAUSE_DEPTH = 8;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private CrashFingerprint() {
+    }
+
+    public static long compute(Throwable exception) {
+        long hash = FNV_OFFSET;
+        Throwable current = exception;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            hash = mix(hash, current.getClass().getName());
+            hash = mix(hash, '|');
+
+            StackTraceElement[] frames;
+            try {
+                frames = current.getStackTrace();
+            } catch (OutOfMemoryError e) {
+                frames = null;
+            }
+            if (frames != null) {
+                int count = Math.min(frames.length, TOP_FRAMES);
+                for (int i = 0; i < count; i++) {
+                    hash = mix(hash, frames[i].getClassName());
+                    hash = mix(hash, '.');
+                    hash = mix(hash, frames[i].getMethodName());
+                    hash = mix(hash, ';');
+                }
+            }
+
+            Throwable cause = current.getCause();
+            current = cause == current ? null : cause;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, String text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                continue;
+            }
+            hash = mix(hash, c);
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, char c) {
+        hash ^= c & 0xff;
+        hash *= FNV_PRIME;
+        hash ^= (c >>> 8) & 0xff;
+        hash *= FNV_PRIME;
+        return hash;
+    }
+}
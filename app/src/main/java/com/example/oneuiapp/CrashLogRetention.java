@@ -0,0 +1,300 @@
+package com.example.oneuiapp;
+
+import android.util.Log;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * محرك الاحتفاظ بسجلات الأخطاء
+ * يطبق حدوداً على الحجم الكلي والعدد والعمر في المجلد الداخلي ومجلد التنزيلات معاً،
+ * ويحذف التقارير المكررة بنفس بصمة الخطأ مع إبقاء الأحدث، ويضغط التقارير الأقدم في أرشيف واحد مفهرس
+ */
+public class CrashLogRetention {
+
+    private static final String TAG = "CrashLogRetention";
+
+    private static final byte[] SIGNATURE_MARKER =
+        CrashReportWriter.SIGNATURE_LABEL.getBytes(StandardCharsets.UTF_8);
+    private static final int SIGNATURE_HEX_DIGITS = 16;
+
+    private static final byte[] STACK_SECTION_MARKER =
+        "=== تتبع المكدس".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SECTION_PREFIX = "\n===".getBytes(StandardCharsets.UTF_8);
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * حدود الاحتفاظ
+     */
+    public static final class Policy {
+        public long maxTotalBytes = 4L * 1024 * 1024;
+        public int maxEntries = 200;
+        public long maxAgeMillis = TimeUnit.DAYS.toMillis(7);
+        // عدد أحدث التقارير التي تبقى ملفات مستقلة قبل نقلها للأرشيف
+        public int looseFileCount = 5;
+    }
+
+    private final Policy policy;
+    private final CrashArchive archive;
+    private final File[] reportDirs;
+    private final Set<Long> reportedSignatures = new HashSet<>();
+
+    public CrashLogRetention(Policy policy, File archiveDir, File... reportDirs) {
+        this.policy = policy;
+        this.archive = new CrashArchive(archiveDir);
+        this.reportDirs = reportDirs;
+    }
+
+    public CrashArchive getArchive() {
+        return archive;
+    }
+
+    /**
+     * بصمات التقارير الباقية في الملفات والأرشيف بعد آخر تطبيق للحدود
+     */
+    public Set<Long> getReportedSignatures() {
+        return reportedSignatures;
+    }
+
+    /**
+     * تطبيق جميع الحدود - يُستدعى من خيط الخلفية فقط
+     */
+    public void enforce(long now) throws IOException {
+        long oldestAllowed = now - policy.maxAgeMillis;
+        // بصمات الملفات المستقلة فقط - مدخل الأرشيف بنفس البصمة يُقارن بالوقت حتى يبقى الأحدث
+        Set<Long> seenSignatures = new HashSet<>();
+        Map<Long, CrashArchive.Entry> archivedBySignature = new HashMap<>();
+        int deletedCount = 0;
+        int archivedCount = 0;
+
+        // مدخلات الأرشيف الحية بعد حذف ما تجاوز العمر المسموح
+        CrashArchive.Entry[] archived = archive.readAllEntries();
+        long archivedBytes = 0;
+        int archivedLive = 0;
+        for (CrashArchive.Entry entry : archived) {
+            if (entry.deleted) {
+                continue;
+            }
+            if (entry.timeMillis < oldestAllowed) {
+                archive.markDeleted(entry.index);
+                continue;
+            }
+            archivedBySignature.put(entry.signature, entry);
+            archivedBytes += entry.length;
+            archivedLive++;
+        }
+
+        // الملفات المستقلة من الأحدث إلى الأقدم
+        File[] files = collectReportFiles();
+        List<File> keptFiles = new ArrayList<>();
+        List<Long> keptSignatures = new ArrayList<>();
+        long keptBytes = 0;
+        for (File file : files) {
+            long modified = file.lastModified();
+            if (modified < oldestAllowed) {
+                deleteFile(file);
+                deletedCount++;
+                continue;
+            }
+
+            byte[] content = readFile(file);
+            long signature = readSignature(content);
+            CrashArchive.Entry archivedCopy = archivedBySignature.get(signature);
+            if (!seenSignatures.add(signature)
+                    || (archivedCopy != null && archivedCopy.timeMillis > modified)) {
+                // نفس الخطأ محفوظ في تقرير أحدث
+                deleteFile(file);
+                deletedCount++;
+                continue;
+            }
+            if (archivedCopy != null) {
+                // هذا التقرير أحدث من نسخته المؤرشفة
+                archive.markDeleted(archivedCopy.index);
+                archivedBySignature.remove(signature);
+                archivedBytes -= archivedCopy.length;
+                archivedLive--;
+                deletedCount++;
+            }
+
+            if (keptFiles.size() < policy.looseFileCount) {
+                keptFiles.add(file);
+                keptSignatures.add(signature);
+                keptBytes += content.length;
+            } else {
+                archive.append(content, modified, signature);
+                archivedBytes += content.length;
+                archivedLive++;
+                archivedCount++;
+                deleteFile(file);
+            }
+        }
+
+        // حدود الحجم والعدد: حذف أقدم مدخلات الأرشيف أولاً ثم أقدم الملفات المستقلة
+        archived = archive.readAllEntries();
+        Arrays.sort(archived, (a, b) -> Long.compare(a.timeMillis, b.timeMillis));
+        for (int i = 0; i < archived.length
+                && (keptBytes + archivedBytes > policy.maxTotalBytes
+                    || keptFiles.size() + archivedLive > policy.maxEntries); i++) {
+            if (archived[i].deleted) {
+                continue;
+            }
+            archive.markDeleted(archived[i].index);
+            archivedBytes -= archived[i].length;
+            archivedLive--;
+            deletedCount++;
+        }
+        for (int i = keptFiles.size() - 1; i >= 0
+                && (keptBytes + archivedBytes > policy.maxTotalBytes
+                    || keptFiles.size() + archivedLive > policy.maxEntries); i--) {
+            File file = keptFiles.remove(i);
+            keptSignatures.remove(i);
+            keptBytes -= file.length();
+            deleteFile(file);
+            deletedCount++;
+        }
+
+        archive.compactIfNeeded();
+
+        reportedSignatures.clear();
+        reportedSignatures.addAll(keptSignatures);
+        for (CrashArchive.Entry entry : archive.readAllEntries()) {
+            if (!entry.deleted) {
+                reportedSignatures.add(entry.signature);
+            }
+        }
+
+        Log.d(TAG, "الاحتفاظ بالسجلات: ملفات=" + keptFiles.size()
+            + " مؤرشفة=" + archivedLive
+            + " الحجم=" + CrashHandler.formatBytes(keptBytes + archivedBytes)
+            + " محذوفة=" + deletedCount
+            + " منقولة للأرشيف=" + archivedCount);
+    }
+
+    /**
+     * جمع ملفات التقارير من جميع المجلدات مرتبة من الأحدث إلى الأقدم
+     */
+    private File[] collectReportFiles() {
+        List<File> result = new ArrayList<>();
+        for (File dir : reportDirs) {
+            File[] files = dir != null ? dir.listFiles((d, name) -> isReportFile(name)) : null;
+            if (files != null) {
+                result.addAll(Arrays.asList(files));
+            }
+        }
+
+        File[] sorted = result.toArray(new File[0]);
+        long[] modified = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            modified[i] = sorted[i].lastModified();
+        }
+        Integer[] order = new Integer[sorted.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(modified[b], modified[a]));
+
+        File[] ordered = new File[sorted.length];
+        for (int i = 0; i < order.length; i++) {
+            ordered[i] = sorted[order[i]];
+        }
+        return ordered;
+    }
+
+    static boolean isReportFile(String name) {
+        return (name.startsWith(CrashHandler.LOG_FILE_PREFIX)
+                || name.startsWith(CrashReportWriter.REPORT_FILE_PREFIX))
+            && name.endsWith(CrashReportWriter.REPORT_FILE_EXTENSION);
+    }
+
+    /**
+     * بصمة CrashFingerprint المكتوبة في التقرير نفسه
+     * التقارير الأقدم من سطر البصمة تُحسب بصمتها من نص المكدس
+     */
+    static long readSignature(byte[] content) {
+        int start = indexOf(content, SIGNATURE_MARKER, 0);
+        if (start >= 0 && start + SIGNATURE_MARKER.length + SIGNATURE_HEX_DIGITS <= content.length) {
+            long value = 0;
+            int digits = 0;
+            for (int i = start + SIGNATURE_MARKER.length; digits < SIGNATURE_HEX_DIGITS; i++, digits++) {
+                int digit = Character.digit(content[i], 16);
+                if (digit < 0) {
+                    break;
+                }
+                value = (value << 4) | digit;
+            }
+            if (digits == SIGNATURE_HEX_DIGITS) {
+                return value;
+            }
+        }
+        return computeSignature(content);
+    }
+
+    /**
+     * بصمة FNV-1a لقسم تتبع المكدس، أو للملف كاملاً إذا لم يوجد القسم
+     * للتقارير التي لا تحتوي سطر البصمة فقط
+     */
+    static long computeSignature(byte[] content) {
+        int start = indexOf(content, STACK_SECTION_MARKER, 0);
+        int end = content.length;
+        if (start < 0) {
+            start = 0;
+        } else {
+            int next = indexOf(content, SECTION_PREFIX, start + STACK_SECTION_MARKER.length);
+            if (next >= 0) {
+                end = next;
+            }
+        }
+
+        long hash = FNV_OFFSET;
+        for (int i = start; i < end; i++) {
+            hash ^= content[i] & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from) {
+        outer:
+        for (int i = from; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static byte[] readFile(File file) throws IOException {
+        byte[] content = new byte[(int) file.length()];
+        try (FileInputStream input = new FileInputStream(file)) {
+            int offset = 0;
+            while (offset < content.length) {
+                int read = input.read(content, offset, content.length - offset);
+                if (read < 0) {
+                    break;
+                }
+                offset += read;
+            }
+            return offset == content.length ? content : Arrays.copyOf(content, offset);
+        }
+    }
+
+    private static void deleteFile(File file) {
+        if (file.delete()) {
+            Log.d(TAG, "تم حذف ملف السجل: " + file.getName());
+        }
+    }
+}
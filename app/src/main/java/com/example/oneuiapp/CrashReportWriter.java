@@ -0,0 +1,576 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.os.Build;
+import android.util.Log;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * كاتب تقارير الأخطاء بذاكرة محجوزة مسبقاً
+ * يتم تجهيز معلومات الجهاز والتطبيق مرة واحدة عند التهيئة، وعند حدوث الخطأ
+ * يُكتب التقرير في مخزن بايتات ثابت ثم يُحفظ بعملية كتابة واحدة عبر FileChannel
+ * من خيط كتابة جاهز مسبقاً، لذلك يعمل حتى عند نفاد الذاكرة
+ */
+public class CrashReportWriter {
+
+    private static final String TAG = "CrashReportWriter";
+
+    public static final String PUBLIC_DIR_NAME = "OneUI_CrashLogs";
+    public static final String REPORT_FILE_PREFIX = "OneUI_Crash_";
+    public static final String REPORT_FILE_EXTENSION = ".txt";
+
+    // سطر البصمة في التقرير - يقرؤه محرك الاحتفاظ بدلاً من إعادة حسابها من النص
+    static final String SIGNATURE_LABEL = "بصمة الخطأ: ";
+
+    private static final int BUFFER_CAPACITY = 64 * 1024;
+    private static final int MAX_FRAMES_PER_THROWABLE = 128;
+    private static final int MAX_CAUSE_DEPTH = 8;
+    private static final int MAX_BREADCRUMBS = 64;
+
+    // الحد الأقصى لانتظار خيط الكتابة قبل متابعة إنهاء التطبيق
+    static final long WRITE_BUDGET_MS = 2000;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_CAPACITY);
+    private final char[] fileName = new char[64];
+    private final Calendar calendar = Calendar.getInstance();
+    private final BreadcrumbLog.Entry breadcrumb = new BreadcrumbLog.Entry();
+
+    private final File publicDir;
+    private final File internalDir;
+    private final File emergencyFile;
+
+    // الأجزاء الثابتة من التقرير مرمزة مسبقاً
+    private final byte[] appSection;
+    private final byte[] deviceSection;
+    private final byte[] extraSection;
+    private final byte[] footerSection;
+
+    // حالة التسليم بين خيط الخطأ وخيط الكتابة
+    private final Object lock = new Object();
+    private final Thread writerThread;
+    private File pendingFile;
+    private boolean writeRequested;
+    private boolean writeDone;
+    private File writtenFile;
+
+    // المخزن محجوز من بدء تجهيز التقرير حتى انتهاء حفظه
+    private boolean writeInProgress;
+
+    public CrashReportWriter(Context context, File publicDir, File internalDir) {
+        this.publicDir = publicDir;
+        this.internalDir = internalDir;
+        this.emergencyFile = new File(internalDir, REPORT_FILE_PREFIX + "pending" + REPORT_FILE_EXTENSION);
+
+        this.appSection = encode(buildAppSection(context));
+        this.deviceSection = encode(buildDeviceSection());
+        this.extraSection = encode(buildExtraSection());
+        this.footerSection = encode(buildFooterSection());
+
+        writerThread = new Thread(this::runWriterLoop, "oneui-crash-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * كتابة تقرير الخطأ خلال مدة محددة
+     * يعيد الملف الذي تم حفظه أو null عند الفشل أو انتهاء المهلة
+     * المخزن واحد، فخطأ متزامن من خيط آخر ينتظر انتهاء كتابة التقرير السابق ضمن نفس المهلة
+     */
+    public File write(Thread thread, Throwable exception, long signature) {
+        synchronized (lock) {
+            long deadline = System.currentTimeMillis() + WRITE_BUDGET_MS;
+            if (!awaitIdle(deadline)) {
+                return null;
+            }
+            writeInProgress = true;
+
+            File target = createReportFile();
+            render(thread, exception, signature, target);
+            buffer.flip();
+
+            if (!writerThread.isAlive()) {
+                // خيط الكتابة غير متاح - الكتابة مباشرة من خيط الخطأ
+                try {
+                    return writeBuffer(target);
+                } finally {
+                    writeInProgress = false;
+                    lock.notifyAll();
+                }
+            }
+
+            pendingFile = target;
+            writeDone = false;
+            writtenFile = null;
+            writeRequested = true;
+            lock.notifyAll();
+
+            long remaining = deadline - System.currentTimeMillis();
+            while (!writeDone && remaining > 0) {
+                try {
+                    lock.wait(remaining);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                remaining = deadline - System.currentTimeMillis();
+            }
+            return writeDone ? writtenFile : null;
+        }
+    }
+
+    /**
+     * تجهيز التقرير في المخزن دون حفظه - يعيد عدد البايتات أو -1 إذا بقي المخزن مشغولاً
+     * يُستخدم لقياس زمن التجهيز بمعزل عن الكتابة على القرص
+     */
+    int renderOnly(Thread thread, Throwable exception, long signature, File target) {
+        synchronized (lock) {
+            if (!awaitIdle(System.currentTimeMillis() + WRITE_BUDGET_MS)) {
+                return -1;
+            }
+            render(thread, exception, signature, target);
+            return buffer.position();
+        }
+    }
+
+    /**
+     * انتظار انتهاء خيط الكتابة من المخزن قبل إعادة تعبئته - يُستدعى مع الاحتفاظ بالقفل
+     * wait تحرر القفل أثناء الكتابة، فبدون هذا الانتظار يكتب خطأ متزامن فوق تقرير لم يُحفظ بعد
+     */
+    private boolean awaitIdle(long deadline) {
+        long remaining = deadline - System.currentTimeMillis();
+        while (writeInProgress && remaining > 0) {
+            try {
+                lock.wait(remaining);
+            } catch (InterruptedException e) {
+                return false;
+            }
+            remaining = deadline - System.currentTimeMillis();
+        }
+        return !writeInProgress;
+    }
+
+    /**
+     * حلقة خيط الكتابة - ينتظر طلب كتابة ثم ينفذه
+     */
+    private void runWriterLoop() {
+        while (true) {
+            File target;
+            synchronized (lock) {
+                while (!writeRequested) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                writeRequested = false;
+                target = pendingFile;
+            }
+
+            File result = null;
+            try {
+                result = writeBuffer(target);
+            } finally {
+                // تحرير المخزن حتى لو فشلت الكتابة بخطأ غير متوقع
+                synchronized (lock) {
+                    writtenFile = result;
+                    writeDone = true;
+                    writeInProgress = false;
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * حفظ محتوى المخزن بعملية كتابة واحدة مع بديل في التخزين الداخلي
+     */
+    private File writeBuffer(File target) {
+        if (writeFully(target)) {
+            return target;
+        }
+        File fallback = target == emergencyFile ? null : new File(internalDir, target.getName());
+        if (fallback != null && writeFully(fallback)) {
+            return fallback;
+        }
+        return null;
+    }
+
+    private boolean writeFully(File target) {
+        File parent = target.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+
+        buffer.rewind();
+        try (FileOutputStream output = new FileOutputStream(target);
+             FileChannel channel = output.getChannel()) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            return true;
+        } catch (IOException | SecurityException e) {
+            Log.e(TAG, "فشل في كتابة تقرير الخطأ في: " + target, e);
+            return false;
+        }
+    }
+
+    /**
+     * إنشاء اسم الملف من التاريخ والوقت دون تنسيق نصوص
+     */
+    private File createReportFile() {
+        try {
+            calendar.setTimeInMillis(System.currentTimeMillis());
+            int length = 0;
+            length = copyInto(REPORT_FILE_PREFIX, length);
+            length = putPadded(calendar.get(Calendar.YEAR), 4, length);
+            fileName[length++] = '-';
+            length = putPadded(calendar.get(Calendar.MONTH) + 1, 2, length);
+            fileName[length++] = '-';
+            length = putPadded(calendar.get(Calendar.DAY_OF_MONTH), 2, length);
+            fileName[length++] = '_';
+            length = putPadded(calendar.get(Calendar.HOUR_OF_DAY), 2, length);
+            fileName[length++] = '-';
+            length = putPadded(calendar.get(Calendar.MINUTE), 2, length);
+            fileName[length++] = '-';
+            length = putPadded(calendar.get(Calendar.SECOND), 2, length);
+            length = copyInto(REPORT_FILE_EXTENSION, length);
+            return new File(publicDir, new String(fileName, 0, length));
+        } catch (OutOfMemoryError e) {
+            return emergencyFile;
+        }
+    }
+
+    private int copyInto(String text, int offset) {
+        text.getChars(0, text.length(), fileName, offset);
+        return offset + text.length();
+    }
+
+    private int putPadded(int value, int width, int offset) {
+        for (int i = width - 1; i >= 0; i--) {
+            fileName[offset + i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + width;
+    }
+
+    /**
+     * كتابة التقرير كاملاً في المخزن المحجوز مسبقاً
+     */
+    private void render(Thread thread, Throwable exception, long signature, File target) {
+        buffer.clear();
+        try {
+            // معلومات أساسية
+            putText("=== تقرير خطأ تطبيق OneUI ===\n");
+            putText("الوقت: ");
+            putTimestamp(System.currentTimeMillis());
+            putText("\nالخيط: ");
+            putText(thread.getName());
+            putText("\nمسار الملف: ");
+            putText(target.getPath());
+            putText("\nيمكنك العثور على هذا الملف في مجلد التنزيلات/" + PUBLIC_DIR_NAME + "\n\n");
+
+            putBytes(appSection);
+            putBytes(deviceSection);
+
+            // تفاصيل الخطأ
+            putText("=== تفاصيل الخطأ ===\n");
+            putText("نوع الاستثناء: ");
+            putText(exception.getClass().getName());
+            putText("\nرسالة الخطأ: ");
+            putText(exception.getMessage() != null ? exception.getMessage() : "لا توجد رسالة");
+            putText("\nالسبب الجذري: ");
+            putText(exception.getCause() != null ? exception.getCause().getClass().getName() : "غير محدد");
+            putText("\n");
+            putText(SIGNATURE_LABEL);
+            putHex(signature);
+            putText("\n\n");
+
+            // Stack Trace مفصل
+            putText("=== تتبع المكدس (Stack Trace) ===\n");
+            putStackTrace(exception);
+            putText("\n");
+
+            // معلومات الذاكرة
+            Runtime runtime = Runtime.getRuntime();
+            long totalMemory = runtime.totalMemory();
+            long freeMemory = runtime.freeMemory();
+            putText("=== معلومات الذاكرة ===\n");
+            putText("أقصى ذاكرة متاحة: ");
+            putByteSize(runtime.maxMemory());
+            putText("\nإجمالي الذاكرة المخصصة: ");
+            putByteSize(totalMemory);
+            putText("\nالذاكرة الحرة: ");
+            putByteSize(freeMemory);
+            putText("\nالذاكرة المستخدمة: ");
+            putByteSize(totalMemory - freeMemory);
+            putText("\n\n");
+
+            putBreadcrumbs();
+
+            putBytes(extraSection);
+            putBytes(footerSection);
+        } catch (Throwable t) {
+            // حتى عند فشل جزء من التقرير يتم حفظ ما تمت كتابته
+            putText("\n=== تعذر إكمال التقرير ===\n");
+        }
+    }
+
+    /**
+     * كتابة تتبع المكدس مع سلسلة الأسباب دون StringWriter
+     */
+    private void putStackTrace(Throwable exception) {
+        Throwable current = exception;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            if (depth > 0) {
+                putText("Caused by: ");
+            }
+            putText(current.getClass().getName());
+            if (current.getMessage() != null) {
+                putText(": ");
+                putText(current.getMessage());
+            }
+            putText("\n");
+
+            StackTraceElement[] frames;
+            try {
+                frames = current.getStackTrace();
+            } catch (OutOfMemoryError e) {
+                putText("\t(تعذر قراءة الإطارات)\n");
+                frames = null;
+            }
+            if (frames != null) {
+                int count = Math.min(frames.length, MAX_FRAMES_PER_THROWABLE);
+                for (int i = 0; i < count; i++) {
+                    putFrame(frames[i]);
+                }
+                if (frames.length > count) {
+                    putText("\t... ");
+                    putLong(frames.length - count);
+                    putText(" more\n");
+                }
+            }
+
+            Throwable cause = current.getCause();
+            current = cause == current ? null : cause;
+        }
+    }
+
+    private void putFrame(StackTraceElement frame) {
+        putText("\tat ");
+        putText(frame.getClassName());
+        putText(".");
+        putText(frame.getMethodName());
+        putText("(");
+        if (frame.isNativeMethod()) {
+            putText("Native Method");
+        } else if (frame.getFileName() != null) {
+            putText(frame.getFileName());
+            if (frame.getLineNumber() >= 0) {
+                putText(":");
+                putLong(frame.getLineNumber());
+            }
+        } else {
+            putText("Unknown Source");
+        }
+        putText(")\n");
+    }
+
+    /**
+     * كتابة آخر الأحداث المسجلة في سجل المسار
+     */
+    private void putBreadcrumbs() {
+        BreadcrumbLog log = BreadcrumbLog.getInstance();
+        if (log == null) {
+            return;
+        }
+
+        putText("=== آخر الأحداث قبل الخطأ ===\n");
+        long newest = log.getLastSequence();
+        for (long sequence = Math.max(1, newest - MAX_BREADCRUMBS + 1); sequence <= newest; sequence++) {
+            if (!log.readEntry(sequence, breadcrumb)) {
+                continue;
+            }
+            putTimestamp(breadcrumb.timeMillis);
+            putText(" [");
+            putText(BreadcrumbLog.categoryName(breadcrumb.category));
+            putText("] ");
+            buffer.put(breadcrumb.message, 0, Math.min(breadcrumb.length, buffer.remaining()));
+            if (breadcrumb.hasValue()) {
+                putText(" ");
+                putLong(breadcrumb.value);
+            }
+            putText("\n");
+        }
+    }
+
+    private void putTimestamp(long timeMillis) {
+        calendar.setTimeInMillis(timeMillis);
+        putPaddedNumber(calendar.get(Calendar.YEAR), 4);
+        putText("-");
+        putPaddedNumber(calendar.get(Calendar.MONTH) + 1, 2);
+        putText("-");
+        putPaddedNumber(calendar.get(Calendar.DAY_OF_MONTH), 2);
+        putText(" ");
+        putPaddedNumber(calendar.get(Calendar.HOUR_OF_DAY), 2);
+        putText(":");
+        putPaddedNumber(calendar.get(Calendar.MINUTE), 2);
+        putText(":");
+        putPaddedNumber(calendar.get(Calendar.SECOND), 2);
+    }
+
+    private void putPaddedNumber(int value, int width) {
+        int divisor = 1;
+        for (int i = 1; i < width; i++) {
+            divisor *= 10;
+        }
+        while (divisor > 0 && buffer.hasRemaining()) {
+            buffer.put((byte) ('0' + (value / divisor) % 10));
+            divisor /= 10;
+        }
+    }
+
+    /**
+     * كتابة رقم عشري دون إنشاء نصوص
+     */
+    private void putLong(long value) {
+        if (value < 0) {
+            putText("-");
+            value = -value;
+        }
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0 && buffer.hasRemaining()) {
+            buffer.put((byte) ('0' + (value / divisor) % 10));
+            divisor /= 10;
+        }
+    }
+
+    private void putHex(long value) {
+        for (int shift = 60; shift >= 0 && buffer.hasRemaining(); shift -= 4) {
+            int digit = (int) ((value >>> shift) & 0xF);
+            buffer.put((byte) (digit < 10 ? '0' + digit : 'a' + digit - 10));
+        }
+    }
+
+    /**
+     * كتابة حجم بالبايت بنفس صيغة formatBytes مع منزلتين عشريتين
+     */
+    private void putByteSize(long bytes) {
+        if (bytes < 1024) {
+            putLong(bytes);
+            putText(" B");
+            return;
+        }
+
+        long unit = 1024;
+        String suffix = " KB";
+        if (bytes >= 1024L * 1024L * 1024L) {
+            unit = 1024L * 1024L * 1024L;
+            suffix = " GB";
+        } else if (bytes >= 1024L * 1024L) {
+            unit = 1024L * 1024L;
+            suffix = " MB";
+        }
+
+        long hundredths = (bytes * 100 + unit / 2) / unit;
+        putLong(hundredths / 100);
+        putText(".");
+        putPaddedNumber((int) (hundredths % 100), 2);
+        putText(suffix);
+    }
+
+    private void putBytes(byte[] bytes) {
+        buffer.put(bytes, 0, Math.min(bytes.length, buffer.remaining()));
+    }
+
+    /**
+     * ترميز UTF-8 مباشر في المخزن - يتوقف بصمت عند امتلائه
+     */
+    private void putText(String text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            int c = text.charAt(i);
+            if (Character.isHighSurrogate((char) c) && i + 1 < length
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                c = Character.toCodePoint((char) c, text.charAt(++i));
+            }
+
+            if (c < 0x80) {
+                if (buffer.remaining() < 1) return;
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                if (buffer.remaining() < 2) return;
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (c < 0x10000) {
+                if (buffer.remaining() < 3) return;
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else {
+                if (buffer.remaining() < 4) return;
+                buffer.put((byte) (0xF0 | (c >> 18)));
+                buffer.put((byte) (0x80 | ((c >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static byte[] encode(String text) {
+        return text.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+    }
+
+    private static String buildAppSection(Context context) {
+        StringBuilder section = new StringBuilder("=== معلومات التطبيق ===\n");
+        try {
+            PackageInfo packageInfo = context.getPackageManager()
+                .getPackageInfo(context.getPackageName(), 0);
+            section.append("اسم الحزمة: ").append(packageInfo.packageName).append('\n');
+            section.append("رقم الإصدار: ").append(packageInfo.versionCode).append('\n');
+            section.append("اسم الإصدار: ").append(packageInfo.versionName).append('\n');
+        } catch (PackageManager.NameNotFoundException e) {
+            section.append("فشل في الحصول على معلومات التطبيق\n");
+        }
+        return section.append('\n').toString();
+    }
+
+    private static String buildDeviceSection() {
+        return "=== معلومات الجهاز ===\n" +
+            "الطراز: " + Build.MODEL + "\n" +
+            "الشركة المصنعة: " + Build.MANUFACTURER + "\n" +
+            "إصدار أندرويد: " + Build.VERSION.RELEASE + "\n" +
+            "مستوى API: " + Build.VERSION.SDK_INT + "\n" +
+            "البنية: " + Build.CPU_ABI + "\n" +
+            "لوحة الجهاز: " + Build.BOARD + "\n" +
+            "معرف البناء: " + Build.ID + "\n\n";
+    }
+
+    private static String buildExtraSection() {
+        return "\n=== معلومات إضافية ===\n" +
+            "معرف العملية: " + android.os.Process.myPid() + "\n" +
+            "معرف المستخدم: " + android.os.Process.myUid() + "\n" +
+            "اللغة الحالية: " + Locale.getDefault().toString() + "\n" +
+            "المنطقة الزمنية: " + java.util.TimeZone.getDefault().getID() + "\n";
+    }
+
+    private static String buildFooterSection() {
+        return "\n=== تعليمات ===\n" +
+            "1. افتح مدير الملفات في هاتفك\n" +
+            "2. اذهب إلى مجلد 'التنزيلات' أو 'Downloads'\n" +
+            "3. ابحث عن مجلد '" + PUBLIC_DIR_NAME + "'\n" +
+            "4. افتح الملف بأي تطبيق عرض نصوص\n" +
+            "5. يمكنك نسخ محتوى الملف ومشاركته للحصول على المساعدة\n" +
+            "\n=== نهاية التقرير ===\n";
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.oneuiapp;
+
+import android.util.Log;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * فهرس ثنائي مضغوط لبصمات الأخطاء مع عدد مرات التكرار وآخر ظهور
+ * يُحمّل ويُفتح عند التهيئة، وعند تكرار خطأ معروف يتم تحديث سجل واحد من 32 بايت فقط
+ * علامة التقرير تُضبط فقط بعد حفظ التقرير فعلياً، وتُزال عندما يحذف الاحتفاظ آخر تقرير للبصمة
+ */
+public class CrashSignatureIndex {
+
+    private static final String TAG = "CrashSignatureIndex";
+    static final String FILE_NAME = "crash_signatures.idx";
+
+    private static final int CAPACITY = 256;
+    // تخطيط السجل: البصمة، العدد، العلامات، أول ظهور، آخر ظهور
+    private static final int RECORD_SIZE = 32;
+    private static final int FLAG_REPORTED = 1;
+
+    private final long[] signatures = new long[CAPACITY];
+    private final int[] counts = new int[CAPACITY];
+    private final int[] flags = new int[CAPACITY];
+    private final long[] firstSeen = new long[CAPACITY];
+    private final long[] lastSeen = new long[CAPACITY];
+    private int size;
+
+    private final ByteBuffer record = ByteBuffer.allocateDirect(RECORD_SIZE);
+    private final FileChannel channel;
+
+    /**
+     * معلومات بصمة واحدة لجدول التكرار
+     */
+    public static final class Record {
+        public final long signature;
+        public final int count;
+        public final long firstSeenMillis;
+        public final long lastSeenMillis;
+
+        Record(long signature, int count, long firstSeenMillis, long lastSeenMillis) {
+            this.signature = signature;
+            this.count = count;
+            this.firstSeenMillis = firstSeenMillis;
+            this.lastSeenMillis = lastSeenMillis;
+        }
+    }
+
+    public CrashSignatureIndex(File directory) throws IOException {
+        directory.mkdirs();
+        RandomAccessFile raf = new RandomAccessFile(new File(directory, FILE_NAME), "rw");
+        channel = raf.getChannel();
+        load();
+    }
+
+    private void load() throws IOException {
+        int stored = (int) Math.min(channel.size() / RECORD_SIZE, CAPACITY);
+        ByteBuffer data = ByteBuffer.allocate(stored * RECORD_SIZE);
+        channel.read(data, 0);
+        data.flip();
+        for (int i = 0; i < stored; i++) {
+            signatures[i] = data.getLong();
+            counts[i] = data.getInt();
+            flags[i] = data.getInt();
+            firstSeen[i] = data.getLong();
+            lastSeen[i] = data.getLong();
+        }
+        size = stored;
+    }
+
+    /**
+     * هل يوجد تقرير محفوظ لهذه البصمة
+     */
+    public synchronized boolean hasReport(long signature) {
+        int slot = find(signature);
+        return slot >= 0 && (flags[slot] & FLAG_REPORTED) != 0;
+    }
+
+    /**
+     * تسجيل ظهور بصمة بعد محاولة حفظ تقريرها
+     * reportWritten تضبط علامة التقرير ولا تزيلها، فالتكرار بدون تقرير جديد يبقي التقرير السابق
+     * يعيد true إذا كانت البصمة معروفة مسبقاً (تكرار) وfalse عند أول ظهور
+     */
+    public synchronized boolean recordOccurrence(long signature, long now, boolean reportWritten) {
+        int slot = find(signature);
+        boolean repeated = slot >= 0;
+        if (repeated) {
+            counts[slot]++;
+            lastSeen[slot] = now;
+        } else {
+            slot = size < CAPACITY ? size++ : leastRecentSlot();
+            signatures[slot] = signature;
+            counts[slot] = 1;
+            flags[slot] = 0;
+            firstSeen[slot] = now;
+            lastSeen[slot] = now;
+        }
+        if (reportWritten) {
+            flags[slot] |= FLAG_REPORTED;
+        }
+
+        writeRecord(slot);
+        return repeated;
+    }
+
+    /**
+     * إزالة علامة التقرير عن البصمات التي لم يبق لها تقرير بعد تطبيق حدود الاحتفاظ
+     * حتى يُكتب تقرير كامل عند ظهورها التالي
+     */
+    public synchronized void retainReports(Set<Long> reportedSignatures) {
+        for (int i = 0; i < size; i++) {
+            if ((flags[i] & FLAG_REPORTED) != 0 && !reportedSignatures.contains(signatures[i])) {
+                flags[i] &= ~FLAG_REPORTED;
+                writeRecord(i);
+            }
+        }
+    }
+
+    private int find(long signature) {
+        for (int i = 0; i < size; i++) {
+            if (signatures[i] == signature) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int leastRecentSlot() {
+        int oldest = 0;
+        for (int i = 1; i < size; i++) {
+            if (lastSeen[i] < lastSeen[oldest]) {
+                oldest = i;
+            }
+        }
+        return oldest;
+    }
+
+    private void writeRecord(int slot) {
+        record.clear();
+        record.putLong(signatures[slot]);
+        record.putInt(counts[slot]);
+        record.putInt(flags[slot]);
+        record.putLong(firstSeen[slot]);
+        record.putLong(lastSeen[slot]);
+        record.flip();
+        try {
+            long position = (long) slot * RECORD_SIZE;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "فشل في تحديث فهرس البصمات", e);
+        }
+    }
+
+    /**
+     * جدول التكرار لكل بصمة من الأكثر تكراراً إلى الأقل
+     */
+    public synchronized List<Record> getRecords() {
+        List<Record> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            records.add(new Record(signatures[i], counts[i], firstSeen[i], lastSeen[i]));
+        }
+        java.util.Collections.sort(records, (a, b) -> Integer.compare(b.count, a.count));
+        return records;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.oneuiapp;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.os.Build;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.widget.Toast;
+
+/**
+ * نقطة مركزية لعرض رسائل Toast في التطبيق
+ * الرسائل المتتالية خلال نافذة قصيرة تُدمج ويُعرض آخرها فقط، ولا تُعرض أكثر من رسالة
+ * في كل فترة، والرسائل التي تأخرت أكثر من اللازم تُهمل بدلاً من تراكمها في طابور النظام
+ * يُستخدم من الخيط الرئيسي، والاستدعاءات من خيوط أخرى تُنقل إليه
+ */
+public final class FeedbackDispatcher {
+
+    private static final String TAG = "FeedbackDispatcher";
+
+    // الرسائل خلال هذه النافذة تحل محل بعضها
+    static final long COALESCE_WINDOW_MS = 250;
+
+    // أقل فاصل بين رسالتين معروضتين
+    static final long MIN_INTERVAL_MS = 1000;
+
+    // الرسالة التي لم تُعرض خلال هذه المدة لم تعد تصف ما يراه المستخدم
+    static final long STALE_AFTER_MS = 2500;
+
+    @SuppressLint("StaticFieldLeak")
+    private static volatile FeedbackDispatcher instance;
+
+    private final Context appContext;
+    private final Runnable flushRunnable = this::flush;
+
+    // رسالة واحدة معلقة كحد أقصى - لا يوجد طابور
+    private String pendingText;
+    private boolean pendingError;
+    private long pendingSince;
+    private boolean flushScheduled;
+
+    private Toast toast;
+    private long lastShownUptime = -MIN_INTERVAL_MS;
+
+    private int shownCount;
+    private int coalescedCount;
+    private int droppedCount;
+
+    private FeedbackDispatcher(Context context) {
+        this.appContext = context.getApplicationContext();
+    }
+
+    public static FeedbackDispatcher getInstance(Context context) {
+        if (instance == null) {
+            synchronized (FeedbackDispatcher.class) {
+                if (instance == null) {
+                    instance = new FeedbackDispatcher(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * رسالة معلومات قصيرة
+     */
+    public void show(CharSequence message) {
+        post(message.toString(), false);
+    }
+
+    /**
+     * رسالة خطأ - تُعرض لمدة أطول ولا تحل محلها رسالة معلومات
+     */
+    public void showError(CharSequence message) {
+        post(message.toString(), true);
+    }
+
+    /**
+     * إلغاء الرسالة المعروضة والمعلقة - مثلاً عند مغادرة الشاشة
+     */
+    public void cancel() {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            AppExecutors.mainHandler().post(this::cancel);
+            return;
+        }
+        pendingText = null;
+        AppExecutors.mainHandler().removeCallbacks(flushRunnable);
+        flushScheduled = false;
+        if (toast != null) {
+            toast.cancel();
+        }
+    }
+
+    private void post(String text, boolean error) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            enqueue(text, error);
+        } else {
+            AppExecutors.mainHandler().post(() -> enqueue(text, error));
+        }
+    }
+
+    private void enqueue(String text, boolean error) {
+        long now = SystemClock.uptimeMillis();
+        if (pendingText != null) {
+            if (pendingError && !error) {
+                // رسالة الخطأ المعلقة أهم من رسالة المعلومات الجديدة
+                coalescedCount++;
+                return;
+            }
+            coalescedCount++;
+        }
+        pendingText = text;
+        pendingSince = now;
+        pendingError = error;
+
+        if (!flushScheduled) {
+            flushScheduled = true;
+            long showAt = Math.max(now + COALESCE_WINDOW_MS, lastShownUptime + MIN_INTERVAL_MS);
+            AppExecutors.mainHandler().postAtTime(flushRunnable, showAt);
+        }
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        String text = pendingText;
+        boolean error = pendingError;
+        pendingText = null;
+        if (text == null) {
+            return;
+        }
+
+        long now = SystemClock.uptimeMillis();
+        if (now - pendingSince > STALE_AFTER_MS) {
+            droppedCount++;
+            Log.d(TAG, "تم تجاهل رسالة قديمة: " + text);
+            return;
+        }
+
+        int duration = error ? Toast.LENGTH_LONG : Toast.LENGTH_SHORT;
+        if (toast == null || Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            // منذ Android 11 لا يمكن تعديل نص Toast نصي بعد عرضه لذلك تُستبدل النسخة
+            if (toast != null) {
+                toast.cancel();
+            }
+            toast = Toast.makeText(appContext, text, duration);
+        } else {
+            toast.setText(text);
+            toast.setDuration(duration);
+        }
+        toast.show();
+        lastShownUptime = now;
+        shownCount++;
+    }
+
+    /**
+     * إحصاءات تشخيصية: المعروضة، المدمجة، المهملة
+     */
+    public String getStats() {
+        return "shown=" + shownCount + " coalesced=" + coalescedCount + " dropped=" + droppedCount;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.oneuiapp;
+
+import androidx.recyclerview.widget.ListUpdateCallback;
+import java.util.Arrays;
+
+/**
+ * عرض مصفّى لمصدر بيانات دون نسخ عناصره
+ * يحتفظ بمواضع الصفوف المطابقة كفترات، وكل قراءة تُحول إلى موضعها في المصدر الأصلي ببحث ثنائي
+ * المعرفات الثابتة من المصدر الأصلي، فالعنصر نفسه يحتفظ بمعرفه قبل التصفية وبعدها
+ */
+public final class FilteredListDataSource implements ListDataSource {
+
+    private final ListDataSource base;
+    private final RowSet rows;
+
+    public FilteredListDataSource(ListDataSource base, RowSet rows) {
+        this.base = base;
+        this.rows = rows;
+    }
+
+    public ListDataSource getBase() {
+        return base;
+    }
+
+    public RowSet getRows() {
+        return rows;
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    @Override
+    public String get(int position) {
+        return base.get(rows.get(position));
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return base.getItemId(rows.get(position));
+    }
+
+    /**
+     * صفوف المصدر الأصلي التي يعرضها source، أو null إذا لم يكن عرضاً لنفس المصدر
+     */
+    private static RowSet rowsOver(ListDataSource source, ListDataSource base) {
+        if (source == base) {
+            return RowSet.range(0, base.size());
+        }
+        if (source instanceof FilteredListDataSource && ((FilteredListDataSource) source).base == base) {
+            return ((FilteredListDataSource) source).rows;
+        }
+        return null;
+    }
+
+    private static ListDataSource baseOf(ListDataSource source) {
+        return source instanceof FilteredListDataSource ? ((FilteredListDataSource) source).base : source;
+    }
+
+    /**
+     * الفرق بين عرضين لنفس المصدر الأصلي بدمج فتراتهما مرة واحدة
+     * بديل DiffUtil عند تغيير التصفية: زمن خطي في عدد الفترات بدلاً من زمن يتضاعف مع حجم القائمة
+     * يعيد null إذا لم يكن المصدران عرضين لنفس المصدر الأصلي
+     */
+    public static Diff diff(ListDataSource oldSource, ListDataSource newSource) {
+        ListDataSource base = baseOf(oldSource);
+        if (baseOf(newSource) != base) {
+            return null;
+        }
+        RowSet oldRows = rowsOver(oldSource, base);
+        RowSet newRows = rowsOver(newSource, base);
+        Diff diff = new Diff(oldRows, newRows);
+
+        int oldRun = 0;
+        int newRun = 0;
+        int row = 0;
+        int position = 0;
+        while (oldRun < oldRows.getRunCount() || newRun < newRows.getRunCount()) {
+            boolean hasOld = oldRun < oldRows.getRunCount();
+            boolean hasNew = newRun < newRows.getRunCount();
+            int oldStart = hasOld ? oldRows.getRunStart(oldRun) : Integer.MAX_VALUE;
+            int newStart = hasNew ? newRows.getRunStart(newRun) : Integer.MAX_VALUE;
+            boolean inOld = hasOld && oldStart <= row;
+            boolean inNew = hasNew && newStart <= row;
+            if (!inOld && !inNew) {
+                row = Math.min(oldStart, newStart);
+                continue;
+            }
+
+            int end = Math.min(
+                inOld ? oldRows.getRunEnd(oldRun) : oldStart,
+                inNew ? newRows.getRunEnd(newRun) : newStart);
+            int count = end - row;
+            if (inOld && inNew) {
+                position += count;
+            } else if (inOld) {
+                diff.add(Diff.REMOVE, position, count);
+            } else {
+                diff.add(Diff.INSERT, position, count);
+                position += count;
+            }
+
+            row = end;
+            if (inOld && row >= oldRows.getRunEnd(oldRun)) {
+                oldRun++;
+            }
+            if (inNew && row >= newRows.getRunEnd(newRun)) {
+                newRun++;
+            }
+        }
+        return diff;
+    }
+
+    /**
+     * عمليات الإضافة والحذف بالترتيب، وكل عملية تُطبق على القائمة بعد العمليات السابقة
+     */
+    public static final class Diff {
+        static final int INSERT = 0;
+        static final int REMOVE = 1;
+
+        private final RowSet oldRows;
+        private final RowSet newRows;
+        // ثلاثيات متتالية: النوع ثم الموضع ثم العدد
+        private int[] operations = new int[3 * 8];
+        private int operationCount;
+
+        Diff(RowSet oldRows, RowSet newRows) {
+            this.oldRows = oldRows;
+            this.newRows = newRows;
+        }
+
+        void add(int type, int position, int count) {
+            // دمج العملية مع السابقة من نفس النوع إذا كانت ملاصقة لها
+            if (operationCount > 0) {
+                int last = (operationCount - 1) * 3;
+                if (operations[last] == type) {
+                    if (type == REMOVE && operations[last + 1] == position) {
+                        operations[last + 2] += count;
+                        return;
+                    }
+                    if (type == INSERT && operations[last + 1] + operations[last + 2] == position) {
+                        operations[last + 2] += count;
+                        return;
+                    }
+                }
+            }
+            if (operationCount * 3 == operations.length) {
+                operations = Arrays.copyOf(operations, operations.length * 2);
+            }
+            int index = operationCount * 3;
+            operations[index] = type;
+            operations[index + 1] = position;
+            operations[index + 2] = count;
+            operationCount++;
+        }
+
+        public int getOperationCount() {
+            return operationCount;
+        }
+
+        public void dispatchUpdatesTo(ListUpdateCallback callback) {
+            for (int i = 0; i < operationCount; i++) {
+                int index = i * 3;
+                if (operations[index] == INSERT) {
+                    callback.onInserted(operations[index + 1], operations[index + 2]);
+                } else {
+                    callback.onRemoved(operations[index + 1], operations[index + 2]);
+                }
+            }
+        }
+
+        /**
+         * موضع العنصر في القائمة الجديدة، أو أول عنصر بعده إذا حُذف، أو -1 إذا أصبحت فارغة
+         */
+        public int convertOldPositionToNew(int oldPosition) {
+            if (newRows.size() == 0 || oldPosition < 0 || oldPosition >= oldRows.size()) {
+                return -1;
+            }
+            return Math.min(newRows.rank(oldRows.get(oldPosition)), newRows.size() - 1);
+        }
+    }
+}
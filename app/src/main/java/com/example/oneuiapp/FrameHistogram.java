@@ -0,0 +1,114 @@
+package com.example.oneuiapp;
+
+/**
+ * مدرج تكراري لأزمنة الإطارات بدقة نسبية ثابتة على غرار HdrHistogram
+ * كل قوة للعدد 2 مقسمة إلى 16 خانة فرعية (دقة ~6%)، والتسجيل لا ينشئ أي كائنات
+ * القيم بالميكروثانية حتى 10 ثوانٍ، وما فوقها يُسجل في الخانة الأخيرة
+ */
+public final class FrameHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final long MAX_VALUE_MICROS = 10_000_000L;
+    private static final int BUCKET_COUNT = indexFor(MAX_VALUE_MICROS) + 1;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long totalMicros;
+    private long minMicros = Long.MAX_VALUE;
+    private long maxMicros;
+
+    public void record(long micros) {
+        if (micros < 0) {
+            return;
+        }
+        counts[indexFor(Math.min(micros, MAX_VALUE_MICROS))]++;
+        totalCount++;
+        totalMicros += micros;
+        minMicros = Math.min(minMicros, micros);
+        maxMicros = Math.max(maxMicros, micros);
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        totalCount = 0;
+        totalMicros = 0;
+        minMicros = Long.MAX_VALUE;
+        maxMicros = 0;
+    }
+
+    /**
+     * نسخ القيم إلى مدرج آخر - للتصدير خارج الخيط الرئيسي
+     */
+    public void copyInto(FrameHistogram target) {
+        System.arraycopy(counts, 0, target.counts, 0, counts.length);
+        target.totalCount = totalCount;
+        target.totalMicros = totalMicros;
+        target.minMicros = minMicros;
+        target.maxMicros = maxMicros;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMinMicros() {
+        return totalCount == 0 ? 0 : minMicros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    public long getMeanMicros() {
+        return totalCount == 0 ? 0 : totalMicros / totalCount;
+    }
+
+    /**
+     * القيمة عند نسبة مئوية - الحد الأعلى للخانة التي تحتويها
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(totalCount * percentile / 100.0));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.min(upperBoundFor(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    public long getCountAt(int bucket) {
+        return counts[bucket];
+    }
+
+    static int indexFor(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int sub = (int) (micros >> shift) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + sub;
+    }
+
+    static long upperBoundFor(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int sub = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        long lower = (long) (SUB_BUCKET_COUNT + sub) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
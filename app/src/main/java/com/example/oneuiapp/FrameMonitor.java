@@ -0,0 +1,302 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.Printer;
+import android.view.Choreographer;
+import android.view.Display;
+import android.view.WindowManager;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * قياس أزمنة الإطارات على الخيط الرئيسي لكل شاشة
+ * يسجل الفرق بين إطارات Choreographer المتتالية في مدرج تكراري بدون إنشاء كائنات،
+ * ويرصد رسائل الخيط الرئيسي الطويلة عبر Printer الخاص بـ Looper
+ * التقرير يُحفظ في getExternalFilesDir/metrics ويمكن سحبه بـ adb pull للمقارنة بين الإصدارات
+ */
+public final class FrameMonitor implements Choreographer.FrameCallback, Printer {
+
+    private static final String TAG = "FrameMonitor";
+
+    private static final String METRICS_DIR = "metrics";
+    // المقاييس تراكمية منذ بدء العملية لذلك يكفي ملف واحد يُستبدل في كل حفظ
+    private static final String DUMP_FILE_NAME = "frame_metrics.json";
+
+    // رسالة أطول من ثلاثة إطارات بمعدل 60Hz تُعتبر طويلة
+    static final long LONG_MESSAGE_THRESHOLD_MS = 50;
+
+    // إطار أطول من هذا يُعتبر تجمداً ظاهراً للمستخدم
+    private static final long FROZEN_FRAME_MICROS = 700_000;
+
+    private static final String DEFAULT_SCREEN = "Home";
+    // إطارات الانتقالات تُسجل أيضاً تحت اسم الشاشة مع هذه اللاحقة
+    static final String TRANSITION_SUFFIX = "/transition";
+    private static final FrameMonitor INSTANCE = new FrameMonitor();
+
+    /**
+     * مقاييس شاشة واحدة - تُنشأ مرة واحدة عند أول زيارة للشاشة
+     */
+    static final class ScreenMetrics {
+        final FrameHistogram histogram = new FrameHistogram();
+        long slowFrames;
+        long frozenFrames;
+        long longMessages;
+        long longestMessageMs;
+
+        void copyInto(ScreenMetrics target) {
+            histogram.copyInto(target.histogram);
+            target.slowFrames = slowFrames;
+            target.frozenFrames = frozenFrames;
+            target.longMessages = longMessages;
+            target.longestMessageMs = longestMessageMs;
+        }
+    }
+
+    private final Map<String, ScreenMetrics> screens = new LinkedHashMap<>();
+    private String currentScreen = DEFAULT_SCREEN;
+    private ScreenMetrics current;
+    // غير null أثناء وجود انتقال جارٍ واحد على الأقل
+    private ScreenMetrics transition;
+    private int activeTransitions;
+
+    private boolean running;
+    private long lastFrameNanos;
+    private long slowFrameMicros = 25_000;
+    private long messageStartUptime;
+
+    private FrameMonitor() {
+        current = metricsFor(DEFAULT_SCREEN);
+    }
+
+    public static FrameMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * بدء القياس - من الخيط الرئيسي فقط
+     */
+    public void start(Context context) {
+        if (running) {
+            return;
+        }
+        running = true;
+        lastFrameNanos = 0;
+        slowFrameMicros = computeSlowFrameMicros(context);
+        Looper.getMainLooper().setMessageLogging(this);
+        Choreographer.getInstance().postFrameCallback(this);
+        Log.d(TAG, "بدء قياس الإطارات - حد الإطار البطيء: " + slowFrameMicros + " us");
+    }
+
+    /**
+     * إيقاف القياس - لا يستهلك أي شيء أثناء وجود التطبيق في الخلفية
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+        Looper.getMainLooper().setMessageLogging(null);
+        messageStartUptime = 0;
+    }
+
+    /**
+     * تحديد الشاشة التي تُنسب إليها الإطارات التالية
+     */
+    public void setScreen(String name) {
+        if (name.equals(currentScreen)) {
+            return;
+        }
+        currentScreen = name;
+        // إطارات الانتقال نفسه تُحسب على الشاشة الجديدة
+        current = metricsFor(name);
+    }
+
+    /**
+     * بداية انتقال في الشاشة الحالية - إطاراته تُسجل أيضاً في مقاييس انتقالات الشاشة
+     * كل استدعاء يقابله endTransition واحد
+     */
+    public void beginTransition() {
+        if (activeTransitions++ == 0) {
+            transition = metricsFor(currentScreen + TRANSITION_SUFFIX);
+        }
+    }
+
+    public void endTransition() {
+        if (activeTransitions == 0) {
+            return;
+        }
+        if (--activeTransitions == 0) {
+            transition = null;
+        }
+    }
+
+    private ScreenMetrics metricsFor(String name) {
+        ScreenMetrics metrics = screens.get(name);
+        if (metrics == null) {
+            metrics = new ScreenMetrics();
+            screens.put(name, metrics);
+        }
+        return metrics;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running) {
+            return;
+        }
+        if (lastFrameNanos != 0) {
+            long micros = (frameTimeNanos - lastFrameNanos) / 1000;
+            record(current, micros);
+            if (transition != null) {
+                record(transition, micros);
+            }
+        }
+        lastFrameNanos = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    private void record(ScreenMetrics metrics, long micros) {
+        metrics.histogram.record(micros);
+        if (micros >= FROZEN_FRAME_MICROS) {
+            metrics.frozenFrames++;
+        } else if (micros >= slowFrameMicros) {
+            metrics.slowFrames++;
+        }
+    }
+
+    /**
+     * يُستدعى من Looper قبل وبعد كل رسالة على الخيط الرئيسي
+     */
+    @Override
+    public void println(String line) {
+        if (line.isEmpty()) {
+            return;
+        }
+        char marker = line.charAt(0);
+        if (marker == '>') {
+            messageStartUptime = SystemClock.uptimeMillis();
+        } else if (marker == '<' && messageStartUptime != 0) {
+            long duration = SystemClock.uptimeMillis() - messageStartUptime;
+            messageStartUptime = 0;
+            if (duration >= LONG_MESSAGE_THRESHOLD_MS) {
+                ScreenMetrics metrics = current;
+                metrics.longMessages++;
+                metrics.longestMessageMs = Math.max(metrics.longestMessageMs, duration);
+                Log.w(TAG, "رسالة طويلة على الخيط الرئيسي (" + duration + " ms) في "
+                    + currentScreen + ": " + line);
+            }
+        }
+    }
+
+    /**
+     * حفظ نسخة من المقاييس في ملف JSON في الخلفية
+     * النسخ يتم على الخيط الرئيسي حتى لا تتغير القيم أثناء الكتابة
+     */
+    public void dump(Context context) {
+        File baseDir = context.getExternalFilesDir(null);
+        if (baseDir == null) {
+            baseDir = context.getFilesDir();
+        }
+        final File dir = new File(baseDir, METRICS_DIR);
+
+        final List<String> names = new ArrayList<>(screens.keySet());
+        final List<ScreenMetrics> copies = new ArrayList<>(names.size());
+        for (String name : names) {
+            ScreenMetrics copy = new ScreenMetrics();
+            screens.get(name).copyInto(copy);
+            copies.add(copy);
+        }
+        final long slowThreshold = slowFrameMicros;
+
+        WorkScheduler.getInstance(context).submit("frameMetricsDump", WorkScheduler.LANE_DEFERRABLE,
+            () -> writeDump(dir, names, copies, slowThreshold));
+    }
+
+    private static void writeDump(File dir, List<String> names, List<ScreenMetrics> metrics,
+                                  long slowThreshold) {
+        try {
+            JSONObject root = new JSONObject();
+            root.put("timestamp", System.currentTimeMillis());
+            root.put("device", Build.MANUFACTURER + " " + Build.MODEL);
+            root.put("sdk", Build.VERSION.SDK_INT);
+            root.put("slowFrameThresholdMicros", slowThreshold);
+            root.put("longMessageThresholdMs", LONG_MESSAGE_THRESHOLD_MS);
+
+            JSONObject screensJson = new JSONObject();
+            for (int i = 0; i < names.size(); i++) {
+                screensJson.put(names.get(i), toJson(metrics.get(i)));
+            }
+            root.put("screens", screensJson);
+
+            if (!dir.exists() && !dir.mkdirs()) {
+                Log.w(TAG, "تحذير: فشل في إنشاء مجلد المقاييس");
+                return;
+            }
+            File file = new File(dir, DUMP_FILE_NAME);
+            try (FileOutputStream output = new FileOutputStream(file)) {
+                output.write(root.toString(2).getBytes(StandardCharsets.UTF_8));
+            }
+            Log.d(TAG, "تم حفظ مقاييس الإطارات: " + file.getAbsolutePath());
+        } catch (IOException | JSONException e) {
+            Log.e(TAG, "فشل في حفظ مقاييس الإطارات", e);
+        }
+    }
+
+    private static JSONObject toJson(ScreenMetrics metrics) throws JSONException {
+        FrameHistogram histogram = metrics.histogram;
+        JSONObject json = new JSONObject();
+        json.put("frames", histogram.getTotalCount());
+        json.put("slowFrames", metrics.slowFrames);
+        json.put("frozenFrames", metrics.frozenFrames);
+        json.put("longMessages", metrics.longMessages);
+        json.put("longestMessageMs", metrics.longestMessageMs);
+        json.put("minMicros", histogram.getMinMicros());
+        json.put("meanMicros", histogram.getMeanMicros());
+        json.put("p50Micros", histogram.getValueAtPercentile(50));
+        json.put("p90Micros", histogram.getValueAtPercentile(90));
+        json.put("p95Micros", histogram.getValueAtPercentile(95));
+        json.put("p99Micros", histogram.getValueAtPercentile(99));
+        json.put("maxMicros", histogram.getMaxMicros());
+
+        // الخانات غير الفارغة فقط: [الحد الأعلى بالميكروثانية، العدد]
+        JSONArray buckets = new JSONArray();
+        for (int i = 0; i < histogram.getBucketCount(); i++) {
+            long count = histogram.getCountAt(i);
+            if (count > 0) {
+                buckets.put(new JSONArray().put(FrameHistogram.upperBoundFor(i)).put(count));
+            }
+        }
+        json.put("buckets", buckets);
+        return json;
+    }
+
+    /**
+     * الإطار البطيء هو ما تجاوز مرة ونصف فترة تحديث الشاشة
+     */
+    @SuppressWarnings("deprecation")
+    private static long computeSlowFrameMicros(Context context) {
+        float refreshRate = 60f;
+        WindowManager windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
+        if (windowManager != null) {
+            Display display = windowManager.getDefaultDisplay();
+            if (display != null && display.getRefreshRate() > 1f) {
+                refreshRate = display.getRefreshRate();
+            }
+        }
+        return (long) (1_500_000f / refreshRate);
+    }
+}
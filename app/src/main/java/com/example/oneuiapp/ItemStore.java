@@ -0,0 +1,244 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * مخزن عناصر القائمة على القرص: ملف نصوص يُضاف إليه فقط مع فهرس سجلات ثابتة الحجم مرتب بالمعرف
+ * سجل كل عنصر هو معرفه ونهاية نصه في ملف البيانات، فبداية نصه هي نهاية العنصر السابق
+ * القراءة عبر StoredListDataSource من لقطة مربوطة بالذاكرة فلا يُحمّل أي عنصر قبل طلبه
+ */
+public final class ItemStore {
+
+    private static final String TAG = "ItemStore";
+
+    static final String DIRECTORY_NAME = "item_store";
+    static final String DATA_FILE_NAME = "items.dat";
+    static final String INDEX_FILE_NAME = "items.idx";
+
+    // تخطيط سجل الفهرس: المعرف ثم نهاية النص في ملف البيانات
+    static final int RECORD_SIZE = 16;
+
+    static final int SEED_CHUNK_SIZE = 4096;
+
+    private static volatile ItemStore instance;
+
+    private final File directory;
+    private final File dataFile;
+    private final File indexFile;
+
+    // كاتب واحد في كل وقت - الترميز والكتابة على القرص تحت هذا القفل وحده،
+    // والقفل على this لقراءة الحالة ونشرها فقط حتى لا ينتظر open() على الخيط الرئيسي دفعة قيد الكتابة
+    private final Object writeLock = new Object();
+
+    // الحالة المنشورة - -1 حتى أول قراءة لحالة الملفات
+    private int count = -1;
+    private long dataLength;
+    private long lastId;
+    private boolean seeding;
+
+    public ItemStore(File directory) {
+        this.directory = directory;
+        this.dataFile = new File(directory, DATA_FILE_NAME);
+        this.indexFile = new File(directory, INDEX_FILE_NAME);
+    }
+
+    public static ItemStore getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ItemStore.class) {
+                if (instance == null) {
+                    instance = new ItemStore(new File(context.getApplicationContext().getFilesDir(), DIRECTORY_NAME));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * عدد العناصر المخزنة
+     */
+    public synchronized int getCount() throws IOException {
+        recover();
+        return count;
+    }
+
+    /**
+     * الحجم على القرص بالبايت للملفين معاً
+     */
+    public synchronized long getDiskBytes() throws IOException {
+        recover();
+        return dataLength + (long) count * RECORD_SIZE;
+    }
+
+    /**
+     * قراءة حالة الملفات مرة واحدة وحذف ما كُتب جزئياً عند توقف مفاجئ
+     * سجل يشير بعد نهاية البيانات يعني أن نصه لم يصل للقرص، ونصوص بلا سجلات لم يُكتب فهرسها
+     */
+    private void recover() throws IOException {
+        if (count >= 0) {
+            return;
+        }
+        directory.mkdirs();
+        long dataSize = dataFile.length();
+        int records = (int) (indexFile.length() / RECORD_SIZE);
+        long end = 0;
+        long id = Long.MIN_VALUE;
+        try (RandomAccessFile index = new RandomAccessFile(indexFile, "rw")) {
+            for (; records > 0; records--) {
+                index.seek((long) (records - 1) * RECORD_SIZE);
+                id = index.readLong();
+                end = index.readLong();
+                if (end <= dataSize) {
+                    break;
+                }
+            }
+            if (records == 0) {
+                end = 0;
+                id = Long.MIN_VALUE;
+            }
+            index.setLength((long) records * RECORD_SIZE);
+        }
+        if (dataSize != end) {
+            try (RandomAccessFile data = new RandomAccessFile(dataFile, "rw")) {
+                data.setLength(end);
+            }
+            Log.w(TAG, "تم حذف بيانات غير مكتملة من المخزن: " + (dataSize - end) + " بايت");
+        }
+        count = records;
+        dataLength = end;
+        lastId = id;
+    }
+
+    /**
+     * إضافة عناصر المصدر من from حتى to دون الأخير
+     * المعرفات يجب أن تكون تصاعدية وبعد آخر معرف مخزن حتى يبقى الفهرس مرتباً
+     * النصوص تُكتب أولاً ثم سجلاتها، فالتوقف بينهما لا يترك سجلاً بلا نص
+     * العناصر الجديدة لا تظهر للقراء قبل اكتمال كتابة الملفين ونشر العدد
+     */
+    public void append(ListDataSource source, int from, int to) throws IOException {
+        synchronized (writeLock) {
+            long end;
+            long id;
+            synchronized (this) {
+                recover();
+                end = dataLength;
+                id = lastId;
+            }
+
+            ByteArrayOutputStream data = new ByteArrayOutputStream((to - from) * 64);
+            ByteBuffer records = ByteBuffer.allocate((to - from) * RECORD_SIZE);
+            for (int row = from; row < to; row++) {
+                long itemId = source.getItemId(row);
+                if (itemId <= id) {
+                    throw new IllegalArgumentException("المعرفات يجب أن تضاف تصاعدياً: " + itemId);
+                }
+                byte[] text = source.get(row).getBytes(StandardCharsets.UTF_8);
+                data.write(text, 0, text.length);
+                end += text.length;
+                records.putLong(itemId).putLong(end);
+                id = itemId;
+            }
+
+            try {
+                try (FileOutputStream out = new FileOutputStream(dataFile, true)) {
+                    data.writeTo(out);
+                }
+                try (FileOutputStream out = new FileOutputStream(indexFile, true)) {
+                    out.write(records.array());
+                }
+            } catch (IOException e) {
+                // الحالة تُقرأ من الملفات من جديد عند الاستخدام التالي
+                synchronized (this) {
+                    count = -1;
+                }
+                throw e;
+            }
+
+            // لا يغير الحالة غير الكاتب، فالعدد لم يتغير منذ قراءته أعلاه
+            synchronized (this) {
+                count += to - from;
+                dataLength = end;
+                lastId = id;
+            }
+        }
+    }
+
+    /**
+     * لقطة للقراءة من العناصر المخزنة حالياً، أو null إذا كان المخزن فارغاً
+     * الفتح يربط الملفين بالذاكرة فقط دون قراءة أي عنصر، والعناصر المضافة بعده لا تظهر في اللقطة
+     * لا ينتظر دفعة قيد الكتابة - الجزء المربوط من الملفين مكتمل دائماً لأن الإضافة بعد نهايته
+     */
+    public StoredListDataSource open() throws IOException {
+        int records;
+        long dataSize;
+        synchronized (this) {
+            recover();
+            records = count;
+            dataSize = dataLength;
+        }
+        if (records == 0) {
+            return null;
+        }
+        if (dataSize > Integer.MAX_VALUE) {
+            throw new IOException("ملف البيانات أكبر من حد الربط بالذاكرة: " + dataSize);
+        }
+        // الربط يبقى صالحاً بعد إغلاق الملفين
+        try (RandomAccessFile index = new RandomAccessFile(indexFile, "r");
+             RandomAccessFile data = new RandomAccessFile(dataFile, "r")) {
+            ByteBuffer indexBuffer = index.getChannel()
+                .map(FileChannel.MapMode.READ_ONLY, 0, (long) records * RECORD_SIZE);
+            ByteBuffer dataBuffer = data.getChannel()
+                .map(FileChannel.MapMode.READ_ONLY, 0, dataSize);
+            return new StoredListDataSource(indexBuffer, dataBuffer, 0, records);
+        }
+    }
+
+    /**
+     * نسخ عناصر المصدر إلى المخزن على دفعات متتالية في مسار القراءة والكتابة
+     * كل دفعة تُرسل بعد انتهاء السابقة، فأعمال الواجهة العاجلة تسبق الدفعة التالية دائماً
+     * لا يُستخدم المسار المؤجل لأن تجميع توفير البطارية يؤخر كل دفعة نافذة كاملة
+     * يستأنف من آخر عنصر مخزن، فتوقف التطبيق في منتصف النسخ لا يعيد كتابة ما سبق
+     */
+    public void seed(ListDataSource source, WorkScheduler scheduler) {
+        synchronized (this) {
+            if (seeding) {
+                return;
+            }
+            seeding = true;
+        }
+        scheduleSeedChunk(source, scheduler, SystemClock.uptimeMillis());
+    }
+
+    private void scheduleSeedChunk(ListDataSource source, WorkScheduler scheduler, long startedAt) {
+        scheduler.submit("itemStoreSeed", WorkScheduler.LANE_IO, () -> {
+            try {
+                int from = getCount();
+                int to = Math.min(source.size(), from + SEED_CHUNK_SIZE);
+                if (from < to) {
+                    append(source, from, to);
+                }
+                if (to < source.size()) {
+                    scheduleSeedChunk(source, scheduler, startedAt);
+                    return;
+                }
+                Log.d(TAG, "اكتمل نسخ العناصر إلى المخزن - العدد: " + getCount()
+                    + " الحجم: " + getDiskBytes() / 1024 + " KB خلال "
+                    + (SystemClock.uptimeMillis() - startedAt) + " ms");
+            } catch (IOException | IllegalArgumentException e) {
+                Log.e(TAG, "فشل في نسخ العناصر إلى المخزن", e);
+            }
+            synchronized (ItemStore.this) {
+                seeding = false;
+            }
+        });
+    }
+}
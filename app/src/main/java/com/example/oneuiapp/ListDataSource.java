@@ -0,0 +1,35 @@
+package com.example.oneuiapp;
+
+/**
+ * مصدر بيانات القائمة
+ * يتم استدعاء get من خيط الخلفية أثناء تحميل الصفحات لذلك يجب أن يكون آمناً للخيوط
+ */
+public interface ListDataSource {
+
+    /**
+     * العدد الكلي للعناصر
+     */
+    int size();
+
+    /**
+     * جلب عنصر واحد حسب موقعه
+     */
+    String get(int position);
+
+    /**
+     * معرف ثابت للعنصر لا يتغير عند تغير موقعه
+     * يُستدعى من الخيط الرئيسي أثناء الربط لذلك يجب أن يكون سريعاً
+     */
+    long getItemId(int position);
+
+    /**
+     * مصدر يقرأ صفحة متتالية بعملية واحدة بدلاً من قراءة كل عنصر وحده، مثل المخزن على القرص
+     */
+    interface PageReader {
+
+        /**
+         * ملء out بالعناصر من start حتى start + out.length
+         */
+        void readPage(int start, String[] out);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.oneuiapp;
+
+import android.os.SystemClock;
+import android.util.Log;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * البحث في عناصر القائمة عبر فهرس ثلاثيات يُبنى تدريجياً في الخلفية
+ * البناء دفعات في مسار القراءة فتسبقها دائماً أعمال المسار الحرج مثل تحميل الصفحة الظاهرة
+ * كل استعلام جديد يلغي السابق، والنتيجة تُنشر على الخيط الرئيسي كمصدر بيانات مصفّى
+ * search و close تُستدعى من الخيط الرئيسي فقط
+ */
+public final class ListSearch {
+
+    private static final String TAG = "ListSearch";
+
+    // دفعة صغيرة حتى لا ينتظر استعلام جارٍ انتهاء الفهرسة طويلاً
+    static final int INDEX_CHUNK_SIZE = 4096;
+
+    // النتائج حتى هذا العدد تُطابق نصوصها قبل نشرها، والأكبر تُنشر فوراً ثم تُصحح بعد المطابقة
+    static final int VERIFY_INLINE_LIMIT = 20_000;
+    private static final int CANCEL_CHECK_MASK = 1023;
+
+    /**
+     * يتم إبلاغه على الخيط الرئيسي بنتيجة آخر استعلام فقط
+     */
+    public interface Listener {
+        void onSearchResult(String query, ListDataSource result);
+    }
+
+    private final ListDataSource source;
+    private final WorkScheduler scheduler;
+    private final Listener listener;
+    private final TrigramIndex index = new TrigramIndex();
+    private final AtomicInteger generation = new AtomicInteger();
+
+    private volatile boolean closed;
+    private boolean indexComplete;
+    private String currentQuery = "";
+
+    public ListSearch(ListDataSource source, WorkScheduler scheduler, Listener listener) {
+        this.source = source;
+        this.scheduler = scheduler;
+        this.listener = listener;
+    }
+
+    /**
+     * بدء بناء الفهرس في الخلفية - الاستعلامات قبل اكتماله تبحث في الجزء المفهرس ثم تُعاد عند اكتماله
+     */
+    public void startIndexing() {
+        final long startedAt = SystemClock.uptimeMillis();
+        scheduleIndexChunk(0, startedAt);
+    }
+
+    private void scheduleIndexChunk(int from, long startedAt) {
+        scheduler.submit("searchIndex", WorkScheduler.LANE_IO, () -> {
+            if (closed) {
+                return;
+            }
+            int to = Math.min(source.size(), from + INDEX_CHUNK_SIZE);
+            index.addRows(source, from, to);
+            if (to < source.size()) {
+                scheduleIndexChunk(to, startedAt);
+                return;
+            }
+            Log.d(TAG, "اكتمل فهرس البحث - العناصر: " + to + " الثلاثيات: " + index.getTrigramCount()
+                + " الحجم: " + index.getMemoryBytes() / 1024 + " KB خلال "
+                + (SystemClock.uptimeMillis() - startedAt) + " ms");
+            AppExecutors.mainHandler().post(this::onIndexComplete);
+        });
+    }
+
+    private void onIndexComplete() {
+        if (closed) {
+            return;
+        }
+        indexComplete = true;
+        if (!currentQuery.isEmpty()) {
+            search(currentQuery);
+        }
+    }
+
+    public boolean isIndexComplete() {
+        return indexComplete;
+    }
+
+    /**
+     * تنفيذ استعلام مع كل تغيير في نص البحث - النص الفارغ يعيد المصدر الكامل
+     */
+    public void search(CharSequence text) {
+        final String query = ArabicNormalizer.normalize(text).trim();
+        currentQuery = query;
+        final int searchGeneration = generation.incrementAndGet();
+        if (query.isEmpty()) {
+            listener.onSearchResult(query, source);
+            return;
+        }
+        scheduler.submit("search", WorkScheduler.LANE_UI_CRITICAL, () -> runQuery(query, searchGeneration));
+    }
+
+    /**
+     * إيقاف الفهرسة والاستعلامات الجارية - لا تصل أي نتيجة بعد الإغلاق
+     */
+    public void close() {
+        closed = true;
+        generation.incrementAndGet();
+    }
+
+    private boolean isStale(int searchGeneration) {
+        return closed || generation.get() != searchGeneration;
+    }
+
+    private void runQuery(String query, int searchGeneration) {
+        TrigramIndex.Cancellation cancellation = () -> isStale(searchGeneration);
+        if (cancellation.isCancelled()) {
+            return;
+        }
+        long startedAt = SystemClock.uptimeMillis();
+        RowSet rows = findRows(query, cancellation);
+        if (rows == null) {
+            return;
+        }
+        publish(query, rows, searchGeneration);
+        Log.d(TAG, "استعلام \"" + query + "\" - النتائج: " + rows.size()
+            + " خلال " + (SystemClock.uptimeMillis() - startedAt) + " ms");
+
+        if (!TrigramIndex.isExact(query) && rows.size() > VERIFY_INLINE_LIMIT) {
+            // التصحيح يحذف فقط الصفوف التي تحتوي ثلاثيات الاستعلام دون أن تكون متتالية
+            RowSet verified = verify(rows, query, cancellation);
+            if (verified != null && verified.size() != rows.size()) {
+                publish(query, verified, searchGeneration);
+            }
+        }
+    }
+
+    /**
+     * المرحلة الأولى من الاستعلام وهي زمن ظهور النتائج: المرشحون من الفهرس مع مطابقة نصوصهم إذا كانوا قليلين
+     * يعيد null عند الإلغاء
+     */
+    RowSet findRows(String query, TrigramIndex.Cancellation cancellation) {
+        RowSet rows = index.query(query, cancellation);
+        if (rows == null || TrigramIndex.isExact(query) || rows.size() > VERIFY_INLINE_LIMIT) {
+            return rows;
+        }
+        return verify(rows, query, cancellation);
+    }
+
+    TrigramIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * مطابقة نصوص الصفوف المرشحة - يعيد null عند الإلغاء
+     */
+    private RowSet verify(RowSet candidates, String query, TrigramIndex.Cancellation cancellation) {
+        RowSet verified = new RowSet();
+        int checked = 0;
+        for (int run = 0; run < candidates.getRunCount(); run++) {
+            int end = candidates.getRunEnd(run);
+            for (int row = candidates.getRunStart(run); row < end; row++) {
+                if ((++checked & CANCEL_CHECK_MASK) == 0 && cancellation.isCancelled()) {
+                    return null;
+                }
+                if (ArabicNormalizer.contains(source.get(row), query)) {
+                    verified.add(row);
+                }
+            }
+        }
+        return verified;
+    }
+
+    private void publish(String query, RowSet rows, int searchGeneration) {
+        final FilteredListDataSource result = new FilteredListDataSource(source, rows);
+        AppExecutors.mainHandler().post(() -> {
+            if (!isStale(searchGeneration)) {
+                listener.onSearchResult(query, result);
+            }
+        });
+    }
+}
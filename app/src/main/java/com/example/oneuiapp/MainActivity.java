@@ -1,16 +1,14 @@
 package com.example.oneuiapp;
 
+import android.app.ActivityManager;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
-import android.widget.Toast;
 import android.widget.FrameLayout;
 import android.widget.ScrollView;
 import android.widget.TextView;
 import android.widget.Button;
 import androidx.appcompat.app.AppCompatActivity;
-import androidx.fragment.app.Fragment;
-import androidx.fragment.app.FragmentTransaction;
 
 /**
  * MainActivity محدثة للعمل مع التخطيط الأساسي الجديد
@@ -21,6 +19,7 @@ public class MainActivity extends AppCompatActivity {
     private static final String TAG = "MainActivity";
 
     // العناصر الأساسية من XML
+    // contentContainer يستضيف الـ Fragments، وhomeContent يمرر المحتوى الرئيسي بشكل مستقل
     private TextView toolbarTitle;
     private FrameLayout contentContainer;
     private ScrollView homeContent;
@@ -29,8 +28,31 @@ public class MainActivity extends AppCompatActivity {
     private Button btnHome;
     private Button btnTestFeatures;
 
-    // Fragment الحالي
-    private Fragment currentFragment;
+    /**
+     * شاشة البدء عند التشغيل من أدوات القياس: ScrollFragment أو SettingsFragment
+     */
+    public static final String EXTRA_START_SCREEN = "start_screen";
+
+    /**
+     * عدد عناصر قائمة التمرير عند التشغيل من أدوات القياس والاختبار - الافتراضي ScrollFragment.ITEM_COUNT
+     */
+    public static final String EXTRA_ITEM_COUNT = "item_count";
+
+    private static final String SCROLL_SCREEN = "ScrollFragment";
+    private static final String SETTINGS_SCREEN = "SettingsFragment";
+
+    // التكلفة التقديرية لكل شاشة حية في الذاكرة
+    private static final int SCROLL_SCREEN_COST_KB = 2048;
+    private static final int SETTINGS_SCREEN_COST_KB = 512;
+
+    // نسبة ذاكرة التطبيق المسموح بها للشاشات المخفية
+    private static final int SCREEN_BUDGET_DIVISOR = 16;
+
+    // التنقل بين الشاشات مع إبقائها حية بدلاً من إعادة إنشائها
+    private NavigationController navigationController;
+
+    // مخزن صفوف القوائم المشترك - يبقى طوال عمر النشاط
+    private final RowViewPool rowViewPool = new RowViewPool();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -39,20 +61,31 @@ public class MainActivity extends AppCompatActivity {
         Log.d(TAG, "بدء تهيئة التطبيق مع التخطيط الجديد");
         
         try {
-            // تهيئة معالج الأخطاء
-            initializeCrashHandler();
+            // معالج الأخطاء يُثبت مرة واحدة لكل عملية في OneUIApplication
+            StartupTrace.reportFirstFrame(this);
             
             // تحميل التخطيط
+            StartupTrace.beginSection("MainActivity.setContentView");
             setContentView(R.layout.activity_main);
+            StartupTrace.endSection();
             
             // تهيئة العناصر
             initializeViews();
             
+            // تسجيل الشاشات - يستعيد أيضاً الشاشات الموجودة بعد تغيير الإعدادات
+            setupNavigation();
+            
             // إعداد المستمعات
             setupEventListeners();
             
-            // عرض المحتوى الرئيسي افتراضياً
-            showHomeContent();
+            if (savedInstanceState == null) {
+                // عرض المحتوى الرئيسي افتراضياً
+                showHomeContent();
+                // فتح شاشة مباشرة عند الطلب - يُستخدم لتسجيل مسار التمرير في ملف بدء التشغيل
+                openStartScreen(getIntent().getStringExtra(EXTRA_START_SCREEN));
+            } else {
+                restoreCurrentScreen(savedInstanceState);
+            }
             
             Log.d(TAG, "تم تهيئة التطبيق بنجاح");
             
@@ -63,15 +96,25 @@ public class MainActivity extends AppCompatActivity {
     }
 
     /**
-     * تهيئة معالج الأخطاء
+     * استعادة الشاشة المعروضة بعد إعادة إنشاء النشاط
+     * FragmentManager أعاد الشاشات بحالة الإخفاء نفسها وsetupNavigation عرف الحالية منها،
+     * فيكفي ضبط ما حول الحاوية بدون معاملة تنقل جديدة أو سجل تنقل لم يقم به المستخدم
      */
-    private void initializeCrashHandler() {
-        try {
-            CrashHandler.initialize(this);
-            CrashHandler.cleanOldLogs(this);
-            Log.d(TAG, "تم تهيئة معالج الأخطاء بنجاح");
-        } catch (Exception e) {
-            Log.w(TAG, "تحذير: فشل في تهيئة معالج الأخطاء", e);
+    private void restoreCurrentScreen(Bundle savedInstanceState) {
+        String currentTag = navigationController.getCurrentTag();
+        updateToolbarTitle(savedInstanceState.getString("toolbar_title", "تطبيق OneUI"));
+        if (homeContent != null) {
+            homeContent.setVisibility(currentTag != null ? View.GONE : View.VISIBLE);
+        }
+        FrameMonitor.getInstance().setScreen(currentTag != null ? currentTag : "Home");
+        Log.d(TAG, "تم استرداد حالة التطبيق مع الشاشة: " + (currentTag != null ? currentTag : "Home"));
+    }
+
+    private void openStartScreen(String screen) {
+        if (SCROLL_SCREEN.equals(screen)) {
+            navigateToScrollFragment();
+        } else if (SETTINGS_SCREEN.equals(screen)) {
+            navigateToSettingsFragment();
         }
     }
 
@@ -95,6 +138,24 @@ public class MainActivity extends AppCompatActivity {
         Log.d(TAG, "تم تهيئة جميع العناصر بنجاح");
     }
 
+    /**
+     * إنشاء متحكم التنقل بميزانية ذاكرة تتناسب مع ذاكرة الجهاز
+     */
+    private void setupNavigation() {
+        ActivityManager activityManager = (ActivityManager) getSystemService(ACTIVITY_SERVICE);
+        int memoryClassMb = activityManager != null ? activityManager.getMemoryClass() : 64;
+        int budgetKb = memoryClassMb * 1024 / SCREEN_BUDGET_DIVISOR;
+
+        navigationController = new NavigationController(
+            getSupportFragmentManager(), R.id.main_container, budgetKb);
+        int itemCount = getIntent().getIntExtra(EXTRA_ITEM_COUNT, ScrollFragment.ITEM_COUNT);
+        navigationController.register(SCROLL_SCREEN, SCROLL_SCREEN_COST_KB,
+            () -> ScrollFragment.newInstance(itemCount));
+        navigationController.register(SETTINGS_SCREEN, SETTINGS_SCREEN_COST_KB, SettingsFragment::new);
+
+        Log.d(TAG, "ميزانية الشاشات المحفوظة: " + budgetKb + " KB");
+    }
+
     /**
      * إعداد مستمعات الأحداث للأزرار
      */
@@ -123,33 +184,39 @@ public class MainActivity extends AppCompatActivity {
      */
     private void showHomeContent() {
         try {
-            updateToolbarTitle("تطبيق OneUI");
-            
-            // مسح Fragment الحالي
-            clearCurrentFragment();
-            
-            // إظهار المحتوى الرئيسي
-            if (homeContent != null) {
-                homeContent.setVisibility(View.VISIBLE);
-            }
-            
-            showSuccessToast("تم الرجوع للشاشة الرئيسية");
-            Log.d(TAG, "تم عرض المحتوى الرئيسي بنجاح");
-            
+            // إخفاء الشاشة الحالية مع إبقائها حية للعودة السريعة
+            navigationController.showHome();
+            onHomeShown();
         } catch (Exception e) {
             Log.e(TAG, "خطأ في عرض المحتوى الرئيسي", e);
             showErrorToast("فشل في عرض المحتوى الرئيسي");
         }
     }
 
+    /**
+     * تحديث الواجهة بعد أن أخفى NavigationController الشاشة الحالية
+     */
+    private void onHomeShown() {
+        updateToolbarTitle("تطبيق OneUI");
+        BreadcrumbLog.record(BreadcrumbLog.CATEGORY_NAVIGATION, "Home");
+        FrameMonitor.getInstance().setScreen("Home");
+        
+        // إظهار المحتوى الرئيسي
+        if (homeContent != null) {
+            homeContent.setVisibility(View.VISIBLE);
+        }
+
+        Log.d(TAG, "تم عرض المحتوى الرئيسي بنجاح");
+    }
+
     /**
      * التنقل إلى قائمة التمرير
      */
     private void navigateToScrollFragment() {
         try {
             updateToolbarTitle("قائمة التمرير");
-            loadFragment(new ScrollFragment(), "ScrollFragment");
-            showSuccessToast("تم تحميل قائمة التمرير مع 200 عنصر");
+            loadFragment(SCROLL_SCREEN);
+            showSuccessToast("تم تحميل قائمة التمرير مع " + ScrollFragment.ITEM_COUNT + " عنصر");
             
         } catch (Exception e) {
             Log.e(TAG, "خطأ في تحميل قائمة التمرير", e);
@@ -163,7 +230,7 @@ public class MainActivity extends AppCompatActivity {
     private void navigateToSettingsFragment() {
         try {
             updateToolbarTitle("إعدادات التطبيق");
-            loadFragment(new SettingsFragment(), "SettingsFragment");
+            loadFragment(SETTINGS_SCREEN);
             showSuccessToast("تم فتح إعدادات التطبيق");
             
         } catch (Exception e) {
@@ -204,13 +271,22 @@ public class MainActivity extends AppCompatActivity {
      */
     private void showAppInfo() {
         try {
+            // جدول تكرار الأخطاء حسب البصمة
+            java.util.List<CrashSignatureIndex.Record> crashSignatures = CrashHandler.getCrashSignatures();
+            int crashOccurrences = 0;
+            for (CrashSignatureIndex.Record record : crashSignatures) {
+                crashOccurrences += record.count;
+            }
+            
             new androidx.appcompat.app.AlertDialog.Builder(this)
                     .setTitle("معلومات التطبيق")
                     .setMessage("اسم التطبيق: تطبيق OneUI\n" +
                             "الإصدار: 1.0\n" +
                             "النظام: Android " + android.os.Build.VERSION.RELEASE + "\n" +
                             "الجهاز: " + android.os.Build.MODEL + "\n" +
-                            "المطور: فريق التطوير\n\n" +
+                            "المطور: فريق التطوير\n" +
+                            "الأخطاء المسجلة: " + crashSignatures.size() + 
+                            " (مرات الحدوث: " + crashOccurrences + ")\n\n" +
                             "تم تطوير التطبيق باستخدام مكتبات Samsung OneUI الرسمية لضمان أفضل تجربة مستخدم.")
                     .setPositiveButton("موافق", null)
                     .show();
@@ -222,9 +298,10 @@ public class MainActivity extends AppCompatActivity {
     }
 
     /**
-     * تحميل Fragment مع معالجة الأخطاء
+     * عرض شاشة عبر متحكم التنقل مع معالجة الأخطاء
+     * الحاوية بارتفاع محدد لذلك يتولى كل Fragment التمرير الخاص به
      */
-    private void loadFragment(Fragment fragment, String fragmentName) {
+    private void loadFragment(String fragmentName) {
         if (contentContainer == null) {
             throw new RuntimeException("contentContainer غير متاح");
         }
@@ -235,13 +312,10 @@ public class MainActivity extends AppCompatActivity {
                 homeContent.setVisibility(View.GONE);
             }
 
-            // تحميل Fragment الجديد
-            FragmentTransaction transaction = getSupportFragmentManager().beginTransaction();
-            transaction.replace(R.id.main_container, fragment);
-            transaction.addToBackStack(fragmentName);
-            transaction.commit();
-
-            currentFragment = fragment;
+            // إظهار الشاشة المحفوظة أو إنشاؤها عند أول زيارة
+            navigationController.navigate(fragmentName);
+            BreadcrumbLog.record(BreadcrumbLog.CATEGORY_NAVIGATION, fragmentName);
+            FrameMonitor.getInstance().setScreen(fragmentName);
 
             Log.d(TAG, "تم تحميل " + fragmentName + " بنجاح");
 
@@ -254,22 +328,10 @@ public class MainActivity extends AppCompatActivity {
     }
 
     /**
-     * مسح Fragment الحالي
+     * مخزن الصفوف المشترك بين نسخ ScrollFragment
      */
-    private void clearCurrentFragment() {
-        if (currentFragment != null) {
-            try {
-                FragmentTransaction transaction = getSupportFragmentManager().beginTransaction();
-                transaction.remove(currentFragment);
-                transaction.commit();
-                currentFragment = null;
-                
-                Log.d(TAG, "تم مسح Fragment السابق");
-                
-            } catch (Exception e) {
-                Log.w(TAG, "تحذير: مشكلة في إزالة Fragment", e);
-            }
-        }
+    public RowViewPool getRowViewPool() {
+        return rowViewPool;
     }
 
     /**
@@ -285,14 +347,14 @@ public class MainActivity extends AppCompatActivity {
      * عرض رسالة نجاح
      */
     private void showSuccessToast(String message) {
-        Toast.makeText(this, "✓ " + message, Toast.LENGTH_SHORT).show();
+        FeedbackDispatcher.getInstance(this).show("✓ " + message);
     }
 
     /**
      * عرض رسالة خطأ
      */
     private void showErrorToast(String message) {
-        Toast.makeText(this, "⚠ " + message, Toast.LENGTH_LONG).show();
+        FeedbackDispatcher.getInstance(this).showError("⚠ " + message);
     }
 
     /**
@@ -301,9 +363,9 @@ public class MainActivity extends AppCompatActivity {
     @Override
     public void onBackPressed() {
         try {
-            if (getSupportFragmentManager().getBackStackEntryCount() > 0) {
-                getSupportFragmentManager().popBackStack();
-                showHomeContent();
+            // الرجوع من شاشة يمر عبر NavigationController، والرجوع من المحتوى الرئيسي يؤكد الخروج
+            if (navigationController != null && navigationController.handleBack()) {
+                onHomeShown();
             } else {
                 // تأكيد الخروج من التطبيق
                 new androidx.appcompat.app.AlertDialog.Builder(this)
@@ -329,35 +391,37 @@ public class MainActivity extends AppCompatActivity {
             if (toolbarTitle != null) {
                 outState.putString("toolbar_title", toolbarTitle.getText().toString());
             }
-            if (currentFragment != null) {
-                outState.putString("current_fragment", currentFragment.getClass().getSimpleName());
-            }
         } catch (Exception e) {
             Log.w(TAG, "تحذير: مشكلة في حفظ الحالة", e);
         }
     }
 
-    /**
-     * استرداد حالة التطبيق
-     */
     @Override
-    protected void onRestoreInstanceState(Bundle savedInstanceState) {
-        super.onRestoreInstanceState(savedInstanceState);
-        try {
-            if (savedInstanceState != null) {
-                String savedTitle = savedInstanceState.getString("toolbar_title", "تطبيق OneUI");
-                updateToolbarTitle(savedTitle);
-                
-                String fragmentName = savedInstanceState.getString("current_fragment");
-                if (fragmentName != null) {
-                    Log.d(TAG, "تم استرداد حالة التطبيق مع Fragment: " + fragmentName);
-                }
-            }
-        } catch (Exception e) {
-            Log.w(TAG, "تحذير: مشكلة في استرداد الحالة", e);
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (navigationController != null) {
+            navigationController.onTrimMemory(level);
         }
     }
 
+    @Override
+    protected void onStart() {
+        super.onStart();
+        // قياس الإطارات أثناء ظهور النشاط فقط
+        FrameMonitor.getInstance().start(this);
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        FrameMonitor.getInstance().stop();
+        FrameMonitor.getInstance().dump(this);
+        Log.d(TAG, "إحصاءات الرسائل: " + FeedbackDispatcher.getInstance(this).getStats());
+        Log.d(TAG, "إحصاءات الأعمال في الخلفية: " + WorkScheduler.getInstance(this).getStats());
+        // حفظ أي إعدادات معلقة قبل احتمال إنهاء العملية في الخلفية
+        SettingsStore.getInstance(this).flush();
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
@@ -0,0 +1,199 @@
+package com.example.oneuiapp;
+
+import android.content.ComponentCallbacks2;
+import android.util.Log;
+import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentManager;
+import androidx.fragment.app.FragmentTransaction;
+import androidx.lifecycle.Lifecycle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * التنقل بين شاشات التطبيق مع إبقاء الشاشات المزارة حية
+ * التبديل يتم بالإخفاء والإظهار بدون إعادة بناء الواجهة، والشاشات المخفية تتوقف عند STARTED
+ * عند تجاوز ميزانية الذاكرة أو انخفاض ذاكرة النظام تُحذف الشاشات الأقدم استخداماً أولاً
+ */
+public final class NavigationController {
+
+    private static final String TAG = "NavigationController";
+
+    /**
+     * منشئ شاشة عند أول زيارة أو بعد حذفها
+     */
+    public interface Factory {
+        Fragment create();
+    }
+
+    private static final class Screen {
+        final Factory factory;
+        final int costKb;
+
+        Screen(Factory factory, int costKb) {
+            this.factory = factory;
+            this.costKb = costKb;
+        }
+    }
+
+    private final FragmentManager fragmentManager;
+    private final int containerId;
+    private final int memoryBudgetKb;
+    private final Map<String, Screen> screens = new HashMap<>();
+
+    // الشاشات الموجودة مرتبة من الأقدم استخداماً إلى الأحدث
+    private final LinkedHashMap<String, Fragment> retained = new LinkedHashMap<>(8, 0.75f, true);
+    private int retainedCostKb;
+
+    private String currentTag;
+
+    public NavigationController(FragmentManager fragmentManager, int containerId, int memoryBudgetKb) {
+        this.fragmentManager = fragmentManager;
+        this.containerId = containerId;
+        this.memoryBudgetKb = memoryBudgetKb;
+    }
+
+    /**
+     * تسجيل شاشة مع تكلفتها التقديرية في الذاكرة عندما تكون حية
+     */
+    public void register(String tag, int costKb, Factory factory) {
+        screens.put(tag, new Screen(factory, costKb));
+
+        // استعادة الشاشات التي أعاد FragmentManager إنشاءها بعد تغيير الإعدادات
+        Fragment existing = fragmentManager.findFragmentByTag(tag);
+        if (existing != null && !retained.containsKey(tag)) {
+            retained.put(tag, existing);
+            retainedCostKb += costKb;
+            if (!existing.isHidden()) {
+                currentTag = tag;
+            }
+        }
+    }
+
+    /**
+     * الشاشة المعروضة حالياً أو null عند عرض المحتوى الرئيسي
+     */
+    public String getCurrentTag() {
+        return currentTag;
+    }
+
+    /**
+     * عرض شاشة - إعادة استخدام النسخة الحية إن وجدت
+     */
+    public void navigate(String tag) {
+        Screen screen = screens.get(tag);
+        if (screen == null) {
+            throw new IllegalArgumentException("شاشة غير مسجلة: " + tag);
+        }
+        if (tag.equals(currentTag)) {
+            return;
+        }
+
+        FragmentTransaction transaction = fragmentManager.beginTransaction();
+        transaction.setReorderingAllowed(true);
+        hideCurrent(transaction);
+
+        Fragment fragment = retained.get(tag);
+        if (fragment != null) {
+            transaction.show(fragment);
+            transaction.setMaxLifecycle(fragment, Lifecycle.State.RESUMED);
+            Log.d(TAG, "إظهار الشاشة المحفوظة: " + tag);
+        } else {
+            fragment = screen.factory.create();
+            transaction.add(containerId, fragment, tag);
+            retained.put(tag, fragment);
+            retainedCostKb += screen.costKb;
+            Log.d(TAG, "إنشاء الشاشة: " + tag);
+        }
+        currentTag = tag;
+
+        evictTo(transaction, memoryBudgetKb);
+        transaction.commit();
+    }
+
+    /**
+     * إخفاء الشاشة الحالية والعودة للمحتوى الرئيسي مع إبقائها حية
+     */
+    public void showHome() {
+        if (currentTag == null) {
+            return;
+        }
+        FragmentTransaction transaction = fragmentManager.beginTransaction();
+        transaction.setReorderingAllowed(true);
+        hideCurrent(transaction);
+        currentTag = null;
+        transaction.commit();
+    }
+
+    /**
+     * معالجة زر الرجوع بدون مكدس رجوع - يعيد true إذا تم إخفاء شاشة
+     */
+    public boolean handleBack() {
+        if (currentTag == null) {
+            return false;
+        }
+        showHome();
+        return true;
+    }
+
+    /**
+     * تحرير الشاشات المخفية حسب شدة انخفاض الذاكرة
+     */
+    public void onTrimMemory(int level) {
+        int limitKb;
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            limitKb = 0;
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE
+                && level <= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            limitKb = memoryBudgetKb / 2;
+        } else {
+            // TRIM_MEMORY_UI_HIDDEN: الشاشات تبقى لعودة سريعة
+            return;
+        }
+
+        if (fragmentManager.isDestroyed()) {
+            return;
+        }
+        FragmentTransaction transaction = fragmentManager.beginTransaction();
+        int evicted = evictTo(transaction, limitKb);
+        if (evicted > 0) {
+            // قد يصل الحدث بعد حفظ الحالة وفقدان حالة شاشة مخفية محذوفة مقبول
+            transaction.commitAllowingStateLoss();
+            Log.d(TAG, "تم تحرير " + evicted + " شاشة - المستوى: " + level);
+        }
+    }
+
+    private void hideCurrent(FragmentTransaction transaction) {
+        Fragment current = currentTag != null ? retained.get(currentTag) : null;
+        if (current != null) {
+            transaction.hide(current);
+            transaction.setMaxLifecycle(current, Lifecycle.State.STARTED);
+        }
+    }
+
+    /**
+     * حذف الشاشات المخفية الأقدم استخداماً حتى تصبح التكلفة ضمن الحد
+     */
+    private int evictTo(FragmentTransaction transaction, int limitKb) {
+        List<String> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Fragment>> iterator = retained.entrySet().iterator();
+        while (retainedCostKb > limitKb && iterator.hasNext()) {
+            Map.Entry<String, Fragment> entry = iterator.next();
+            if (entry.getKey().equals(currentTag)) {
+                continue;
+            }
+            transaction.remove(entry.getValue());
+            retainedCostKb -= screens.get(entry.getKey()).costKb;
+            evicted.add(entry.getKey());
+            iterator.remove();
+        }
+        for (String tag : evicted) {
+            Log.d(TAG, "تم حذف الشاشة من الذاكرة: " + tag);
+        }
+        return evicted.size();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.oneuiapp;
+
+import android.app.Application;
+import android.util.Log;
+
+/**
+ * فئة التطبيق - تهيئة ما يلزم مرة واحدة لكل عملية
+ * الأعمال غير الضرورية لظهور أول إطار تُنقل إلى خيط خلفي منخفض الأولوية
+ */
+public class OneUIApplication extends Application {
+
+    private static final String TAG = "OneUIApplication";
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        StartupTrace.markApplicationCreate();
+
+        StartupTrace.beginSection("CrashHandler.initialize");
+        try {
+            // تثبيت معالج الأخطاء مبكراً حتى يلتقط أخطاء بدء التشغيل أيضاً
+            CrashHandler.initialize(this);
+        } catch (Exception e) {
+            Log.w(TAG, "تحذير: فشل في تهيئة معالج الأخطاء", e);
+        } finally {
+            StartupTrace.endSection();
+        }
+
+        // تحميل الإعدادات مرة واحدة - ملف صغير تعتمد عليه الشاشات الأولى
+        StartupTrace.beginSection("SettingsStore.load");
+        SettingsStore.getInstance(this);
+        StartupTrace.endSection();
+
+        // وضع الأداء يعتمد على الإعدادات ويحدد عدد خيوط القراءة قبل أول تحميل
+        PerformanceMode.getInstance(this);
+        AnimationPolicy.getInstance(this);
+
+        // تنظيف السجلات القديمة وأرشفتها عمل مؤجل - يُجمع مع غيره عند تفعيل توفير البطارية
+        WorkScheduler.getInstance(this).submit("cleanOldLogs", WorkScheduler.LANE_DEFERRABLE, () -> {
+            StartupTrace.beginSection("CrashHandler.cleanOldLogs");
+            try {
+                CrashHandler.cleanOldLogs(this);
+            } catch (Exception e) {
+                Log.w(TAG, "تحذير: فشل في تنظيف السجلات القديمة", e);
+            } finally {
+                StartupTrace.endSection();
+            }
+        });
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.oneuiapp;
+
+import android.os.Handler;
+import android.util.Log;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+import java.util.concurrent.Executor;
+
+/**
+ * قائمة مقسمة إلى صفحات ثابتة الحجم يتم تحميلها في الخلفية
+ * تحتفظ بنافذة محدودة من الصفحات فقط وتحمّل مسبقاً باتجاه التمرير
+ * جميع الدوال العامة تُستدعى من الخيط الرئيسي
+ */
+public class PagedList {
+
+    private static final String TAG = "PagedList";
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int DEFAULT_MAX_PAGES = 8;
+    public static final int DEFAULT_PREFETCH_PAGES = 2;
+
+    /**
+     * يتم إبلاغه عند اكتمال تحميل صفحة
+     */
+    public interface Callback {
+        void onPageLoaded(int startPosition, int count);
+    }
+
+    /**
+     * معالجة إضافية لعناصر الصفحة في خيط الخلفية قبل نشرها، مثل تجهيز النصوص للعرض
+     */
+    public interface PageProcessor {
+        void processPage(String[] items);
+    }
+
+    private ListDataSource source;
+    private final int pageSize;
+    private volatile int maxPages;
+    // يُكتب من الخيط الرئيسي عند تغيير وضع الأداء ويُقرأ في خيط التحميل المسبق
+    private volatile int prefetchPages;
+    private final Executor executor;
+    private Executor prefetchExecutor;
+    private final Handler mainHandler;
+
+    // نافذة الصفحات المحملة والصفحات قيد التحميل
+    private final SparseArray<String[]> pages = new SparseArray<>();
+    private final SparseBooleanArray loadingPages = new SparseBooleanArray();
+
+    private Callback callback;
+    private volatile PageProcessor pageProcessor;
+    private volatile int lastPage;
+    private boolean prefetchSuspended;
+    private int direction = 1;
+    private int generation;
+
+    public PagedList(ListDataSource source, int pageSize, int maxPages,
+                     int prefetchPages, Executor executor) {
+        if (maxPages <= prefetchPages) {
+            throw new IllegalArgumentException("maxPages يجب أن يكون أكبر من prefetchPages");
+        }
+        this.source = source;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.prefetchPages = prefetchPages;
+        this.executor = executor;
+        this.prefetchExecutor = executor;
+        this.mainHandler = AppExecutors.mainHandler();
+    }
+
+    public void setCallback(Callback callback) {
+        this.callback = callback;
+    }
+
+    public void setPageProcessor(PageProcessor pageProcessor) {
+        this.pageProcessor = pageProcessor;
+    }
+
+    /**
+     * منفذ منفصل للصفحات المحملة مسبقاً حتى لا تتقدم على الصفحة المطلوبة للعرض
+     */
+    public void setPrefetchExecutor(Executor prefetchExecutor) {
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    /**
+     * تغيير حجم نافذة الصفحات والتحميل المسبق أثناء التشغيل
+     * تصغير النافذة يحرر الصفحات الأبعد عن موضع التمرير فوراً
+     */
+    public void setWindow(int maxPages, int prefetchPages) {
+        if (maxPages <= prefetchPages) {
+            throw new IllegalArgumentException("maxPages يجب أن يكون أكبر من prefetchPages");
+        }
+        this.maxPages = maxPages;
+        this.prefetchPages = prefetchPages;
+        trimWindow();
+    }
+
+    /**
+     * إيقاف التحميل المسبق مؤقتاً أثناء القفز عبر شريط الفهرسة
+     * حتى تُحمّل صفحة الوجهة فقط بدلاً من صفحات كل موضع مر به الإصبع
+     */
+    public void setPrefetchSuspended(boolean suspended) {
+        prefetchSuspended = suspended;
+    }
+
+    public int size() {
+        return source.size();
+    }
+
+    public ListDataSource getSource() {
+        return source;
+    }
+
+    public long getItemId(int position) {
+        return source.getItemId(position);
+    }
+
+    /**
+     * جلب عنصر من النافذة المحملة
+     * يعيد null إذا لم تكتمل صفحته بعد ويطلب تحميلها
+     */
+    public String get(int position) {
+        int page = position / pageSize;
+        onPageAccessed(page);
+
+        String[] data = pages.get(page);
+        return data != null ? data[position - page * pageSize] : null;
+    }
+
+    /**
+     * إلغاء جميع الصفحات المحملة والطلبات الجارية
+     */
+    public void invalidate() {
+        generation++;
+        pages.clear();
+        loadingPages.clear();
+    }
+
+    /**
+     * تحميل صفحات المصدر الجديد المحيطة بموضع معين مسبقاً
+     * يُستدعى من خيط الخلفية قبل استبدال المصدر حتى لا تظهر نصوص مؤقتة
+     */
+    public SparseArray<String[]> preloadPages(ListDataSource newSource, int anchorPosition) {
+        SparseArray<String[]> preloaded = new SparseArray<>();
+        int newSize = newSource.size();
+        if (newSize == 0) {
+            return preloaded;
+        }
+
+        int anchorPage = Math.min(Math.max(anchorPosition, 0), newSize - 1) / pageSize;
+        // قراءة واحدة حتى لا يتغير مدى الحلقة إذا غُيّرت النافذة أثناء التحميل
+        int prefetch = prefetchPages;
+        for (int page = anchorPage - prefetch; page <= anchorPage + prefetch; page++) {
+            int start = page * pageSize;
+            if (page < 0 || start >= newSize) {
+                continue;
+            }
+            int count = Math.min(pageSize, newSize - start);
+            String[] data = new String[count];
+            readPage(newSource, start, data);
+            processPage(data);
+            preloaded.put(page, data);
+        }
+        return preloaded;
+    }
+
+    /**
+     * استبدال المصدر مع صفحات محملة مسبقاً من preloadPages
+     */
+    public void swapSource(ListDataSource newSource, SparseArray<String[]> preloaded) {
+        invalidate();
+        source = newSource;
+        for (int i = 0; i < preloaded.size(); i++) {
+            pages.put(preloaded.keyAt(i), preloaded.valueAt(i));
+        }
+        trimWindow();
+    }
+
+    /**
+     * أول موضع في الصفحة التي تم الوصول إليها مؤخراً
+     * يمكن قراءته من أي خيط
+     */
+    public int getAnchorPosition() {
+        return lastPage * pageSize;
+    }
+
+    /**
+     * عدد الصفحات المحتفظ بها حالياً في الذاكرة
+     */
+    public int getLoadedPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * تحديث اتجاه التمرير وطلب الصفحة والصفحات التالية لها
+     */
+    private void onPageAccessed(int page) {
+        if (page != lastPage) {
+            direction = page > lastPage ? 1 : -1;
+            lastPage = page;
+        }
+
+        requestPage(page, executor);
+        if (prefetchSuspended) {
+            return;
+        }
+        for (int i = 1; i <= prefetchPages; i++) {
+            requestPage(page + i * direction, prefetchExecutor);
+        }
+    }
+
+    private void requestPage(int page, Executor pageExecutor) {
+        if (page < 0 || page * pageSize >= source.size()) {
+            return;
+        }
+        if (pages.indexOfKey(page) >= 0 || loadingPages.get(page)) {
+            return;
+        }
+
+        loadingPages.put(page, true);
+        final int requestGeneration = generation;
+        final ListDataSource requestSource = source;
+
+        pageExecutor.execute(() -> {
+            // تجاهل الصفحات التي خرجت من النافذة قبل بدء تحميلها أثناء التمرير السريع
+            if (Math.abs(page - lastPage) >= maxPages) {
+                mainHandler.post(() -> onPageDropped(requestGeneration, page));
+                return;
+            }
+
+            try {
+                int start = page * pageSize;
+                int count = Math.min(pageSize, requestSource.size() - start);
+                String[] data = new String[count];
+                readPage(requestSource, start, data);
+                processPage(data);
+                mainHandler.post(() -> onPageLoaded(requestGeneration, page, data));
+            } catch (Exception e) {
+                Log.e(TAG, "فشل في تحميل الصفحة " + page, e);
+                mainHandler.post(() -> onPageDropped(requestGeneration, page));
+            }
+        });
+    }
+
+    private static void readPage(ListDataSource source, int start, String[] data) {
+        if (source instanceof ListDataSource.PageReader) {
+            ((ListDataSource.PageReader) source).readPage(start, data);
+            return;
+        }
+        for (int i = 0; i < data.length; i++) {
+            data[i] = source.get(start + i);
+        }
+    }
+
+    private void processPage(String[] data) {
+        PageProcessor processor = pageProcessor;
+        if (processor != null) {
+            processor.processPage(data);
+        }
+    }
+
+    private void onPageLoaded(int requestGeneration, int page, String[] data) {
+        if (requestGeneration != generation) {
+            return;
+        }
+
+        loadingPages.delete(page);
+        pages.put(page, data);
+        trimWindow();
+
+        if (callback != null) {
+            callback.onPageLoaded(page * pageSize, data.length);
+        }
+    }
+
+    private void onPageDropped(int requestGeneration, int page) {
+        if (requestGeneration == generation) {
+            loadingPages.delete(page);
+        }
+    }
+
+    /**
+     * إزالة الصفحات الأبعد عن موضع التمرير الحالي حتى تبقى النافذة ضمن الحد
+     */
+    private void trimWindow() {
+        while (pages.size() > maxPages) {
+            int farthestIndex = 0;
+            int farthestDistance = -1;
+            for (int i = 0; i < pages.size(); i++) {
+                int distance = Math.abs(pages.keyAt(i) - lastPage);
+                if (distance > farthestDistance) {
+                    farthestDistance = distance;
+                    farthestIndex = i;
+                }
+            }
+            pages.removeAt(farthestIndex);
+        }
+    }
+}
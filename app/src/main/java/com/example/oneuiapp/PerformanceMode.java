@@ -0,0 +1,184 @@
+package com.example.oneuiapp;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.util.Log;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * محرك أوضاع الأداء على مستوى التطبيق
+ * الوضع يُحدد من مفتاح "الأداء العالي" في الإعدادات، ويُفرض الوضع منخفض الذاكرة عند ضغط الذاكرة
+ * الشاشات تسجل مستمعاً وتطبق قيم الوضع الجديد مباشرة دون إعادة إنشائها
+ * يُستخدم من الخيط الرئيسي فقط
+ */
+public final class PerformanceMode implements SettingsStore.OnChangeListener, ComponentCallbacks2 {
+
+    private static final String TAG = "PerformanceMode";
+
+    // مدة البقاء في الوضع منخفض الذاكرة بعد آخر إشارة ضغط
+    static final long LOW_MEMORY_HOLD_MS = 60_000;
+
+    /**
+     * قيم وضع واحد - أحجام المخازن والنوافذ وعدد الخيوط ومدة الانتقالات
+     */
+    public static final class Profile {
+        public final String name;
+        public final int itemViewCacheSize;
+        public final int recycledRowCapacity;
+        // مساحة تخطيط إضافية خارج الشاشة بنسبة ارتفاعها - صفوف جاهزة قبل ظهورها
+        public final float extraLayoutScreens;
+        public final int maxPages;
+        public final int prefetchPages;
+        public final int textCacheSize;
+        public final int ioThreads;
+        public final float transitionScale;
+
+        Profile(String name, int itemViewCacheSize, int recycledRowCapacity, float extraLayoutScreens,
+                int maxPages, int prefetchPages, int textCacheSize, int ioThreads, float transitionScale) {
+            this.name = name;
+            this.itemViewCacheSize = itemViewCacheSize;
+            this.recycledRowCapacity = recycledRowCapacity;
+            this.extraLayoutScreens = extraLayoutScreens;
+            this.maxPages = maxPages;
+            this.prefetchPages = prefetchPages;
+            this.textCacheSize = textCacheSize;
+            this.ioThreads = ioThreads;
+            this.transitionScale = transitionScale;
+        }
+
+        /**
+         * مدة الانتقال بعد تطبيق معامل الوضع
+         */
+        public long scaleDuration(long durationMs) {
+            return (long) (durationMs * transitionScale);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    public static final Profile HIGH = new Profile("high",
+        40, 64, 0.5f, 16, 4, 2048,
+        Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)), 0.5f);
+
+    // القيم السابقة للتطبيق قبل إضافة الأوضاع
+    public static final Profile STANDARD = new Profile("standard",
+        20, RowViewPool.DEFAULT_CAPACITY, 0f,
+        PagedList.DEFAULT_MAX_PAGES, PagedList.DEFAULT_PREFETCH_PAGES,
+        TextPrecomputer.DEFAULT_CAPACITY, AppExecutors.DEFAULT_IO_THREADS, 1f);
+
+    public static final Profile LOW_MEMORY = new Profile("low_memory",
+        4, 12, 0f, 4, 1, 128, 1, 1f);
+
+    public static final Profile[] ALL_PROFILES = {HIGH, STANDARD, LOW_MEMORY};
+
+    /**
+     * يتم إبلاغه على الخيط الرئيسي عند تغيير الوضع
+     */
+    public interface Listener {
+        void onProfileChanged(Profile profile);
+    }
+
+    private static volatile PerformanceMode instance;
+
+    private final SettingsStore settingsStore;
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Runnable releaseLowMemory = this::releaseLowMemory;
+
+    private boolean memoryPressure;
+    private Profile current;
+
+    private PerformanceMode(Context context) {
+        settingsStore = SettingsStore.getInstance(context);
+        current = selectProfile();
+        settingsStore.addListener(this);
+        context.getApplicationContext().registerComponentCallbacks(this);
+        AppExecutors.setIoThreads(current.ioThreads);
+    }
+
+    public static PerformanceMode getInstance(Context context) {
+        if (instance == null) {
+            synchronized (PerformanceMode.class) {
+                if (instance == null) {
+                    instance = new PerformanceMode(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    public Profile getProfile() {
+        return current;
+    }
+
+    /**
+     * تسجيل مستمع - لا يُستدعى فوراً، لذلك يقرأ المستمع getProfile عند الإعداد
+     */
+    public void addListener(Listener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void onSettingChanged(SettingsStore.Key<?> key, SettingsStore.Snapshot snapshot) {
+        if (key == SettingsStore.HIGH_PERFORMANCE) {
+            update();
+        }
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level < ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW
+                || level == ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            return;
+        }
+        // كل إشارة جديدة تمدد مدة البقاء في الوضع منخفض الذاكرة
+        AppExecutors.mainHandler().removeCallbacks(releaseLowMemory);
+        AppExecutors.mainHandler().postDelayed(releaseLowMemory, LOW_MEMORY_HOLD_MS);
+        if (!memoryPressure) {
+            memoryPressure = true;
+            Log.d(TAG, "ضغط على الذاكرة - المستوى: " + level);
+            update();
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+    }
+
+    private void releaseLowMemory() {
+        memoryPressure = false;
+        update();
+    }
+
+    private Profile selectProfile() {
+        if (memoryPressure) {
+            return LOW_MEMORY;
+        }
+        return settingsStore.get(SettingsStore.HIGH_PERFORMANCE) ? HIGH : STANDARD;
+    }
+
+    private void update() {
+        Profile selected = selectProfile();
+        if (selected == current) {
+            return;
+        }
+        Log.d(TAG, "تغيير وضع الأداء: " + current + " -> " + selected);
+        current = selected;
+        AppExecutors.setIoThreads(selected.ioThreads);
+        for (Listener listener : listeners) {
+            listener.onProfileChanged(selected);
+        }
+    }
+}
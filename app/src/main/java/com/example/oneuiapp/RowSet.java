@@ -0,0 +1,151 @@
+package com.example.oneuiapp;
+
+import java.util.Arrays;
+
+/**
+ * مجموعة مرتبة من مواضع الصفوف مخزنة كفترات متتالية [start, end)
+ * النتائج الكثيفة مثل "كل العناصر" تأخذ فترة واحدة بدلاً من مليون رقم
+ * تُبنى بإضافة مواضع تصاعدية في خيط واحد، وبعد نشرها لا تتغير فيمكن قراءتها من أي خيط
+ */
+public final class RowSet {
+
+    private int[] starts;
+    private int[] ends;
+    // ranks[i] عدد الصفوف قبل الفترة i - للوصول إلى الصف رقم n ببحث ثنائي
+    private int[] ranks;
+    private int runCount;
+    private int size;
+
+    public RowSet() {
+        this(4);
+    }
+
+    RowSet(int runCapacity) {
+        int capacity = Math.max(1, runCapacity);
+        starts = new int[capacity];
+        ends = new int[capacity];
+        ranks = new int[capacity];
+    }
+
+    /**
+     * جميع الصفوف من start حتى end دون الأخير
+     */
+    public static RowSet range(int start, int end) {
+        RowSet rows = new RowSet(1);
+        rows.addRange(start, end);
+        return rows;
+    }
+
+    /**
+     * إضافة صف أكبر من آخر صف مضاف
+     */
+    public void add(int row) {
+        addRange(row, row + 1);
+    }
+
+    /**
+     * إضافة فترة تبدأ بعد آخر صف مضاف - تُدمج مع الفترة السابقة إذا كانت ملاصقة لها
+     */
+    public void addRange(int start, int end) {
+        if (end <= start) {
+            return;
+        }
+        if (runCount > 0) {
+            int lastEnd = ends[runCount - 1];
+            if (start < lastEnd) {
+                throw new IllegalArgumentException("الصفوف يجب أن تضاف تصاعدياً: " + start);
+            }
+            if (start == lastEnd) {
+                ends[runCount - 1] = end;
+                size += end - start;
+                return;
+            }
+        }
+        if (runCount == starts.length) {
+            int capacity = runCount * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            ranks = Arrays.copyOf(ranks, capacity);
+        }
+        starts[runCount] = start;
+        ends[runCount] = end;
+        ranks[runCount] = size;
+        runCount++;
+        size += end - start;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getRunCount() {
+        return runCount;
+    }
+
+    public int getRunStart(int run) {
+        return starts[run];
+    }
+
+    public int getRunEnd(int run) {
+        return ends[run];
+    }
+
+    /**
+     * الصف رقم index في المجموعة
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index=" + index + " size=" + size);
+        }
+        int run = Arrays.binarySearch(ranks, 0, runCount, index);
+        if (run < 0) {
+            run = -run - 2;
+        }
+        return starts[run] + index - ranks[run];
+    }
+
+    /**
+     * عدد صفوف المجموعة الأصغر من row - وهو أيضاً موضع row أو أول صف بعده
+     */
+    public int rank(int row) {
+        int run = Arrays.binarySearch(starts, 0, runCount, row);
+        if (run < 0) {
+            run = -run - 2;
+        }
+        if (run < 0) {
+            return 0;
+        }
+        return ranks[run] + Math.min(row, ends[run]) - starts[run];
+    }
+
+    public boolean contains(int row) {
+        int run = Arrays.binarySearch(starts, 0, runCount, row);
+        if (run >= 0) {
+            return true;
+        }
+        run = -run - 2;
+        return run >= 0 && row < ends[run];
+    }
+
+    /**
+     * تقاطع مجموعتين بالمرور على فتراتهما مرة واحدة
+     */
+    public static RowSet intersect(RowSet a, RowSet b) {
+        RowSet result = new RowSet(Math.min(a.runCount, b.runCount));
+        int i = 0;
+        int j = 0;
+        while (i < a.runCount && j < b.runCount) {
+            int start = Math.max(a.starts[i], b.starts[j]);
+            int end = Math.min(a.ends[i], b.ends[j]);
+            if (start < end) {
+                result.addRange(start, end);
+            }
+            if (a.ends[i] < b.ends[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result;
+    }
+}
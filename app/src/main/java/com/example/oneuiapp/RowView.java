@@ -0,0 +1,203 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.DisplayMetrics;
+import android.util.TypedValue;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityNodeInfo;
+
+/**
+ * صف القائمة كعرض واحد يرسم الأيقونة والنص بنفسه بدلاً من LinearLayout مع عرضين للنص
+ * ارتفاع الصف ثابت ويُحسب من مقاييس الخط، لذلك تغيير النص لا يطلب إعادة القياس
+ * تخطيط الأيقونة مشترك بين جميع الصفوف، وتخطيط النص يصل جاهزاً من TextPrecomputer أو يُبنى عند الربط،
+ * فالرسم لا يبني أي تخطيط
+ */
+public class RowView extends View {
+
+    private static final String ICON = "📄";
+
+    private static final float TEXT_SIZE_SP = 16;
+    private static final int PADDING_HORIZONTAL = 32;
+    private static final int PADDING_VERTICAL = 24;
+    private static final int ICON_GAP = 24;
+
+    // تخطيط الأيقونة يُشكّل مرة واحدة لكل حجم خط - يُستخدم من الخيط الرئيسي فقط
+    private static Layout sharedIconLayout;
+    private static float sharedIconTextSize;
+
+    private final TextPaint labelPaint;
+    private final Layout iconLayout;
+    private final int contentHeight;
+
+    private CharSequence text = "";
+    private Layout labelLayout;
+
+    public RowView(Context context) {
+        super(context);
+        DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        labelPaint = createLabelPaint(context);
+        iconLayout = iconLayoutFor(labelPaint.getTextSize(), metrics.density);
+        Paint.FontMetricsInt fm = labelPaint.getFontMetricsInt();
+        contentHeight = Math.max(iconLayout.getHeight(), fm.bottom - fm.top);
+
+        setPaddingRelative(PADDING_HORIZONTAL, PADDING_VERTICAL, PADDING_HORIZONTAL, PADDING_VERTICAL);
+    }
+
+    /**
+     * خصائص نص العنوان - تُستخدم أيضاً لإنشاء TextPrecomputer بنفس الخصائص
+     */
+    public static TextPaint createLabelPaint(Context context) {
+        DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, TEXT_SIZE_SP, metrics));
+        paint.setColor(Color.DKGRAY);
+        paint.density = metrics.density;
+        return paint;
+    }
+
+    /**
+     * عرض نص العنوان في صف بهذا العرض - يُستخدم لبناء التخطيطات مسبقاً بنفس عرض الصف
+     * يُستدعى من الخيط الرئيسي
+     */
+    public static int labelWidthFor(Context context, int rowWidth) {
+        DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        float textSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, TEXT_SIZE_SP, metrics);
+        Layout icon = iconLayoutFor(textSize, metrics.density);
+        return rowWidth - 2 * PADDING_HORIZONTAL - icon.getWidth() - ICON_GAP;
+    }
+
+    /**
+     * تخطيط النص بسطر واحد مع اختصار النهاية - آمن من أي خيط إذا لم يُعدل paint
+     */
+    static Layout buildLabelLayout(CharSequence text, TextPaint paint, int width) {
+        return StaticLayout.Builder.obtain(text, 0, text.length(), paint, width)
+            .setTextDirection(TextPrecomputer.TEXT_DIRECTION)
+            .setBreakStrategy(TextPrecomputer.BREAK_STRATEGY)
+            .setHyphenationFrequency(TextPrecomputer.HYPHENATION_FREQUENCY)
+            .setIncludePad(true)
+            .setMaxLines(1)
+            .setEllipsize(TextUtils.TruncateAt.END)
+            .setEllipsizedWidth(width)
+            .build();
+    }
+
+    private static Layout iconLayoutFor(float textSize, float density) {
+        if (sharedIconLayout == null || sharedIconTextSize != textSize) {
+            TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+            paint.setTextSize(textSize);
+            paint.density = density;
+            int width = (int) Math.ceil(Layout.getDesiredWidth(ICON, paint));
+            sharedIconLayout = StaticLayout.Builder.obtain(ICON, 0, ICON.length(), paint, width)
+                .setIncludePad(true)
+                .build();
+            sharedIconTextSize = textSize;
+        }
+        return sharedIconLayout;
+    }
+
+    /**
+     * تغيير النص - يُبنى تخطيطه هنا أو عند معرفة العرض، ويُعاد الرسم فقط لأن ارتفاع الصف لا يعتمد على النص
+     */
+    public void setText(CharSequence text) {
+        setLabel(text, null);
+    }
+
+    /**
+     * تغيير النص مع تخطيطه الجاهز من TextPrecomputer
+     * التخطيط يُستخدم كما هو إذا كان بعرض نص هذا الصف، وإلا يُبنى من جديد
+     */
+    public void setLabel(CharSequence text, Layout layout) {
+        if (text == null) {
+            text = "";
+        }
+        if (TextUtils.equals(this.text, text) && (layout == null || layout == labelLayout)) {
+            return;
+        }
+        this.text = text;
+        labelLayout = layout;
+        updateLabelLayout();
+        invalidate();
+    }
+
+    public CharSequence getText() {
+        return text;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getMode(widthMeasureSpec) == MeasureSpec.UNSPECIFIED
+            ? getSuggestedMinimumWidth()
+            : MeasureSpec.getSize(widthMeasureSpec);
+        int height = getPaddingTop() + contentHeight + getPaddingBottom();
+        setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateLabelLayout();
+    }
+
+    /**
+     * بناء تخطيط النص إذا لم يصل جاهزاً بعرض الصف - لا شيء قبل معرفة العرض، وonSizeChanged يكمله
+     */
+    private void updateLabelLayout() {
+        int available = getWidth() - getPaddingLeft() - getPaddingRight() - iconLayout.getWidth() - ICON_GAP;
+        if (available <= 0) {
+            return;
+        }
+        if (labelLayout == null || labelLayout.getWidth() != available) {
+            labelLayout = buildLabelLayout(text, labelPaint, available);
+        }
+    }
+
+    /**
+     * التخطيط المرسوم حالياً
+     */
+    Layout getLabelLayout() {
+        return labelLayout;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        Layout label = labelLayout;
+        boolean rtl = getLayoutDirection() == LAYOUT_DIRECTION_RTL;
+        int top = getPaddingTop();
+        int iconWidth = iconLayout.getWidth();
+
+        int iconLeft = rtl ? getWidth() - getPaddingRight() - iconWidth : getPaddingLeft();
+        drawLayout(canvas, iconLayout, iconLeft, top + (contentHeight - iconLayout.getHeight()) / 2);
+
+        if (label != null) {
+            int labelLeft = rtl ? getPaddingLeft() : getPaddingLeft() + iconWidth + ICON_GAP;
+            drawLayout(canvas, label, labelLeft, top + (contentHeight - label.getHeight()) / 2);
+        }
+    }
+
+    private static void drawLayout(Canvas canvas, Layout layout, int left, int top) {
+        int save = canvas.save();
+        canvas.translate(left, top);
+        layout.draw(canvas);
+        canvas.restoreToCount(save);
+    }
+
+    @Override
+    public void onInitializeAccessibilityNodeInfo(AccessibilityNodeInfo info) {
+        super.onInitializeAccessibilityNodeInfo(info);
+        info.setText(text);
+    }
+
+    @Override
+    public void onPopulateAccessibilityEvent(AccessibilityEvent event) {
+        super.onPopulateAccessibilityEvent(event);
+        event.getText().add(text);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.oneuiapp;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.Log;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * مخزن عناصر مشترك على مستوى النشاط
+ * يبقى بعد إعادة إنشاء ScrollFragment حتى لا يُعاد بناء الصفوف عند العودة للقائمة
+ */
+public class RowViewPool extends RecyclerView.RecycledViewPool {
+
+    private static final String TAG = "RowViewPool";
+
+    public static final int DEFAULT_CAPACITY = 32;
+
+    private boolean prewarmScheduled;
+
+    public RowViewPool() {
+        setMaxRecycledViews(ScrollAdapter.VIEW_TYPE_ROW, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * تجهيز عدد من الصفوف مسبقاً في أوقات خمول الخيط الرئيسي
+     * يتم إنشاء صف واحد في كل فترة خمول حتى لا يتأخر أي إطار
+     */
+    public void prewarm(RecyclerView recyclerView, int viewType, int count) {
+        final RecyclerView.Adapter<?> adapter = recyclerView.getAdapter();
+        if (prewarmScheduled || adapter == null) {
+            return;
+        }
+        prewarmScheduled = true;
+
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            @Override
+            public boolean queueIdle() {
+                if (recyclerView.getAdapter() != adapter
+                        || !recyclerView.isAttachedToWindow()
+                        || getRecycledViewCount(viewType) >= count) {
+                    prewarmScheduled = false;
+                    Log.d(TAG, "انتهى التجهيز المسبق - الصفوف المنشأة: "
+                        + ScrollAdapter.getCreatedHolderCount());
+                    return false;
+                }
+
+                putRecycledView(adapter.createViewHolder(recyclerView, viewType));
+                return true;
+            }
+        });
+    }
+}
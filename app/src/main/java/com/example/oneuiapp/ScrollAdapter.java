@@ -0,0 +1,291 @@
+package com.example.oneuiapp;
+
+import android.graphics.Color;
+import android.text.Layout;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * محول RecyclerView لعرض العناصر
+ * يقرأ العناصر من PagedList ويعرض نصاً مؤقتاً للصفحات التي لم تحمل بعد
+ * التحديثات تُحسب بـ DiffUtil في الخلفية ويُعاد ربط العناصر المتغيرة فقط
+ */
+public class ScrollAdapter extends RecyclerView.Adapter<ScrollAdapter.ViewHolder>
+        implements PagedList.Callback {
+
+    public static final int VIEW_TYPE_ROW = 0;
+
+    private static final int HIGHLIGHT_COLOR = Color.parseColor("#E3F2FD");
+    private static final String CLICK_MESSAGE_PREFIX = "تم النقر على: ";
+
+    // اكتشاف النقل مكلف في DiffUtil لذلك يُفعّل للقوائم الصغيرة فقط
+    private static final int MOVE_DETECTION_LIMIT = 10_000;
+
+    private final PagedList pagedList;
+    private final String placeholderText;
+    private TextPrecomputer textPrecomputer;
+
+    // الصفوف بعرض القائمة، فتغيير عرضها يغير عرض التخطيطات المجهزة مسبقاً
+    private final View.OnLayoutChangeListener listWidthListener =
+        (view, left, top, right, bottom, oldLeft, oldTop, oldRight, oldBottom) -> updateLabelWidth(view);
+
+    // مخزن نص مشترك لرسائل النقر لتجنب إنشاء نص جديد في كل نقرة
+    private final StringBuilder clickMessage = new StringBuilder(64);
+
+    // يزداد مع كل تحديث لتجاهل نتائج الفروقات القديمة
+    private int diffGeneration;
+
+    // مقياس تشخيصي: عدد الصفوف التي تم إنشاؤها منذ بدء العملية
+    private static int createdHolderCount;
+
+    // يتم تسجيل عملية ربط واحدة من كل 64 في سجل المسار
+    private static final int BIND_SAMPLE_MASK = 63;
+    private int bindCounter;
+
+    public ScrollAdapter(PagedList pagedList, String placeholderText) {
+        this.pagedList = pagedList;
+        this.placeholderText = placeholderText;
+        pagedList.setCallback(this);
+        setHasStableIds(true);
+    }
+
+    /**
+     * تجهيز تخطيطات نصوص الصفحات في الخلفية قبل ربطها
+     */
+    public void setTextPrecomputer(TextPrecomputer textPrecomputer) {
+        this.textPrecomputer = textPrecomputer;
+        pagedList.setPageProcessor(textPrecomputer);
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        recyclerView.addOnLayoutChangeListener(listWidthListener);
+        updateLabelWidth(recyclerView);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        recyclerView.removeOnLayoutChangeListener(listWidthListener);
+    }
+
+    /**
+     * قبل أول تخطيط للقائمة يبقى العرض التقديري الذي ضبطه ScrollFragment
+     */
+    private void updateLabelWidth(View list) {
+        int rowWidth = list.getWidth() - list.getPaddingLeft() - list.getPaddingRight();
+        if (textPrecomputer != null && rowWidth > 0) {
+            textPrecomputer.setLabelWidth(RowView.labelWidthFor(list.getContext(), rowWidth));
+        }
+    }
+
+    /**
+     * استبدال مصدر البيانات بتحديث تدريجي
+     * الفروقات والصفحات الجديدة تُحسب في الخلفية ثم تُرسل إشعارات الإضافة والنقل والحذف فقط
+     */
+    public void submitSource(ListDataSource newSource) {
+        submitSource(newSource, null);
+    }
+
+    /**
+     * commitCallback يُستدعى على الخيط الرئيسي بعد تطبيق المصدر الجديد، ولا يُستدعى إذا حل محله مصدر أحدث
+     * عرضان مصفّيان لنفس المصدر يُقارنان بدمج فترات صفوفهما بدلاً من DiffUtil
+     */
+    public void submitSource(ListDataSource newSource, Runnable commitCallback) {
+        final ListDataSource oldSource = pagedList.getSource();
+        final int submitGeneration = ++diffGeneration;
+
+        AppExecutors.io().execute(() -> {
+            FilteredListDataSource.Diff subsetDiff = FilteredListDataSource.diff(oldSource, newSource);
+            DiffUtil.DiffResult result = null;
+            if (subsetDiff == null) {
+                boolean detectMoves = Math.max(oldSource.size(), newSource.size()) <= MOVE_DETECTION_LIMIT;
+                result = DiffUtil.calculateDiff(new SourceDiffCallback(oldSource, newSource), detectMoves);
+            }
+
+            int anchor = pagedList.getAnchorPosition();
+            if (anchor < oldSource.size()) {
+                int converted = subsetDiff != null
+                    ? subsetDiff.convertOldPositionToNew(anchor)
+                    : result.convertOldPositionToNew(anchor);
+                if (converted != DiffUtil.DiffResult.NO_POSITION) {
+                    anchor = converted;
+                }
+            }
+            SparseArray<String[]> preloaded = pagedList.preloadPages(newSource, anchor);
+
+            final DiffUtil.DiffResult diffResult = result;
+            AppExecutors.mainHandler().post(() -> {
+                if (submitGeneration != diffGeneration) {
+                    return;
+                }
+                pagedList.swapSource(newSource, preloaded);
+                if (subsetDiff != null) {
+                    subsetDiff.dispatchUpdatesTo(new AdapterListUpdateCallback(this));
+                } else {
+                    diffResult.dispatchUpdatesTo(this);
+                }
+                if (commitCallback != null) {
+                    commitCallback.run();
+                }
+            });
+        });
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        createdHolderCount++;
+
+        // صف مسطح يرسم الأيقونة والنص بنفسه - عرض واحد بقياس ثابت التكلفة
+        RowView rowView = new RowView(parent.getContext());
+        rowView.setLayoutParams(new ViewGroup.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.WRAP_CONTENT));
+
+        return new ViewHolder(rowView);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        String item = pagedList.get(position);
+
+        if (item == null) {
+            // الصفحة قيد التحميل - سيتم إعادة الربط عند اكتمالها
+            holder.bindText(placeholderText, null);
+        } else {
+            holder.bindText(item, textPrecomputer != null ? textPrecomputer.lookup(item) : null);
+        }
+
+        // تأثير لوني متدرج
+        holder.bindBackground(position % 5 == 0 ? HIGHLIGHT_COLOR : Color.TRANSPARENT);
+
+        if ((++bindCounter & BIND_SAMPLE_MASK) == 0) {
+            BreadcrumbLog.record(BreadcrumbLog.CATEGORY_BIND, "bind", position);
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return pagedList.size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return pagedList.getItemId(position);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return VIEW_TYPE_ROW;
+    }
+
+    /**
+     * عدد الصفوف المنشأة - يُستخدم للتحقق من إعادة استخدام المخزن المشترك
+     */
+    public static int getCreatedHolderCount() {
+        return createdHolderCount;
+    }
+
+    @Override
+    public void onPageLoaded(int startPosition, int count) {
+        notifyItemRangeChanged(startPosition, count);
+    }
+
+    /**
+     * معالجة النقر على عنصر - يتم تحديد العنصر لحظة النقر وليس لحظة الربط
+     */
+    void onItemClicked(View view, int position) {
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        String item = pagedList.get(position);
+        if (item == null) {
+            return;
+        }
+
+        clickMessage.setLength(0);
+        clickMessage.append(CLICK_MESSAGE_PREFIX).append(item);
+        FeedbackDispatcher.getInstance(view.getContext()).show(clickMessage);
+    }
+
+    /**
+     * مقارنة مصدرين بالمعرفات الثابتة ثم بالمحتوى
+     */
+    static class SourceDiffCallback extends DiffUtil.Callback {
+        private final ListDataSource oldSource;
+        private final ListDataSource newSource;
+
+        SourceDiffCallback(ListDataSource oldSource, ListDataSource newSource) {
+            this.oldSource = oldSource;
+            this.newSource = newSource;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldSource.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newSource.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+            return oldSource.getItemId(oldItemPosition) == newSource.getItemId(newItemPosition);
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+            return oldSource.get(oldItemPosition).equals(newSource.get(newItemPosition));
+        }
+    }
+
+    /**
+     * حامل العنصر مع مستمع نقر واحد طوال عمره
+     * قد ينتقل بين محولات مختلفة عبر المخزن المشترك لذلك يحدد المحول لحظة النقر
+     */
+    static class ViewHolder extends RecyclerView.ViewHolder implements View.OnClickListener {
+        final RowView rowView;
+        private CharSequence boundText;
+        private Layout boundLayout;
+        private int boundColor;
+
+        ViewHolder(RowView rowView) {
+            super(rowView);
+            this.rowView = rowView;
+            rowView.setOnClickListener(this);
+        }
+
+        void bindText(CharSequence text, Layout layout) {
+            if (text != boundText || layout != boundLayout) {
+                boundText = text;
+                boundLayout = layout;
+                rowView.setLabel(text, layout);
+            }
+        }
+
+        void bindBackground(int color) {
+            if (color != boundColor) {
+                boundColor = color;
+                itemView.setBackgroundColor(color);
+            }
+        }
+
+        @Override
+        public void onClick(View view) {
+            ViewParent parent = itemView.getParent();
+            if (parent instanceof RecyclerView
+                    && ((RecyclerView) parent).getAdapter() instanceof ScrollAdapter) {
+                ((ScrollAdapter) ((RecyclerView) parent).getAdapter())
+                    .onItemClicked(view, getAdapterPosition());
+            }
+        }
+    }
+}
@@ -1,31 +1,82 @@
 package com.example.oneuiapp;
 
+import android.content.Context;
 import android.graphics.Color;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.InputType;
+import android.text.TextWatcher;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.inputmethod.EditorInfo;
+import android.widget.EditText;
+import android.widget.FrameLayout;
 import android.widget.LinearLayout;
 import android.widget.TextView;
-import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.indexscroll.widget.SeslIndexScrollView;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.DividerItemDecoration;
+import java.io.IOException;
 
 /**
- * فراجمنت قائمة التمرير مع 200 عنصر
- * يستخدم RecyclerView مع تحسينات OneUI
+ * فراجمنت قائمة التمرير
+ * يستخدم RecyclerView مع مصدر بيانات مقسم إلى صفحات وتحسينات OneUI
  */
-public class ScrollFragment extends Fragment {
+public class ScrollFragment extends Fragment
+        implements PerformanceMode.Listener, AnimationPolicy.Listener, ListSearch.Listener {
+
+    /**
+     * عدد عناصر القائمة - لا يؤثر على الذاكرة أو زمن ظهور أول عنصر
+     */
+    public static final int ITEM_COUNT = 100_000;
+
+    // عدد عناصر مختلف عن الافتراضي عند التشغيل من أدوات القياس والاختبار
+    private static final String ARG_ITEM_COUNT = "item_count";
+
+    // عدد الصفوف التي تُجهز مسبقاً في أوقات الخمول
+    static final int PREWARM_ROW_COUNT = 12;
+
+    // شريط الفهرسة يظهر للقوائم الطويلة فقط
+    private static final int MIN_INDEXED_ITEMS = 500;
+    private static final int INDEX_BAR_WIDTH_DP = 24;
+
+    private static final String TAG = "ScrollFragment";
 
     private RecyclerView recyclerView;
+    private EditText searchField;
+    private ListDataSource baseSource;
+    private ListSearch listSearch;
+    private PagedList pagedList;
+    private TextPrecomputer textPrecomputer;
+    private SeslIndexScrollView indexScrollView;
+    private SectionIndex sectionIndex;
+    private ScrollAdapter adapter;
     
     private static final int ONEUI_BLUE = Color.parseColor("#1976D2");
     private static final int ONEUI_SURFACE = Color.parseColor("#F5F5F5");
 
+    /**
+     * شاشة بعدد عناصر محدد - يبقى بعد إعادة إنشاء الشاشة لأنه في وسائطها
+     */
+    public static ScrollFragment newInstance(int itemCount) {
+        ScrollFragment fragment = new ScrollFragment();
+        Bundle args = new Bundle();
+        args.putInt(ARG_ITEM_COUNT, itemCount);
+        fragment.setArguments(args);
+        return fragment;
+    }
+
+    private int getItemCount() {
+        Bundle args = getArguments();
+        return args != null ? args.getInt(ARG_ITEM_COUNT, ITEM_COUNT) : ITEM_COUNT;
+    }
+
     @Nullable
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, 
@@ -43,9 +94,29 @@ public class ScrollFragment extends Fragment {
         TextView headerText = createHeaderText();
         rootLayout.addView(headerText);
 
+        // حقل البحث - النتائج من فهرس في الخلفية ولا تمر القائمة على الخيط الرئيسي
+        searchField = createSearchField();
+        rootLayout.addView(searchField);
+
+        // القائمة وشريط الفهرسة فوقها في نفس المساحة
+        FrameLayout listContainer = new FrameLayout(requireContext());
+        listContainer.setLayoutParams(new LinearLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            0, // height = 0 لاستخدام weight
+            1.0f)); // weight = 1 ليأخذ المساحة المتبقية
+
         // إنشاء RecyclerView محسن
         recyclerView = createEnhancedRecyclerView();
-        rootLayout.addView(recyclerView);
+        listContainer.addView(recyclerView);
+
+        indexScrollView = new SeslIndexScrollView(requireContext());
+        indexScrollView.setLayoutParams(new FrameLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.MATCH_PARENT));
+        indexScrollView.setVisibility(View.GONE);
+        listContainer.addView(indexScrollView);
+
+        rootLayout.addView(listContainer);
 
         // إضافة رسالة في الأسفل
         TextView footerText = createFooterText();
@@ -60,14 +131,60 @@ public class ScrollFragment extends Fragment {
         
         // إعداد البيانات والمحول
         setupRecyclerView();
+        PerformanceMode.getInstance(requireContext()).addListener(this);
+        AnimationPolicy.getInstance(requireContext()).addListener(this);
+        setupSearch();
         
         // إضافة تأثير الانتقال
         addTransitionEffect();
         
         // رسالة ترحيب
-        Toast.makeText(requireContext(), 
-            "تم تحميل 200 عنصر بنجاح! 📋", 
-            Toast.LENGTH_SHORT).show();
+        FeedbackDispatcher.getInstance(requireContext())
+            .show("تم تحميل " + getItemCount() + " عنصر بنجاح! 📋");
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        PerformanceMode.getInstance(requireContext()).removeListener(this);
+        AnimationPolicy.getInstance(requireContext()).removeListener(this);
+
+        if (listSearch != null) {
+            listSearch.close();
+            listSearch = null;
+        }
+        searchField = null;
+        
+        if (adapter != null) {
+            // المراقب مسجل فقط عند إنشاء شريط الفهرسة، وإلغاء مراقب غير مسجل يرمي استثناء
+            if (sectionIndex != null) {
+                adapter.unregisterAdapterDataObserver(sectionObserver);
+            }
+            adapter = null;
+        }
+        if (indexScrollView != null) {
+            indexScrollView.setOnIndexBarEventListener(null);
+            indexScrollView = null;
+        }
+        sectionIndex = null;
+
+        // إعادة جميع الصفوف إلى المخزن المشترك لاستخدامها عند العودة
+        if (recyclerView != null) {
+            recyclerView.setAdapter(null);
+            recyclerView = null;
+        }
+        
+        // إلغاء الصفحات المحملة والطلبات الجارية
+        if (pagedList != null) {
+            pagedList.invalidate();
+            pagedList = null;
+        }
+
+        if (textPrecomputer != null) {
+            Log.d(TAG, "إحصاءات تجهيز النصوص: " + textPrecomputer.getStats());
+            textPrecomputer.clear();
+            textPrecomputer = null;
+        }
     }
 
     /**
@@ -86,25 +203,43 @@ public class ScrollFragment extends Fragment {
         return headerText;
     }
 
+    /**
+     * إنشاء حقل البحث
+     */
+    private EditText createSearchField() {
+        EditText field = new EditText(requireContext());
+        field.setHint("🔍 ابحث في العناصر");
+        field.setSingleLine(true);
+        field.setInputType(InputType.TYPE_CLASS_TEXT);
+        field.setImeOptions(EditorInfo.IME_ACTION_SEARCH);
+        field.setLayoutParams(new LinearLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.WRAP_CONTENT));
+        return field;
+    }
+
     /**
      * إنشاء RecyclerView محسن مع ميزات OneUI
      */
     private RecyclerView createEnhancedRecyclerView() {
         RecyclerView recyclerView = new RecyclerView(requireContext());
         
-        LinearLayout.LayoutParams recyclerParams = new LinearLayout.LayoutParams(
-            ViewGroup.LayoutParams.MATCH_PARENT, 
-            0, // height = 0 لاستخدام weight
-            1.0f); // weight = 1 ليأخذ المساحة المتبقية
-        recyclerView.setLayoutParams(recyclerParams);
+        recyclerView.setLayoutParams(new FrameLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.MATCH_PARENT));
         
-        // تحسينات الأداء
+        // تحسينات الأداء - فعالة لأن الحاوية ذات ارتفاع محدد وليست داخل ScrollView
         recyclerView.setHasFixedSize(true);
         recyclerView.setNestedScrollingEnabled(true);
-        recyclerView.setItemViewCacheSize(20);
+        
+        // استخدام مخزن الصفوف المشترك على مستوى النشاط
+        RowViewPool rowViewPool = getRowViewPool();
+        if (rowViewPool != null) {
+            recyclerView.setRecycledViewPool(rowViewPool);
+        }
         
         // إعداد Layout Manager
-        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        LinearLayoutManager layoutManager = new ProfiledLayoutManager(requireContext());
         recyclerView.setLayoutManager(layoutManager);
         
         // إضافة خطوط الفصل
@@ -138,116 +273,297 @@ public class ScrollFragment extends Fragment {
      * إعداد RecyclerView مع المحول والبيانات
      */
     private void setupRecyclerView() {
-        // إنشاء قائمة 200 عنصر
-        java.util.List<String> items = new java.util.ArrayList<>();
-        for (int i = 1; i <= 200; i++) {
-            items.add("العنصر رقم " + i + " - محتوى تجريبي");
-        }
+        PerformanceMode.Profile profile = PerformanceMode.getInstance(requireContext()).getProfile();
+        WorkScheduler scheduler = WorkScheduler.getInstance(requireContext());
+
+        // مصدر بيانات يتم تحميله على شكل صفحات في الخلفية
+        // الصفحة الظاهرة في المسار الحرج والتحميل المسبق خلفها في مسار القراءة
+        baseSource = openItemSource(scheduler);
+        pagedList = new PagedList(
+            baseSource,
+            PagedList.DEFAULT_PAGE_SIZE,
+            profile.maxPages,
+            profile.prefetchPages,
+            scheduler.executor(WorkScheduler.LANE_UI_CRITICAL));
+        pagedList.setPrefetchExecutor(scheduler.executor(WorkScheduler.LANE_IO));
         
         // إنشاء المحول
-        ScrollAdapter adapter = new ScrollAdapter(items);
+        adapter = new ScrollAdapter(pagedList, getString(R.string.loading_message));
+
+        // بناء تخطيطات نصوص الصفحات في خيط التحميل بنفس خصائص نص الصف وعرضه
+        // العرض تقديري من عرض الشاشة حتى أول تخطيط للقائمة، فتُجهز الصفحة الأولى أيضاً
+        textPrecomputer = new TextPrecomputer(
+            RowView.createLabelPaint(requireContext()), profile.textCacheSize);
+        textPrecomputer.setLabelWidth(RowView.labelWidthFor(requireContext(),
+            getResources().getDisplayMetrics().widthPixels
+                - recyclerView.getPaddingLeft() - recyclerView.getPaddingRight()));
+        adapter.setTextPrecomputer(textPrecomputer);
         recyclerView.setAdapter(adapter);
+        applyProfile(profile, recyclerView, pagedList, textPrecomputer);
+        AnimationPolicy.getInstance(requireContext()).applyTo(recyclerView);
+        setupIndexScroll();
+        
+        // تجهيز صفوف إضافية في أوقات الخمول
+        RowViewPool rowViewPool = getRowViewPool();
+        if (rowViewPool != null) {
+            rowViewPool.prewarm(recyclerView, ScrollAdapter.VIEW_TYPE_ROW, PREWARM_ROW_COUNT);
+        }
+        Log.d(TAG, "عدد الصفوف المنشأة حتى الآن: " + ScrollAdapter.getCreatedHolderCount());
     }
 
     /**
-     * إضافة تأثير الانتقال عند فتح الفراجمنت
+     * العناصر من المخزن على القرص إذا اكتمل نسخها، فأول شاشة عند الفتح البارد قراءة واحدة من الفهرس
+     * قبل ذلك تُولّد العناصر ويُكمل نسخها في الخلفية للفتح التالي
+     * المخزن يحفظ القائمة الافتراضية فقط، والأعداد الأخرى تُولّد دائماً
      */
-    private void addTransitionEffect() {
-        if (getView() != null) {
-            getView().setAlpha(0f);
-            getView().animate()
-                    .alpha(1f)
-                    .setDuration(300)
-                    .start();
+    private ListDataSource openItemSource(WorkScheduler scheduler) {
+        int itemCount = getItemCount();
+        ListDataSource generated = new SyntheticListDataSource(itemCount);
+        if (itemCount != ITEM_COUNT) {
+            return generated;
+        }
+        ItemStore store = ItemStore.getInstance(requireContext());
+        try {
+            StoredListDataSource stored = store.open();
+            if (stored != null && stored.size() >= ITEM_COUNT) {
+                Log.d(TAG, "العناصر من المخزن على القرص - العدد: " + stored.size());
+                return stored.subList(0, ITEM_COUNT);
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "فشل في فتح مخزن العناصر", e);
+        }
+        store.seed(generated, scheduler);
+        return generated;
+    }
+
+    @Override
+    public void onProfileChanged(PerformanceMode.Profile profile) {
+        if (recyclerView != null) {
+            applyProfile(profile, recyclerView, pagedList, textPrecomputer);
+            Log.d(TAG, "تم تطبيق وضع الأداء على القائمة: " + profile);
         }
     }
 
     /**
-     * تحويل dp إلى pixels
+     * تطبيق قيم وضع الأداء على القائمة الحالية دون إعادة إنشائها
+     * التصغير يحرر الصفوف والصفحات والنصوص الزائدة مباشرة
      */
-    private int dpToPx(int dp) {
-        float density = getResources().getDisplayMetrics().density;
-        return Math.round(dp * density);
+    static void applyProfile(PerformanceMode.Profile profile, RecyclerView recyclerView,
+                             PagedList pagedList, TextPrecomputer textPrecomputer) {
+        recyclerView.setItemViewCacheSize(profile.itemViewCacheSize);
+        recyclerView.getRecycledViewPool()
+            .setMaxRecycledViews(ScrollAdapter.VIEW_TYPE_ROW, profile.recycledRowCapacity);
+        if (recyclerView.getLayoutManager() instanceof ProfiledLayoutManager) {
+            ((ProfiledLayoutManager) recyclerView.getLayoutManager())
+                .setExtraLayoutScreens(profile.extraLayoutScreens);
+        }
+        pagedList.setWindow(profile.maxPages, profile.prefetchPages);
+        textPrecomputer.resize(profile.textCacheSize);
     }
 
     /**
-     * محول RecyclerView لعرض العناصر
+     * مدير تخطيط يجهز صفوفاً إضافية خارج الشاشة حسب وضع الأداء
      */
-    private static class ScrollAdapter extends RecyclerView.Adapter<ScrollAdapter.ViewHolder> {
-        
-        private final java.util.List<String> items;
-        private static final int ONEUI_BLUE = Color.parseColor("#1976D2");
+    static final class ProfiledLayoutManager extends LinearLayoutManager {
+        private float extraLayoutScreens;
 
-        public ScrollAdapter(java.util.List<String> items) {
-            this.items = items;
+        ProfiledLayoutManager(Context context) {
+            super(context);
         }
 
-        @NonNull
-        @Override
-        public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-            LinearLayout itemLayout = new LinearLayout(parent.getContext());
-            itemLayout.setOrientation(LinearLayout.HORIZONTAL);
-            itemLayout.setPadding(32, 24, 32, 24);
-            itemLayout.setLayoutParams(new ViewGroup.LayoutParams(
-                ViewGroup.LayoutParams.MATCH_PARENT,
-                ViewGroup.LayoutParams.WRAP_CONTENT));
-
-            // أيقونة العنصر
-            TextView iconText = new TextView(parent.getContext());
-            iconText.setText("📄");
-            iconText.setTextSize(16);
-            iconText.setPadding(0, 0, 24, 0);
-            iconText.setLayoutParams(new LinearLayout.LayoutParams(
-                ViewGroup.LayoutParams.WRAP_CONTENT,
-                ViewGroup.LayoutParams.WRAP_CONTENT));
-
-            // نص العنصر
-            TextView itemText = new TextView(parent.getContext());
-            itemText.setTextSize(16);
-            itemText.setTextColor(Color.DKGRAY);
-            itemText.setLayoutParams(new LinearLayout.LayoutParams(
-                0,
-                ViewGroup.LayoutParams.WRAP_CONTENT,
-                1.0f));
-
-            itemLayout.addView(iconText);
-            itemLayout.addView(itemText);
-
-            return new ViewHolder(itemLayout, itemText);
+        void setExtraLayoutScreens(float screens) {
+            if (screens != extraLayoutScreens) {
+                extraLayoutScreens = screens;
+                requestLayout();
+            }
         }
 
         @Override
-        public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-            String item = items.get(position);
-            holder.textView.setText(item);
-            
-            // تأثير لوني متدرج
-            if (position % 5 == 0) {
-                holder.itemView.setBackgroundColor(Color.parseColor("#E3F2FD"));
-            } else {
-                holder.itemView.setBackgroundColor(Color.TRANSPARENT);
+        protected void calculateExtraLayoutSpace(@NonNull RecyclerView.State state,
+                                                 @NonNull int[] extraLayoutSpace) {
+            if (extraLayoutScreens <= 0) {
+                super.calculateExtraLayoutSpace(state, extraLayoutSpace);
+                return;
             }
-            
-            // إضافة تأثير النقر
-            holder.itemView.setOnClickListener(v -> {
-                Toast.makeText(v.getContext(), 
-                    "تم النقر على: " + item, 
-                    Toast.LENGTH_SHORT).show();
-            });
+            int extra = (int) (getHeight() * extraLayoutScreens);
+            extraLayoutSpace[0] = extra;
+            extraLayoutSpace[1] = extra;
         }
+    }
 
-        @Override
-        public int getItemCount() {
-            return items.size();
+    /**
+     * البحث في القائمة - الفهرس يُبنى في الخلفية وكل حرف يلغي الاستعلام السابق
+     */
+    private void setupSearch() {
+        listSearch = new ListSearch(baseSource, WorkScheduler.getInstance(requireContext()), this);
+        listSearch.startIndexing();
+        searchField.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                if (listSearch != null) {
+                    listSearch.search(s);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void onSearchResult(String query, ListDataSource result) {
+        if (adapter == null) {
+            return;
+        }
+        // النتيجة تمر بنفس مسار الفروقات: إشعارات حذف وإضافة للفترات المتغيرة فقط
+        adapter.submitSource(result, this::onSourceCommitted);
+    }
+
+    /**
+     * بعد تطبيق نتيجة البحث تُحسب بدايات الأقسام للعرض الجديد
+     */
+    private void onSourceCommitted() {
+        if (sectionIndex == null || indexScrollView == null) {
+            return;
         }
+        sectionIndex = buildSectionIndex();
+        indexScrollView.setVisibility(pagedList.size() >= MIN_INDEXED_ITEMS ? View.VISIBLE : View.GONE);
+    }
+
+    /**
+     * شريط الفهرسة السريعة - الأقسام محسوبة مسبقاً والقفز إلى أي قسم لا يمر بالعناصر بينهما
+     */
+    private void setupIndexScroll() {
+        if (pagedList.size() < MIN_INDEXED_ITEMS) {
+            return;
+        }
+        sectionIndex = buildSectionIndex();
+        adapter.registerAdapterDataObserver(sectionObserver);
+
+        boolean rtl = getResources().getConfiguration().getLayoutDirection() == View.LAYOUT_DIRECTION_RTL;
+        indexScrollView.setIndexBarGravity(rtl
+            ? SeslIndexScrollView.GRAVITY_INDEX_BAR_LEFT
+            : SeslIndexScrollView.GRAVITY_INDEX_BAR_RIGHT);
+        indexScrollView.setSimpleIndexScroll(sectionIndex.getSections(), dpToPx(INDEX_BAR_WIDTH_DP));
+        indexScrollView.setOnIndexBarEventListener(new SeslIndexScrollView.OnIndexBarEventListener() {
+            @Override
+            public void onIndexChanged(int section) {
+                jumpToSection(section);
+            }
 
-        static class ViewHolder extends RecyclerView.ViewHolder {
-            TextView textView;
+            @Override
+            public void onPressed(float v) {
+                // أثناء السحب تُحمّل صفحة الوجهة فقط
+                recyclerView.stopScroll();
+                pagedList.setPrefetchSuspended(true);
+            }
 
-            ViewHolder(View itemView, TextView textView) {
-                super(itemView);
-                this.textView = textView;
+            @Override
+            public void onReleased(float v) {
+                pagedList.setPrefetchSuspended(false);
             }
+        });
+        indexScrollView.setVisibility(View.VISIBLE);
+        Log.d(TAG, "شريط الفهرسة جاهز - عدد الأقسام: " + sectionIndex.getSectionCount());
+    }
+
+    /**
+     * عناصر المصدر مرتبة بأرقامها لذلك تُحسب الأقسام حسابياً دون قراءة العناصر
+     * نتائج البحث تحتفظ بعناوين أقسام المصدر الكامل وتتغير بداياتها فقط
+     */
+    private SectionIndex buildSectionIndex() {
+        ListDataSource source = pagedList.getSource();
+        if (source instanceof FilteredListDataSource) {
+            FilteredListDataSource filtered = (FilteredListDataSource) source;
+            return SectionIndex.forSubset(
+                SectionIndex.forNumberedRange(filtered.getBase().size()), filtered.getRows());
+        }
+        return SectionIndex.forNumberedRange(pagedList.size());
+    }
+
+    /**
+     * الانتقال المباشر لأول عنصر في القسم - يتم تخطيط صفوف الوجهة فقط
+     */
+    private void jumpToSection(int section) {
+        if (sectionIndex == null || recyclerView == null || sectionIndex.getItemCount() == 0) {
+            return;
+        }
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        if (layoutManager != null) {
+            layoutManager.scrollToPositionWithOffset(sectionIndex.positionForSection(section), 0);
         }
     }
+
+    /**
+     * تحديث إزاحات الأقسام مع تغيرات المحول بدلاً من إعادة بنائها
+     */
+    private final RecyclerView.AdapterDataObserver sectionObserver = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            if (sectionIndex != null && pagedList != null) {
+                sectionIndex = buildSectionIndex();
+                indexScrollView.setSimpleIndexScroll(sectionIndex.getSections(), dpToPx(INDEX_BAR_WIDTH_DP));
             }
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            if (sectionIndex != null) {
+                sectionIndex.onItemsInserted(positionStart, itemCount);
+            }
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            if (sectionIndex != null) {
+                sectionIndex.onItemsRemoved(positionStart, itemCount);
+            }
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            onItemRangeRemoved(fromPosition, itemCount);
+            onItemRangeInserted(toPosition, itemCount);
+        }
+    };
+
+    /**
+     * مخزن الصفوف المشترك من النشاط إن وجد
+     */
+    @Nullable
+    private RowViewPool getRowViewPool() {
+        if (getActivity() instanceof MainActivity) {
+            return ((MainActivity) getActivity()).getRowViewPool();
+        }
+        return null;
+    }
+
+    /**
+     * إضافة تأثير الانتقال عند فتح الفراجمنت
+     */
+    private void addTransitionEffect() {
+        if (getView() != null) {
+            AnimationPolicy.getInstance(requireContext()).fadeIn(getView(), AnimationPolicy.FADE_IN_MS);
+        }
+    }
+
+    @Override
+    public void onAnimationScaleChanged(AnimationPolicy policy) {
+        if (recyclerView != null) {
+            policy.applyTo(recyclerView);
+        }
+    }
+
+    /**
+     * تحويل dp إلى pixels
+     */
+    private int dpToPx(int dp) {
+        float density = getResources().getDisplayMetrics().density;
+        return Math.round(dp * density);
+    }
+}
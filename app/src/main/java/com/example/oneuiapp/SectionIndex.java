@@ -0,0 +1,166 @@
+package com.example.oneuiapp;
+
+import java.util.Arrays;
+
+/**
+ * فهرس أقسام القائمة لشريط الفهرسة
+ * يحتفظ ببداية كل قسم كمجموع تراكمي، فالانتقال إلى قسم عملية ثابتة الزمن مهما كان عدد العناصر
+ * الإضافة والحذف يحدثان الإزاحات مباشرة دون إعادة بناء الفهرس
+ * يُستخدم من الخيط الرئيسي فقط
+ */
+public final class SectionIndex {
+
+    /**
+     * الحد الأعلى لعدد الأقسام حتى تبقى حروف الشريط مقروءة
+     */
+    public static final int MAX_SECTIONS = 20;
+
+    private final String[] sections;
+
+    // offsets[i] أول موضع في القسم i و offsets[sections.length] هو عدد العناصر الكلي
+    private final int[] offsets;
+
+    private SectionIndex(String[] sections, int[] offsets) {
+        this.sections = sections;
+        this.offsets = offsets;
+    }
+
+    /**
+     * أقسام رقمية متساوية لقائمة مرتبة بأرقام العناصر مثل SyntheticListDataSource
+     * تُحسب الإزاحات حسابياً دون قراءة أي عنصر
+     */
+    public static SectionIndex forNumberedRange(int size) {
+        if (size <= 0) {
+            return new SectionIndex(new String[0], new int[] {0});
+        }
+        int sectionSize = niceStep((size + MAX_SECTIONS - 1) / MAX_SECTIONS);
+        int count = (size + sectionSize - 1) / sectionSize;
+
+        String[] sections = new String[count];
+        int[] offsets = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            offsets[i] = i * sectionSize;
+            sections[i] = i == 0 ? "1" : compactNumber((long) i * sectionSize);
+        }
+        offsets[count] = size;
+        return new SectionIndex(sections, offsets);
+    }
+
+    /**
+     * أقسام عرض مصفّى بنفس عناوين أقسام المصدر الأصلي
+     * بداية كل قسم هي عدد الصفوف المطابقة قبل بدايته في الأصل - بحث ثنائي في فترات الصفوف لكل قسم
+     * القسم الذي لا يحتوي نتائج يبقى فارغاً فيقفز الشريط إلى أول نتيجة بعده
+     */
+    public static SectionIndex forSubset(SectionIndex base, RowSet rows) {
+        int count = base.sections.length;
+        int[] offsets = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            offsets[i] = rows.rank(base.offsets[i]);
+        }
+        offsets[count] = rows.size();
+        return new SectionIndex(base.sections, offsets);
+    }
+
+    /**
+     * أقرب خطوة من الشكل 1 أو 2 أو 5 مضروبة في قوة للعشرة حتى تكون عناوين الأقسام أرقاماً مستديرة
+     */
+    private static int niceStep(int minimum) {
+        int magnitude = 1;
+        while (true) {
+            for (int factor : new int[] {1, 2, 5}) {
+                if ((long) factor * magnitude >= minimum) {
+                    return factor * magnitude;
+                }
+            }
+            magnitude *= 10;
+        }
+    }
+
+    private static String compactNumber(long value) {
+        if (value >= 1_000_000 && value % 100_000 == 0) {
+            return trimDecimal(value / 100_000) + "M";
+        }
+        if (value >= 1_000 && value % 100 == 0) {
+            return trimDecimal(value / 100) + "K";
+        }
+        return Long.toString(value);
+    }
+
+    /**
+     * tenths عدد بأعشار: 15 تصبح 1.5 و 20 تصبح 2
+     */
+    private static String trimDecimal(long tenths) {
+        return tenths % 10 == 0 ? Long.toString(tenths / 10) : (tenths / 10) + "." + (tenths % 10);
+    }
+
+    public String[] getSections() {
+        return sections;
+    }
+
+    public int getSectionCount() {
+        return sections.length;
+    }
+
+    public int getItemCount() {
+        return offsets[sections.length];
+    }
+
+    /**
+     * أول موضع في القسم - عملية ثابتة الزمن
+     */
+    public int positionForSection(int section) {
+        if (sections.length == 0) {
+            return 0;
+        }
+        section = Math.max(0, Math.min(section, sections.length - 1));
+        return Math.min(offsets[section], Math.max(0, getItemCount() - 1));
+    }
+
+    /**
+     * القسم الذي يحتوي الموضع - بحث ثنائي في الإزاحات
+     */
+    public int sectionForPosition(int position) {
+        if (sections.length == 0) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(offsets, 0, sections.length, position);
+        if (index < 0) {
+            index = -index - 2;
+        } else {
+            // الأقسام الفارغة تشترك في نفس الإزاحة - الموضع ينتمي لآخرها
+            while (index + 1 < sections.length && offsets[index + 1] == position) {
+                index++;
+            }
+        }
+        return Math.max(0, Math.min(index, sections.length - 1));
+    }
+
+    /**
+     * عناصر أضيفت عند موضع - تنضم للقسم الذي يحتوي الموضع وتُزاح الأقسام التالية
+     */
+    public void onItemsInserted(int position, int count) {
+        if (sections.length == 0 || count <= 0) {
+            return;
+        }
+        int section = position >= getItemCount() ? sections.length - 1 : sectionForPosition(position);
+        for (int i = section + 1; i <= sections.length; i++) {
+            offsets[i] += count;
+        }
+    }
+
+    /**
+     * عناصر حُذفت من موضع - قد يمتد الحذف على أكثر من قسم
+     */
+    public void onItemsRemoved(int position, int count) {
+        if (sections.length == 0 || count <= 0) {
+            return;
+        }
+        int end = position + count;
+        for (int i = 1; i <= sections.length; i++) {
+            int offset = offsets[i];
+            if (offset > position) {
+                offsets[i] = offset - (Math.min(offset, end) - position);
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.CompoundButton;
+import android.widget.LinearLayout;
+import android.widget.SeekBar;
+import android.widget.Switch;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * محول شاشة الإعدادات المبني من SettingsSchema
+ * يتم إنشاء الصفوف الظاهرة فقط وإعادة استخدامها، والقيم تُقرأ وتُحفظ عبر SettingsStore
+ */
+public class SettingsAdapter extends RecyclerView.Adapter<SettingsAdapter.ViewHolder> {
+
+    private static final int ONEUI_BLUE = Color.parseColor("#1976D2");
+
+    private final SettingsSchema schema;
+    private final SettingsStore settingsStore;
+
+    // كثافة الشاشة تُقرأ مرة واحدة بدلاً من كل تحويل
+    private final float density;
+
+    public SettingsAdapter(Context context, SettingsSchema schema, SettingsStore settingsStore) {
+        this.schema = schema;
+        this.settingsStore = settingsStore;
+        this.density = context.getResources().getDisplayMetrics().density;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public int getItemCount() {
+        return schema.size();
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return schema.get(position).type;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        // المخطط ثابت لذلك يكفي الموضع كمعرف
+        return position;
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        Context context = parent.getContext();
+        LinearLayout layout = new LinearLayout(context);
+        layout.setOrientation(LinearLayout.VERTICAL);
+        layout.setLayoutParams(new RecyclerView.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.WRAP_CONTENT));
+
+        TextView titleView = null;
+        TextView summaryView = null;
+        Switch switchView = null;
+        SeekBar seekBar = null;
+
+        switch (viewType) {
+            case SettingsSchema.TYPE_TITLE:
+                titleView = createText(context, 24, ONEUI_BLUE);
+                layout.setPadding(0, 0, 0, dpToPx(24));
+                layout.addView(titleView);
+                break;
+            case SettingsSchema.TYPE_CATEGORY:
+                titleView = createText(context, 18, ONEUI_BLUE);
+                layout.setPadding(0, dpToPx(24), 0, dpToPx(16));
+                layout.addView(titleView);
+                break;
+            case SettingsSchema.TYPE_SWITCH:
+                switchView = new Switch(context);
+                switchView.setTextSize(16);
+                switchView.setPadding(0, dpToPx(12), 0, dpToPx(12));
+                layout.addView(switchView);
+                break;
+            case SettingsSchema.TYPE_SLIDER:
+                titleView = createText(context, 16, Color.BLACK);
+                titleView.setPadding(0, 0, 0, dpToPx(8));
+                seekBar = new SeekBar(context);
+                seekBar.setPadding(0, 0, 0, dpToPx(16));
+                layout.addView(titleView);
+                layout.addView(seekBar);
+                break;
+            default:
+                // عناصر القوائم والمعلومات: عنوان ووصف
+                titleView = createText(context, 16, Color.BLACK);
+                summaryView = createText(context, 14, Color.GRAY);
+                summaryView.setLineSpacing(dpToPx(4), 1.3f);
+                layout.setPadding(0, dpToPx(12), 0, dpToPx(12));
+                layout.addView(titleView);
+                layout.addView(summaryView);
+                break;
+        }
+
+        return new ViewHolder(layout, titleView, summaryView, switchView, seekBar);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        holder.bind(schema.get(position));
+    }
+
+    private TextView createText(Context context, int sizeSp, int color) {
+        TextView textView = new TextView(context);
+        textView.setTextSize(sizeSp);
+        textView.setTextColor(color);
+        textView.setLayoutParams(new LinearLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.WRAP_CONTENT));
+        return textView;
+    }
+
+    private int dpToPx(int dp) {
+        return Math.round(dp * density);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SettingsStore.Key<Boolean> booleanKey(SettingsSchema.Item item) {
+        return (SettingsStore.Key<Boolean>) item.key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SettingsStore.Key<Integer> integerKey(SettingsSchema.Item item) {
+        return (SettingsStore.Key<Integer>) item.key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SettingsStore.Key<String> stringKey(SettingsSchema.Item item) {
+        return (SettingsStore.Key<String>) item.key;
+    }
+
+    /**
+     * حامل صف واحد - المستمعات تُسجل مرة واحدة وتعمل على العنصر المربوط حالياً
+     */
+    class ViewHolder extends RecyclerView.ViewHolder
+            implements SeekBar.OnSeekBarChangeListener, CompoundButton.OnCheckedChangeListener,
+            View.OnClickListener {
+        final TextView titleView;
+        final TextView summaryView;
+        final Switch switchView;
+        final SeekBar seekBar;
+        private SettingsSchema.Item item;
+        private boolean binding;
+
+        ViewHolder(View itemView, TextView titleView, TextView summaryView,
+                   Switch switchView, SeekBar seekBar) {
+            super(itemView);
+            this.titleView = titleView;
+            this.summaryView = summaryView;
+            this.switchView = switchView;
+            this.seekBar = seekBar;
+            if (switchView != null) {
+                switchView.setOnCheckedChangeListener(this);
+            }
+            if (seekBar != null) {
+                seekBar.setOnSeekBarChangeListener(this);
+            }
+        }
+
+        void bind(SettingsSchema.Item item) {
+            this.item = item;
+            switch (item.type) {
+                case SettingsSchema.TYPE_TITLE:
+                case SettingsSchema.TYPE_CATEGORY:
+                    titleView.setText(item.title);
+                    break;
+                case SettingsSchema.TYPE_SWITCH:
+                    // تغيير الحالة أثناء الربط لا يُعتبر تفاعلاً من المستخدم
+                    binding = true;
+                    switchView.setText(item.title);
+                    switchView.setChecked(settingsStore.get(booleanKey(item)));
+                    binding = false;
+                    break;
+                case SettingsSchema.TYPE_SLIDER:
+                    int progress = settingsStore.get(integerKey(item));
+                    seekBar.setMax(item.max);
+                    seekBar.setProgress(progress);
+                    bindSliderLabel(progress);
+                    break;
+                case SettingsSchema.TYPE_LIST:
+                    titleView.setText(item.title);
+                    summaryView.setText(item.entryFor(settingsStore.get(stringKey(item))));
+                    itemView.setOnClickListener(this);
+                    break;
+                default:
+                    bindOptionalText(titleView, item.title);
+                    bindOptionalText(summaryView, item.summary);
+                    itemView.setOnClickListener(null);
+                    itemView.setClickable(false);
+                    break;
+            }
+        }
+
+        private void bindOptionalText(TextView view, String text) {
+            view.setText(text);
+            view.setVisibility(text != null ? View.VISIBLE : View.GONE);
+        }
+
+        private void bindSliderLabel(int progress) {
+            titleView.setText(item.title + ": " + progress + "%");
+        }
+
+        @Override
+        public void onCheckedChanged(CompoundButton buttonView, boolean isChecked) {
+            if (binding || item == null) {
+                return;
+            }
+            settingsStore.set(booleanKey(item), isChecked);
+            BreadcrumbLog.record(BreadcrumbLog.CATEGORY_SETTINGS, item.key.name, isChecked ? 1 : 0);
+            String status = isChecked ? "تم التفعيل" : "تم الإيقاف";
+            FeedbackDispatcher.getInstance(itemView.getContext())
+                .show(item.title + ": " + status);
+        }
+
+        @Override
+        public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+            if (fromUser && item != null) {
+                bindSliderLabel(progress);
+                // تحديث الذاكرة فقط - الحفظ على القرص مدمج لكامل السحب
+                settingsStore.set(integerKey(item), progress);
+            }
+        }
+
+        @Override
+        public void onStartTrackingTouch(SeekBar seekBar) {
+            // بداية التفاعل
+        }
+
+        @Override
+        public void onStopTrackingTouch(SeekBar seekBar) {
+            BreadcrumbLog.record(BreadcrumbLog.CATEGORY_SETTINGS, item.key.name, seekBar.getProgress());
+            FeedbackDispatcher.getInstance(itemView.getContext())
+                .show("تم تحديث " + item.title + " إلى " + seekBar.getProgress() + "%");
+        }
+
+        @Override
+        public void onClick(View view) {
+            final SettingsSchema.Item clicked = item;
+            final SettingsStore.Key<String> key = stringKey(clicked);
+            int checked = -1;
+            String current = settingsStore.get(key);
+            for (int i = 0; i < clicked.entryValues.length; i++) {
+                if (clicked.entryValues[i].toString().equals(current)) {
+                    checked = i;
+                }
+            }
+
+            new androidx.appcompat.app.AlertDialog.Builder(view.getContext())
+                .setTitle(clicked.title)
+                .setSingleChoiceItems(clicked.entries, checked, (dialog, which) -> {
+                    settingsStore.set(key, clicked.entryValues[which].toString());
+                    BreadcrumbLog.record(BreadcrumbLog.CATEGORY_SETTINGS, key.name, which);
+                    int position = getAdapterPosition();
+                    if (position != RecyclerView.NO_POSITION) {
+                        notifyItemChanged(position);
+                    }
+                    dialog.dismiss();
+                })
+                .setNegativeButton("إلغاء", null)
+                .show();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.XmlResourceParser;
+import android.util.Log;
+import android.util.SparseArray;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+/**
+ * وصف شاشة الإعدادات كما هو معرّف في ملف preferences.xml
+ * يُقرأ الملف مرة واحدة لكل عملية ويُحفظ كقائمة عناصر مسطحة جاهزة للعرض في RecyclerView
+ * يُقرأ عند أول فتح لشاشة الإعدادات فقط، والقيم الافتراضية فيه للتحقق من مطابقتها لـ SettingsStore.Key
+ *
+ * لا يُستخدم PreferenceFragmentCompat من مكتبة SESL رغم وجودها: يعيد قراءة الملف وبناء
+ * شجرة Preference لكل نسخة من الشاشة، ويحفظ القيم في SharedPreferences بينما مصدرها هنا
+ * SettingsStore بلقطاته الثابتة وحفظه المدمج. الصفوف هنا تُعرض بنفس RecyclerView المعاد تدويره
+ */
+public final class SettingsSchema {
+
+    private static final String TAG = "SettingsSchema";
+
+    public static final int TYPE_TITLE = 0;
+    public static final int TYPE_CATEGORY = 1;
+    public static final int TYPE_SWITCH = 2;
+    public static final int TYPE_SLIDER = 3;
+    public static final int TYPE_LIST = 4;
+    public static final int TYPE_INFO = 5;
+
+    private static final int DEFAULT_MAX = 100;
+
+    private static final SparseArray<SettingsSchema> CACHE = new SparseArray<>();
+
+    /**
+     * عنصر واحد في الشاشة
+     */
+    public static final class Item {
+        public final int type;
+        public final String title;
+        public final String summary;
+        public final SettingsStore.Key<?> key;
+        public final int max;
+        public final CharSequence[] entries;
+        public final CharSequence[] entryValues;
+
+        Item(int type, String title, String summary, SettingsStore.Key<?> key,
+             int max, CharSequence[] entries, CharSequence[] entryValues) {
+            this.type = type;
+            this.title = title;
+            this.summary = summary;
+            this.key = key;
+            this.max = max;
+            this.entries = entries;
+            this.entryValues = entryValues;
+        }
+
+        /**
+         * النص المعروض للقيمة المختارة في عناصر القوائم
+         */
+        public CharSequence entryFor(Object value) {
+            for (int i = 0; i < entryValues.length && i < entries.length; i++) {
+                if (entryValues[i].toString().equals(value)) {
+                    return entries[i];
+                }
+            }
+            return String.valueOf(value);
+        }
+    }
+
+    private final Item[] items;
+    private final Map<String, Object> defaults;
+
+    private SettingsSchema(Item[] items, Map<String, Object> defaults) {
+        this.items = items;
+        this.defaults = Collections.unmodifiableMap(defaults);
+    }
+
+    /**
+     * المخطط المحفوظ للملف أو قراءته عند أول طلب
+     */
+    public static SettingsSchema get(Context context, int xmlRes) {
+        synchronized (CACHE) {
+            SettingsSchema schema = CACHE.get(xmlRes);
+            if (schema == null) {
+                StartupTrace.beginSection("SettingsSchema.parse");
+                try {
+                    schema = parse(context.getResources(), xmlRes);
+                } finally {
+                    StartupTrace.endSection();
+                }
+                CACHE.put(xmlRes, schema);
+            }
+            return schema;
+        }
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    public Item get(int position) {
+        return items[position];
+    }
+
+    /**
+     * القيم الافتراضية حسب اسم المفتاح كما في app:defaultValue
+     */
+    public Map<String, Object> getDefaults() {
+        return defaults;
+    }
+
+    static SettingsSchema parse(Resources res, int xmlRes) {
+        List<Item> items = new ArrayList<>();
+        Map<String, Object> defaults = new HashMap<>();
+        try (XmlResourceParser parser = res.getXml(xmlRes)) {
+            int event;
+            while ((event = parser.next()) != XmlPullParser.END_DOCUMENT) {
+                if (event != XmlPullParser.START_TAG) {
+                    continue;
+                }
+                Item item = parseItem(res, parser);
+                if (item != null) {
+                    items.add(item);
+                    readDefault(res, parser, item.key, defaults);
+                }
+            }
+        } catch (XmlPullParserException | IOException e) {
+            Log.e(TAG, "فشل في قراءة ملف الإعدادات", e);
+        }
+        Log.d(TAG, "تمت قراءة مخطط الإعدادات - عدد العناصر: " + items.size());
+        return new SettingsSchema(items.toArray(new Item[0]), defaults);
+    }
+
+    /**
+     * قراءة app:defaultValue بنوع المفتاح - القيم المنطقية والأرقام مرمزة بنوعها في الملف المترجم
+     */
+    private static void readDefault(Resources res, XmlResourceParser parser,
+                                    SettingsStore.Key<?> key, Map<String, Object> defaults) {
+        int index = key != null ? indexOf(parser, "defaultValue") : -1;
+        if (index < 0) {
+            return;
+        }
+        if (key.type == Boolean.class) {
+            defaults.put(key.name, parser.getAttributeBooleanValue(index, false));
+        } else if (key.type == Integer.class) {
+            defaults.put(key.name, parser.getAttributeIntValue(index, 0));
+        } else if (key.type == String.class) {
+            defaults.put(key.name, readString(res, parser, "defaultValue"));
+        }
+    }
+
+    private static Item parseItem(Resources res, XmlResourceParser parser) {
+        String tag = parser.getName();
+        tag = tag.substring(tag.lastIndexOf('.') + 1);
+
+        String title = readString(res, parser, "title");
+        String summary = readString(res, parser, "summary");
+        String keyName = readString(res, parser, "key");
+        SettingsStore.Key<?> key = keyName != null ? SettingsStore.findKey(keyName) : null;
+
+        switch (tag) {
+            case "PreferenceScreen":
+                return title != null ? new Item(TYPE_TITLE, title, null, null, 0, null, null) : null;
+            case "PreferenceCategory":
+                return new Item(TYPE_CATEGORY, title, null, null, 0, null, null);
+            case "SwitchPreference":
+            case "SwitchPreferenceCompat":
+                if (!(key != null && key.type == Boolean.class)) {
+                    return unknownKey(tag, keyName);
+                }
+                return new Item(TYPE_SWITCH, title, summary, key, 0, null, null);
+            case "SeekBarPreference":
+                if (!(key != null && key.type == Integer.class)) {
+                    return unknownKey(tag, keyName);
+                }
+                int max = readInt(parser, "max", DEFAULT_MAX);
+                return new Item(TYPE_SLIDER, title, summary, key, max, null, null);
+            case "ListPreference":
+                if (!(key != null && key.type == String.class)) {
+                    return unknownKey(tag, keyName);
+                }
+                return new Item(TYPE_LIST, title, summary, key, 0,
+                    readTextArray(res, parser, "entries"),
+                    readTextArray(res, parser, "entryValues"));
+            case "Preference":
+                return new Item(TYPE_INFO, title, summary, null, 0, null, null);
+            default:
+                Log.w(TAG, "تحذير: عنصر غير مدعوم في ملف الإعدادات: " + tag);
+                return null;
+        }
+    }
+
+    private static Item unknownKey(String tag, String keyName) {
+        Log.w(TAG, "تحذير: مفتاح غير معروف أو بنوع مختلف في SettingsStore: " + tag + " " + keyName);
+        return null;
+    }
+
+    /**
+     * البحث عن الخاصية بالاسم فقط لأن مساحة الأسماء قد تكون android أو app
+     */
+    private static int indexOf(XmlResourceParser parser, String name) {
+        for (int i = 0; i < parser.getAttributeCount(); i++) {
+            if (name.equals(parser.getAttributeName(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String readString(Resources res, XmlResourceParser parser, String name) {
+        int index = indexOf(parser, name);
+        if (index < 0) {
+            return null;
+        }
+        int resId = parser.getAttributeResourceValue(index, 0);
+        return resId != 0 ? res.getString(resId) : parser.getAttributeValue(index);
+    }
+
+    private static int readInt(XmlResourceParser parser, String name, int defaultValue) {
+        int index = indexOf(parser, name);
+        return index >= 0 ? parser.getAttributeIntValue(index, defaultValue) : defaultValue;
+    }
+
+    private static CharSequence[] readTextArray(Resources res, XmlResourceParser parser, String name) {
+        int index = indexOf(parser, name);
+        int resId = index >= 0 ? parser.getAttributeResourceValue(index, 0) : 0;
+        return resId != 0 ? res.getTextArray(resId) : new CharSequence[0];
+    }
+}
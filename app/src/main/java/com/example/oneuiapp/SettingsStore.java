@@ -0,0 +1,261 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.os.Looper;
+import android.util.AtomicFile;
+import android.util.Log;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * مخزن إعدادات التطبيق بأنواع محددة
+ * القراءة من لقطة ثابتة في الذاكرة بدون أقفال من أي خيط، والكتابات المتتالية تُدمج
+ * في عملية حفظ واحدة مؤجلة تُنفذ في الخلفية عبر استبدال ذري للملف
+ */
+public final class SettingsStore {
+
+    private static final String TAG = "SettingsStore";
+    private static final String FILE_NAME = "settings.json";
+
+    // مدة الهدوء قبل الحفظ - كل تعديل يعيد بدء المهلة، فسحب شريط التمرير بالكامل ينتج عملية حفظ واحدة
+    static final long FLUSH_DELAY_MS = 500;
+
+    // القيم الافتراضية يجب أن تطابق app:defaultValue في preferences.xml - يتحقق منها SettingsDefaultsTest
+    // وتبقى هنا حتى لا يُقرأ ملف المخطط أثناء بدء التطبيق
+    public static final Key<Integer> VOLUME = new Key<>("volume", Integer.class, 50);
+    public static final Key<Integer> ANIMATION_SPEED = new Key<>("animation_speed", Integer.class, 75);
+    public static final Key<Boolean> DARK_MODE = new Key<>("dark_mode", Boolean.class, true);
+    public static final Key<Boolean> NOTIFICATIONS = new Key<>("notifications", Boolean.class, true);
+    public static final Key<Boolean> VIBRATION = new Key<>("vibration", Boolean.class, false);
+    public static final Key<Boolean> HIGH_PERFORMANCE = new Key<>("high_performance", Boolean.class, false);
+    public static final Key<Boolean> BATTERY_SAVER = new Key<>("battery_saver", Boolean.class, true);
+    public static final Key<Boolean> BACKGROUND_SYNC = new Key<>("background_sync", Boolean.class, true);
+    public static final Key<String> LANGUAGE = new Key<>("pref_language", String.class, "ar");
+    public static final Key<String> THEME = new Key<>("pref_theme", String.class, "light");
+
+    private static final Key<?>[] ALL_KEYS = {
+        VOLUME, ANIMATION_SPEED, DARK_MODE, NOTIFICATIONS,
+        VIBRATION, HIGH_PERFORMANCE, BATTERY_SAVER, BACKGROUND_SYNC,
+        LANGUAGE, THEME
+    };
+
+    private static volatile SettingsStore instance;
+
+    /**
+     * مفتاح إعداد مع نوعه وقيمته الافتراضية
+     */
+    public static final class Key<T> {
+        public final String name;
+        public final Class<T> type;
+        public final T defaultValue;
+
+        Key(String name, Class<T> type, T defaultValue) {
+            this.name = name;
+            this.type = type;
+            this.defaultValue = defaultValue;
+        }
+    }
+
+    /**
+     * البحث عن مفتاح باسمه كما يظهر في ملف preferences.xml
+     */
+    public static Key<?> findKey(String name) {
+        for (Key<?> key : ALL_KEYS) {
+            if (key.name.equals(name)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * لقطة ثابتة لجميع القيم - آمنة للقراءة من أي خيط
+     */
+    public static final class Snapshot {
+        private final Map<String, Object> values;
+
+        Snapshot(Map<String, Object> values) {
+            this.values = Collections.unmodifiableMap(values);
+        }
+
+        public <T> T get(Key<T> key) {
+            Object value = values.get(key.name);
+            return value != null ? key.type.cast(value) : key.defaultValue;
+        }
+    }
+
+    /**
+     * يتم إبلاغه على الخيط الرئيسي عند تغيير أي إعداد
+     * التعديل من الخيط الرئيسي يُبلغ فوراً، ومن خيط آخر يُنشر إلى الخيط الرئيسي
+     */
+    public interface OnChangeListener {
+        void onSettingChanged(Key<?> key, Snapshot snapshot);
+    }
+
+    private final Context context;
+    private final AtomicFile file;
+    private final CopyOnWriteArrayList<OnChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicInteger diskWriteCount = new AtomicInteger();
+    private final Runnable flushRunnable = this::submitFlush;
+
+    private volatile Snapshot snapshot;
+
+    private SettingsStore(Context context) {
+        this.context = context;
+        file = new AtomicFile(new java.io.File(context.getFilesDir(), FILE_NAME));
+        snapshot = load();
+    }
+
+    public static SettingsStore getInstance(Context context) {
+        if (instance == null) {
+            synchronized (SettingsStore.class) {
+                if (instance == null) {
+                    instance = new SettingsStore(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * اللقطة الحالية بدون أقفال
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public <T> T get(Key<T> key) {
+        return snapshot.get(key);
+    }
+
+    /**
+     * تعديل قيمة في الذاكرة فوراً وجدولة حفظ مدمج
+     */
+    public <T> void set(Key<T> key, T value) {
+        Snapshot updated;
+        synchronized (this) {
+            if (value.equals(snapshot.get(key))) {
+                return;
+            }
+            Map<String, Object> values = new HashMap<>(snapshot.values);
+            values.put(key.name, value);
+            updated = new Snapshot(values);
+            snapshot = updated;
+        }
+
+        scheduleFlush(FLUSH_DELAY_MS);
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            notifyListeners(key, updated);
+        } else {
+            AppExecutors.mainHandler().post(() -> notifyListeners(key, updated));
+        }
+    }
+
+    private void notifyListeners(Key<?> key, Snapshot updated) {
+        for (OnChangeListener listener : listeners) {
+            listener.onSettingChanged(key, updated);
+        }
+    }
+
+    public void addListener(OnChangeListener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    public void removeListener(OnChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * حفظ أي تغييرات معلقة الآن - مثلاً عند انتقال التطبيق للخلفية
+     */
+    public void flush() {
+        if (flushScheduled.get()) {
+            AppExecutors.mainHandler().removeCallbacks(flushRunnable);
+            submitFlush();
+        }
+    }
+
+    /**
+     * عدد عمليات الكتابة على القرص منذ بدء العملية
+     */
+    public int getDiskWriteCount() {
+        return diskWriteCount.get();
+    }
+
+    /**
+     * إعادة بدء مهلة الحفظ مع كل تعديل حتى يُحفظ بعد آخر تعديل في السلسلة فقط
+     */
+    private void scheduleFlush(long delayMs) {
+        flushScheduled.set(true);
+        AppExecutors.mainHandler().removeCallbacks(flushRunnable);
+        AppExecutors.mainHandler().postDelayed(flushRunnable, delayMs);
+    }
+
+    /**
+     * مسار القراءة له أكثر من خيط، فحفظان متتاليان قد يعملان معاً
+     * الحفظ تحت قفل الملف، واللقطة تُقرأ داخل القفل حتى لا يكتب حفظ متأخر لقطة أقدم فوق أحدث
+     */
+    private void submitFlush() {
+        WorkScheduler.getInstance(context).submit("settingsFlush", WorkScheduler.LANE_IO, () -> {
+            synchronized (file) {
+                // تُقرأ اللقطة بعد إلغاء الجدولة حتى لا تضيع كتابة تمت أثناء الحفظ
+                flushScheduled.set(false);
+                write(snapshot);
+            }
+        });
+    }
+
+    private void write(Snapshot current) {
+        FileOutputStream output = null;
+        try {
+            JSONObject json = new JSONObject();
+            for (Key<?> key : ALL_KEYS) {
+                json.put(key.name, current.get(key));
+            }
+            output = file.startWrite();
+            output.write(json.toString().getBytes(StandardCharsets.UTF_8));
+            file.finishWrite(output);
+            diskWriteCount.incrementAndGet();
+        } catch (IOException | JSONException e) {
+            Log.e(TAG, "فشل في حفظ الإعدادات", e);
+            if (output != null) {
+                file.failWrite(output);
+            }
+        }
+    }
+
+    private Snapshot load() {
+        Map<String, Object> values = new HashMap<>();
+        try {
+            JSONObject json = new JSONObject(new String(file.readFully(), StandardCharsets.UTF_8));
+            for (Key<?> key : ALL_KEYS) {
+                if (!json.has(key.name)) {
+                    continue;
+                }
+                if (key.type == Integer.class) {
+                    values.put(key.name, json.getInt(key.name));
+                } else if (key.type == Boolean.class) {
+                    values.put(key.name, json.getBoolean(key.name));
+                } else if (key.type == String.class) {
+                    values.put(key.name, json.getString(key.name));
+                }
+            }
+        } catch (FileNotFoundException e) {
+            Log.d(TAG, "لا توجد إعدادات محفوظة - استخدام القيم الافتراضية");
+        } catch (IOException | JSONException e) {
+            Log.w(TAG, "تحذير: ملف الإعدادات تالف - استخدام القيم الافتراضية", e);
+        }
+        return new Snapshot(values);
+    }
+}
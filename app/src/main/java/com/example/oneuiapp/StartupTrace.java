@@ -0,0 +1,66 @@
+package com.example.oneuiapp;
+
+import android.app.Activity;
+import android.os.Build;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+/**
+ * قياس مراحل بدء التشغيل
+ * الأقسام تظهر في systrace/Perfetto، وزمن أول إطار يُطبع في LogCat بالوسم StartupTrace
+ */
+public final class StartupTrace {
+
+    private static final String TAG = "StartupTrace";
+
+    private static long applicationCreateUptime;
+    private static boolean firstFrameReported;
+
+    private StartupTrace() {
+    }
+
+    static void markApplicationCreate() {
+        applicationCreateUptime = SystemClock.uptimeMillis();
+    }
+
+    public static void beginSection(String name) {
+        Trace.beginSection(name);
+    }
+
+    public static void endSection() {
+        Trace.endSection();
+    }
+
+    /**
+     * تسجيل زمن أول إطار للنشاط مرة واحدة لكل عملية
+     */
+    public static void reportFirstFrame(Activity activity) {
+        if (firstFrameReported) {
+            return;
+        }
+        View decorView = activity.getWindow().getDecorView();
+        decorView.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                decorView.getViewTreeObserver().removeOnPreDrawListener(this);
+                if (!firstFrameReported) {
+                    firstFrameReported = true;
+                    logFirstFrame();
+                }
+                return true;
+            }
+        });
+    }
+
+    private static void logFirstFrame() {
+        long now = SystemClock.uptimeMillis();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            Log.i(TAG, "زمن أول إطار منذ بدء العملية: " + (now - Process.getStartUptimeMillis()) + " ms");
+        }
+        Log.i(TAG, "زمن أول إطار منذ Application.onCreate: " + (now - applicationCreateUptime) + " ms");
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.oneuiapp;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * عناصر ItemStore من لقطة مربوطة بالذاكرة، مرتبة بالمعرف كما في الفهرس
+ * قراءة صفحة تقرأ سجلات فهرسها المتتالية ثم نطاقاً واحداً متصلاً من ملف البيانات
+ * صفحات الملف يحمّلها النظام عند أول وصول إليها ولا تُحسب من ذاكرة التطبيق، فحجم المخزن لا يغير زمن الفتح
+ * القراءة بمواضع مطلقة أو من نسخة للمخزن، لذلك آمن للخيوط
+ */
+public final class StoredListDataSource implements ListDataSource, ListDataSource.PageReader {
+
+    private final ByteBuffer index;
+    private final ByteBuffer data;
+    private final int first;
+    private final int size;
+
+    StoredListDataSource(ByteBuffer index, ByteBuffer data, int first, int size) {
+        this.index = index;
+        this.data = data;
+        this.first = first;
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String get(int position) {
+        int record = first + position;
+        int start = startOf(record);
+        byte[] text = new byte[endOf(record) - start];
+        read(start, text);
+        return new String(text, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return index.getLong((first + position) * ItemStore.RECORD_SIZE);
+    }
+
+    @Override
+    public void readPage(int start, String[] out) {
+        if (out.length == 0) {
+            return;
+        }
+        int record = first + start;
+        int begin = startOf(record);
+        byte[] bytes = new byte[endOf(record + out.length - 1) - begin];
+        read(begin, bytes);
+
+        int itemStart = 0;
+        for (int i = 0; i < out.length; i++) {
+            int itemEnd = endOf(record + i) - begin;
+            out[i] = new String(bytes, itemStart, itemEnd - itemStart, StandardCharsets.UTF_8);
+            itemStart = itemEnd;
+        }
+    }
+
+    /**
+     * موضع أول عنصر معرفه لا يقل عن id، أو size إذا كانت كل المعرفات أصغر - بحث ثنائي في الفهرس
+     */
+    public int positionOf(long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (getItemId(middle) < id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * العناصر التي معرفاتها من fromId حتى toId دون الأخير
+     * عرض على نفس اللقطة بعد بحثين ثنائيين، وصفحاته تُقرأ من القرص عند طلبها فقط
+     */
+    public StoredListDataSource rangeOfIds(long fromId, long toId) {
+        int from = positionOf(fromId);
+        return subList(from, Math.max(from, positionOf(toId)));
+    }
+
+    /**
+     * العناصر من from حتى to دون الأخير دون قراءة أي منها
+     */
+    public StoredListDataSource subList(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("نطاق غير صالح: " + from + " - " + to + " من " + size);
+        }
+        return new StoredListDataSource(index, data, first + from, to - from);
+    }
+
+    private int startOf(int record) {
+        return record == 0 ? 0 : endOf(record - 1);
+    }
+
+    private int endOf(int record) {
+        return (int) index.getLong(record * ItemStore.RECORD_SIZE + 8);
+    }
+
+    private void read(int offset, byte[] out) {
+        // موضع المخزن المشترك لا يتغير - كل قراءة على نسخة خاصة بها
+        ByteBuffer view = data.duplicate();
+        view.position(offset);
+        view.get(out);
+    }
+}
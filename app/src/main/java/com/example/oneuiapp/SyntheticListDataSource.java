@@ -0,0 +1,32 @@
+package com.example.oneuiapp;
+
+/**
+ * مصدر بيانات تجريبي يولد نص كل عنصر عند الطلب
+ * لا يحتفظ بأي عنصر في الذاكرة مهما كان عدد العناصر
+ */
+public class SyntheticListDataSource implements ListDataSource {
+
+    private static final String ITEM_PREFIX = "العنصر رقم ";
+    private static final String ITEM_SUFFIX = " - محتوى تجريبي";
+
+    private final int size;
+
+    public SyntheticListDataSource(int size) {
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String get(int position) {
+        return ITEM_PREFIX + (position + 1) + ITEM_SUFFIX;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return position + 1;
+    }
+}
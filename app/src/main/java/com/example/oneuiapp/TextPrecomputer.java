@@ -0,0 +1,133 @@
+package com.example.oneuiapp;
+
+import android.text.Layout;
+import android.text.TextDirectionHeuristic;
+import android.text.TextDirectionHeuristics;
+import android.text.TextPaint;
+import android.util.Log;
+import android.util.LruCache;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * تجهيز تخطيطات نصوص الصفوف في الخلفية قبل عرضها
+ * التشكيل واتجاه النص والقياس وبناء السطر المختصر تتم في خيط تحميل الصفحات بعرض نص الصف المعروف،
+ * ويصبح الربط مجرد تعيين تخطيط جاهز يرسمه RowView كما هو
+ * كل نسخة مرتبطة بخصائص نص واحدة وعرض واحد، لذلك مفتاح المخزن هو النص وحده
+ */
+public final class TextPrecomputer implements PagedList.PageProcessor {
+
+    private static final String TAG = "TextPrecomputer";
+
+    public static final int DEFAULT_CAPACITY = 512;
+
+    // إعدادات StaticLayout للعنوان - يستخدمها RowView أيضاً عند بناء تخطيط لم يُجهز مسبقاً
+    static final TextDirectionHeuristic TEXT_DIRECTION = TextDirectionHeuristics.FIRSTSTRONG_LOCALE;
+    static final int BREAK_STRATEGY = Layout.BREAK_STRATEGY_SIMPLE;
+    static final int HYPHENATION_FREQUENCY = Layout.HYPHENATION_FREQUENCY_NONE;
+
+    private final TextPaint paint;
+    private final LruCache<String, Layout> cache;
+
+    // عرض نص الصف - يُضبط من الخيط الرئيسي ويُقرأ في خيط تحميل الصفحات، و0 قبل معرفته
+    private volatile int labelWidth;
+
+    // الإصابات والإخفاقات تُحدث من الخيط الرئيسي فقط أثناء الربط
+    private int hitCount;
+    private int missCount;
+    private final AtomicInteger computedCount = new AtomicInteger();
+
+    /**
+     * paint يُقرأ من خيوط الخلفية ويرسم به RowView التخطيطات الجاهزة، لذلك يجب ألا يُعدل بعد الإنشاء
+     */
+    public TextPrecomputer(TextPaint paint, int capacity) {
+        this.paint = paint;
+        cache = new LruCache<>(capacity);
+    }
+
+    /**
+     * تغيير عرض نص الصف - التخطيطات المبنية بعرض آخر لا تصلح فتُحذف
+     * يُستدعى من الخيط الرئيسي
+     */
+    public void setLabelWidth(int width) {
+        if (width != labelWidth) {
+            labelWidth = width;
+            cache.evictAll();
+        }
+    }
+
+    public int getLabelWidth() {
+        return labelWidth;
+    }
+
+    /**
+     * تجهيز تخطيطات صفحة محملة - يُستدعى من خيط الخلفية قبل نشر الصفحة
+     */
+    @Override
+    public void processPage(String[] items) {
+        int width = labelWidth;
+        if (width <= 0) {
+            return;
+        }
+        for (String item : items) {
+            Layout layout = item != null ? cache.get(item) : null;
+            if (item != null && (layout == null || layout.getWidth() != width)) {
+                layout = compute(item, width);
+                if (layout != null) {
+                    cache.put(item, layout);
+                }
+            }
+        }
+    }
+
+    /**
+     * التخطيط الجاهز بعرض الصف الحالي، أو null ليبنيه RowView عند الربط
+     * يُستدعى من الخيط الرئيسي
+     */
+    public Layout lookup(String text) {
+        Layout layout = cache.get(text);
+        // قد تنشر صفحة بدأت قبل تغيير العرض تخطيطاً بالعرض القديم
+        if (layout != null && layout.getWidth() == labelWidth) {
+            hitCount++;
+            return layout;
+        }
+        missCount++;
+        return null;
+    }
+
+    private Layout compute(String text, int width) {
+        computedCount.incrementAndGet();
+        try {
+            return RowView.buildLabelLayout(text, paint, width);
+        } catch (RuntimeException e) {
+            Log.w(TAG, "تحذير: فشل في تجهيز تخطيط النص مسبقاً", e);
+            return null;
+        }
+    }
+
+    /**
+     * تغيير سعة المخزن حسب وضع الأداء - التصغير يحذف الأقدم استخداماً فوراً
+     */
+    public void resize(int capacity) {
+        cache.resize(capacity);
+    }
+
+    /**
+     * تفريغ المخزن عند إغلاق القائمة أو انخفاض الذاكرة
+     */
+    public void clear() {
+        cache.evictAll();
+    }
+
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    public int getMissCount() {
+        return missCount;
+    }
+
+    public String getStats() {
+        return "hits=" + hitCount + " misses=" + missCount
+            + " computed=" + computedCount.get() + " size=" + cache.size() + "/" + cache.maxSize();
+    }
+}
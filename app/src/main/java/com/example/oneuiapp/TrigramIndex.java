@@ -0,0 +1,370 @@
+package com.example.oneuiapp;
+
+import java.util.Arrays;
+
+/**
+ * فهرس ثلاثيات الحروف لنصوص القائمة بعد توحيدها
+ * كل ثلاثي له قائمة صفوف تصاعدية من أرقام int: الرقم الموجب بداية صف، والسالب -k بعده يعني
+ * أن الصفوف k التالية موجودة أيضاً، فالثلاثيات الشائعة في كل الصفوف تأخذ رقمين فقط
+ * الجدول بعنونة مفتوحة على مفاتيح long دون تغليف أي رقم
+ * الصفوف تُضاف تصاعدياً على دفعات من خيط واحد، والاستعلامات من أي خيط
+ */
+public final class TrigramIndex {
+
+    /**
+     * يُفحص أثناء الاستعلامات الطويلة للتوقف عند وصول استعلام أحدث
+     */
+    public interface Cancellation {
+        boolean isCancelled();
+    }
+
+    // حدود الصف حتى يغطي كل حرف ثلاثي واحد على الأقل - شرط لدقة الاستعلامات القصيرة
+    private static final char ROW_START = '\u0002';
+    private static final char ROW_END = '\u0003';
+
+    private static final int INITIAL_TABLE_SIZE = 1024;
+    private static final int INITIAL_POSTING_SIZE = 4;
+
+    // مفتاح 0 يعني خانة فارغة - لا يمكن أن يكون مفتاحاً لأن الثلاثي لا يحتوي ثلاثة أحرف صفرية
+    private long[] keys = new long[INITIAL_TABLE_SIZE];
+    private int[] ids = new int[INITIAL_TABLE_SIZE];
+
+    private int[][] postings = new int[INITIAL_TABLE_SIZE / 2][];
+    private int[] postingLengths = new int[INITIAL_TABLE_SIZE / 2];
+    private int[] lastRows = new int[INITIAL_TABLE_SIZE / 2];
+    private long[] trigramKeys = new long[INITIAL_TABLE_SIZE / 2];
+    private int trigramCount;
+
+    private volatile int indexedCount;
+    private int lastRow = -1;
+    private char[] scratch = new char[64];
+
+    /**
+     * فهرسة الصفوف من from حتى to دون الأخير - from يجب أن يكون بعد آخر صف مفهرس
+     */
+    public synchronized void addRows(ListDataSource source, int from, int to) {
+        for (int row = from; row < to; row++) {
+            addRow(row, source.get(row));
+        }
+    }
+
+    public synchronized void addRow(int row, CharSequence text) {
+        if (row <= lastRow) {
+            throw new IllegalArgumentException("الصفوف يجب أن تضاف تصاعدياً: " + row);
+        }
+        lastRow = row;
+
+        int length = normalizeInto(text);
+        for (int i = 0; i + 2 < length; i++) {
+            int id = idFor(key(scratch[i], scratch[i + 1], scratch[i + 2]), true);
+            append(id, row);
+        }
+        indexedCount++;
+    }
+
+    /**
+     * عدد الصفوف المفهرسة - النتائج لا تشمل ما بعده أثناء البناء
+     */
+    public int getIndexedCount() {
+        return indexedCount;
+    }
+
+    public synchronized int getTrigramCount() {
+        return trigramCount;
+    }
+
+    /**
+     * الحجم التقريبي في الذاكرة بالبايت
+     */
+    public synchronized long getMemoryBytes() {
+        long bytes = (long) keys.length * 8 + (long) ids.length * 4
+            + (long) postings.length * (4 + 4 + 4 + 8);
+        for (int i = 0; i < trigramCount; i++) {
+            bytes += 16 + (long) postings[i].length * 4;
+        }
+        return bytes;
+    }
+
+    /**
+     * هل نتيجة الاستعلام دقيقة دون مطابقة النصوص
+     * حتى ثلاثة أحرف تكون النتيجة دقيقة، وبعدها قد يحتوي الصف كل الثلاثيات دون أن تكون متتالية
+     */
+    public static boolean isExact(String normalizedQuery) {
+        return normalizedQuery.length() <= 3;
+    }
+
+    /**
+     * الصفوف المرشحة لاستعلام موحد، أو null عند الإلغاء
+     */
+    public synchronized RowSet query(String normalizedQuery, Cancellation cancellation) {
+        int length = normalizedQuery.length();
+        if (length == 0) {
+            return RowSet.range(0, lastRow + 1);
+        }
+        if (length < 3) {
+            return queryShort(normalizedQuery, cancellation);
+        }
+
+        // قوائم ثلاثيات الاستعلام المختلفة مرتبة من الأقصر لتصغير التقاطع بسرعة
+        int[] queryIds = new int[length - 2];
+        int count = 0;
+        for (int i = 0; i + 2 < length; i++) {
+            int id = idFor(key(normalizedQuery.charAt(i), normalizedQuery.charAt(i + 1),
+                normalizedQuery.charAt(i + 2)), false);
+            if (id < 0) {
+                return new RowSet();
+            }
+            if (!containsId(queryIds, count, id)) {
+                queryIds[count++] = id;
+            }
+        }
+        sortByPostingLength(queryIds, count);
+
+        RowSet result = decode(queryIds[0]);
+        for (int i = 1; i < count && result.size() > 0; i++) {
+            if (cancellation.isCancelled()) {
+                return null;
+            }
+            result = RowSet.intersect(result, decode(queryIds[i]));
+        }
+        return result;
+    }
+
+    /**
+     * استعلام من حرف أو حرفين: اتحاد كل الثلاثيات التي تحتويه في مصفوفة بتات بحجم الصفوف
+     */
+    private RowSet queryShort(String normalizedQuery, Cancellation cancellation) {
+        long[] bits = new long[(lastRow + 64) >>> 6];
+        for (int id = 0; id < trigramCount; id++) {
+            if (!trigramContains(trigramKeys[id], normalizedQuery)) {
+                continue;
+            }
+            if (cancellation.isCancelled()) {
+                return null;
+            }
+            int[] posting = postings[id];
+            int postingLength = postingLengths[id];
+            for (int i = 0; i < postingLength; i++) {
+                int start = posting[i];
+                int end = start + 1;
+                if (i + 1 < postingLength && posting[i + 1] < 0) {
+                    end -= posting[++i];
+                }
+                setBits(bits, start, end);
+            }
+        }
+
+        return toRowSet(bits);
+    }
+
+    /**
+     * تحويل مصفوفة البتات إلى فترات بالقفز بين حدود الفترات بدلاً من المرور على كل بت
+     */
+    private static RowSet toRowSet(long[] bits) {
+        RowSet result = new RowSet();
+        int runStart = -1;
+        for (int word = 0; word < bits.length; word++) {
+            long value = bits[word];
+            int base = word << 6;
+            while (true) {
+                if (runStart < 0) {
+                    if (value == 0) {
+                        break;
+                    }
+                    int first = Long.numberOfTrailingZeros(value);
+                    runStart = base + first;
+                    value = ~value & (-1L << first);
+                } else {
+                    value = ~value;
+                }
+                // value الآن يحتوي البتات غير المحددة بعد بداية الفترة الحالية
+                if (value == 0) {
+                    // الفترة تستمر في الكلمة التالية
+                    break;
+                }
+                int end = Long.numberOfTrailingZeros(value);
+                result.addRange(runStart, base + end);
+                runStart = -1;
+                value = bits[word] & (-1L << end);
+            }
+        }
+        if (runStart >= 0) {
+            result.addRange(runStart, bits.length << 6);
+        }
+        return result;
+    }
+
+    private static void setBits(long[] bits, int start, int end) {
+        int startWord = start >>> 6;
+        int endWord = (end - 1) >>> 6;
+        long startMask = -1L << (start & 63);
+        long endMask = -1L >>> (63 - ((end - 1) & 63));
+        if (startWord == endWord) {
+            bits[startWord] |= startMask & endMask;
+            return;
+        }
+        bits[startWord] |= startMask;
+        for (int word = startWord + 1; word < endWord; word++) {
+            bits[word] = -1L;
+        }
+        bits[endWord] |= endMask;
+    }
+
+    private static boolean trigramContains(long key, String query) {
+        char c0 = (char) (key >>> 32);
+        char c1 = (char) (key >>> 16);
+        char c2 = (char) key;
+        char q0 = query.charAt(0);
+        if (query.length() == 1) {
+            return c0 == q0 || c1 == q0 || c2 == q0;
+        }
+        char q1 = query.charAt(1);
+        return (c0 == q0 && c1 == q1) || (c1 == q0 && c2 == q1);
+    }
+
+    /**
+     * فك ترميز قائمة صفوف ثلاثي إلى فترات
+     */
+    private RowSet decode(int id) {
+        int[] posting = postings[id];
+        int length = postingLengths[id];
+        RowSet rows = new RowSet(length);
+        for (int i = 0; i < length; i++) {
+            int start = posting[i];
+            int end = start + 1;
+            if (i + 1 < length && posting[i + 1] < 0) {
+                end -= posting[++i];
+            }
+            rows.addRange(start, end);
+        }
+        return rows;
+    }
+
+    /**
+     * إضافة صف لقائمة ثلاثي - الصفوف المتتالية تمدد آخر فترة بدلاً من إضافة رقم
+     */
+    private void append(int id, int row) {
+        int last = lastRows[id];
+        if (last == row) {
+            // الثلاثي تكرر في نفس الصف
+            return;
+        }
+        lastRows[id] = row;
+        int[] posting = postings[id];
+        int length = postingLengths[id];
+        if (length > 0 && row == last + 1 && posting[length - 1] < 0) {
+            posting[length - 1]--;
+            return;
+        }
+        if (length == posting.length) {
+            posting = Arrays.copyOf(posting, length + (length >> 1) + 1);
+            postings[id] = posting;
+        }
+        posting[length] = length > 0 && row == last + 1 ? -1 : row;
+        postingLengths[id] = length + 1;
+    }
+
+    private int normalizeInto(CharSequence text) {
+        int capacity = text.length() + 2;
+        if (scratch.length < capacity) {
+            scratch = new char[Math.max(capacity, scratch.length * 2)];
+        }
+        int length = 0;
+        scratch[length++] = ROW_START;
+        for (int i = 0; i < text.length(); i++) {
+            char c = ArabicNormalizer.normalize(text.charAt(i));
+            if (c != ArabicNormalizer.DROPPED) {
+                scratch[length++] = c;
+            }
+        }
+        scratch[length++] = ROW_END;
+        return length;
+    }
+
+    private static long key(char c0, char c1, char c2) {
+        return ((long) c0 << 32) | ((long) c1 << 16) | c2;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * رقم الثلاثي في الجدول، أو -1 إذا لم يكن موجوداً و create غير مفعل
+     */
+    private int idFor(long key, boolean create) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (true) {
+            long existing = keys[slot];
+            if (existing == key) {
+                return ids[slot];
+            }
+            if (existing == 0) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (!create) {
+            return -1;
+        }
+
+        int id = trigramCount++;
+        if (id == postings.length) {
+            int capacity = id * 2;
+            postings = Arrays.copyOf(postings, capacity);
+            postingLengths = Arrays.copyOf(postingLengths, capacity);
+            lastRows = Arrays.copyOf(lastRows, capacity);
+            trigramKeys = Arrays.copyOf(trigramKeys, capacity);
+        }
+        postings[id] = new int[INITIAL_POSTING_SIZE];
+        lastRows[id] = -1;
+        trigramKeys[id] = key;
+        keys[slot] = key;
+        ids[slot] = id;
+        // نسبة امتلاء لا تتجاوز النصف حتى يبقى البحث الخطي قصيراً
+        if (trigramCount * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return id;
+    }
+
+    private void rehash(int size) {
+        long[] newKeys = new long[size];
+        int[] newIds = new int[size];
+        int mask = size - 1;
+        for (int id = 0; id < trigramCount; id++) {
+            long key = trigramKeys[id];
+            int slot = hash(key) & mask;
+            while (newKeys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newKeys[slot] = key;
+            newIds[slot] = id;
+        }
+        keys = newKeys;
+        ids = newIds;
+    }
+
+    private static boolean containsId(int[] ids, int count, int id) {
+        for (int i = 0; i < count; i++) {
+            if (ids[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void sortByPostingLength(int[] queryIds, int count) {
+        for (int i = 1; i < count; i++) {
+            int id = queryIds[i];
+            int j = i - 1;
+            while (j >= 0 && postingLengths[queryIds[j]] > postingLengths[id]) {
+                queryIds[j + 1] = queryIds[j];
+                j--;
+            }
+            queryIds[j + 1] = id;
+        }
+    }
+}
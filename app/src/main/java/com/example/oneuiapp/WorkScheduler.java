@@ -0,0 +1,364 @@
+package com.example.oneuiapp;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.PowerManager;
+import android.os.SystemClock;
+import android.util.Log;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * جدولة الأعمال في الخلفية على ثلاثة مسارات بأولويات مختلفة
+ * المسار الحرج للواجهة يسبق مسار القراءة على نفس الخيوط، والمسار المؤجل له خيط منخفض الأولوية
+ * عند تفعيل توفير البطارية تُجمع الأعمال المؤجلة في نافذة واحدة بدلاً من إيقاظ المعالج لكل عمل
+ * الوقت والمؤقتات عبر Clock حتى يمكن اختبار الجدولة بساعة افتراضية
+ */
+public final class WorkScheduler implements SettingsStore.OnChangeListener {
+
+    private static final String TAG = "WorkScheduler";
+
+    /** عمل ينتظره المستخدم مباشرة مثل تحميل الصفحة الظاهرة */
+    public static final int LANE_UI_CRITICAL = 0;
+    /** قراءة وكتابة لا تظهر نتيجتها فوراً مثل التحميل المسبق وحفظ الإعدادات */
+    public static final int LANE_IO = 1;
+    /** صيانة يمكن تأجيلها مثل تنظيف السجلات */
+    public static final int LANE_DEFERRABLE = 2;
+
+    static final int LANE_COUNT = 3;
+    private static final String[] LANE_NAMES = {"ui_critical", "io", "deferrable"};
+
+    public static final long DEFAULT_BATCH_WINDOW_MS = 60_000;
+
+    /**
+     * مصدر الوقت والمؤقتات - الساعة الحقيقية تستخدم معالج الخيط الرئيسي
+     */
+    public interface Clock {
+        long uptimeMillis();
+
+        void postAtTime(Runnable runnable, long uptimeMillis);
+
+        void removeCallbacks(Runnable runnable);
+    }
+
+    static final Clock SYSTEM_CLOCK = new Clock() {
+        @Override
+        public long uptimeMillis() {
+            return SystemClock.uptimeMillis();
+        }
+
+        @Override
+        public void postAtTime(Runnable runnable, long uptimeMillis) {
+            AppExecutors.mainHandler().postAtTime(runnable, uptimeMillis);
+        }
+
+        @Override
+        public void removeCallbacks(Runnable runnable) {
+            AppExecutors.mainHandler().removeCallbacks(runnable);
+        }
+    };
+
+    /**
+     * لقطة من مقاييس مسار واحد
+     */
+    public static final class LaneMetrics {
+        public int queueDepth;
+        public long submitted;
+        public long completed;
+        public long failed;
+        public long totalWaitMs;
+        public long maxWaitMs;
+        public long totalRunMs;
+        public long maxRunMs;
+
+        public long averageWaitMs() {
+            long finished = completed + failed;
+            return finished > 0 ? totalWaitMs / finished : 0;
+        }
+
+        public long averageRunMs() {
+            long finished = completed + failed;
+            return finished > 0 ? totalRunMs / finished : 0;
+        }
+
+        void copyInto(LaneMetrics target) {
+            target.queueDepth = queueDepth;
+            target.submitted = submitted;
+            target.completed = completed;
+            target.failed = failed;
+            target.totalWaitMs = totalWaitMs;
+            target.maxWaitMs = maxWaitMs;
+            target.totalRunMs = totalRunMs;
+            target.maxRunMs = maxRunMs;
+        }
+    }
+
+    private static final class Job {
+        final String name;
+        final int lane;
+        final Runnable task;
+        final long submittedAt;
+
+        Job(String name, int lane, Runnable task, long submittedAt) {
+            this.name = name;
+            this.lane = lane;
+            this.task = task;
+            this.submittedAt = submittedAt;
+        }
+    }
+
+    private static volatile WorkScheduler instance;
+
+    private final Executor foregroundExecutor;
+    private final Executor deferrableExecutor;
+    private final Clock clock;
+    private final Executor[] laneExecutors = new Executor[LANE_COUNT];
+
+    private final Object lock = new Object();
+    private final ArrayDeque<Job>[] ready;
+    private final List<Job> batch = new ArrayList<>();
+    private final LaneMetrics[] metrics = new LaneMetrics[LANE_COUNT];
+    private final Runnable releaseBatchRunnable = this::releaseBatch;
+
+    private boolean batching;
+    private boolean batchWindowScheduled;
+    private long batchWindowMs = DEFAULT_BATCH_WINDOW_MS;
+
+    // يُستخدم فقط في النسخة المرتبطة بالتطبيق
+    private SettingsStore settingsStore;
+    private PowerManager powerManager;
+
+    @SuppressWarnings("unchecked")
+    WorkScheduler(Executor foregroundExecutor, Executor deferrableExecutor, Clock clock) {
+        this.foregroundExecutor = foregroundExecutor;
+        this.deferrableExecutor = deferrableExecutor;
+        this.clock = clock;
+        ready = new ArrayDeque[LANE_COUNT];
+        for (int lane = 0; lane < LANE_COUNT; lane++) {
+            ready[lane] = new ArrayDeque<>();
+            metrics[lane] = new LaneMetrics();
+            final int targetLane = lane;
+            laneExecutors[lane] = command -> submit(LANE_NAMES[targetLane], targetLane, command);
+        }
+    }
+
+    /**
+     * النسخة المشتركة - المساران الأولان على خيوط القراءة والمؤجل على خيط الخلفية
+     * التجميع يتبع مفتاح توفير البطارية في الإعدادات أو وضع توفير الطاقة في النظام
+     */
+    public static WorkScheduler getInstance(Context context) {
+        if (instance == null) {
+            synchronized (WorkScheduler.class) {
+                if (instance == null) {
+                    WorkScheduler scheduler = new WorkScheduler(
+                        AppExecutors.io(), AppExecutors.background(), SYSTEM_CLOCK);
+                    scheduler.attach(context.getApplicationContext());
+                    instance = scheduler;
+                }
+            }
+        }
+        return instance;
+    }
+
+    private void attach(Context context) {
+        settingsStore = SettingsStore.getInstance(context);
+        settingsStore.addListener(this);
+        powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        context.registerReceiver(new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context receiverContext, Intent intent) {
+                updateBatching();
+            }
+        }, new IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED));
+        updateBatching();
+    }
+
+    @Override
+    public void onSettingChanged(SettingsStore.Key<?> key, SettingsStore.Snapshot snapshot) {
+        if (key == SettingsStore.BATTERY_SAVER) {
+            updateBatching();
+        }
+    }
+
+    private void updateBatching() {
+        boolean enabled = settingsStore.get(SettingsStore.BATTERY_SAVER)
+            || (powerManager != null && powerManager.isPowerSaveMode());
+        setBatching(enabled);
+    }
+
+    /**
+     * تفعيل أو إيقاف تجميع الأعمال المؤجلة - الإيقاف يشغل الدفعة المعلقة فوراً
+     */
+    public void setBatching(boolean enabled) {
+        synchronized (lock) {
+            if (batching == enabled) {
+                return;
+            }
+            batching = enabled;
+        }
+        Log.d(TAG, "تجميع الأعمال المؤجلة: " + (enabled ? "مفعل" : "متوقف"));
+        if (!enabled) {
+            releaseBatch();
+        }
+    }
+
+    public boolean isBatching() {
+        synchronized (lock) {
+            return batching;
+        }
+    }
+
+    void setBatchWindowMs(long windowMs) {
+        synchronized (lock) {
+            batchWindowMs = windowMs;
+        }
+    }
+
+    /**
+     * جدولة عمل على مسار - name يظهر في السجل عند فشل العمل
+     */
+    public void submit(String name, int lane, Runnable task) {
+        boolean scheduleWindow = false;
+        boolean dispatchNow = false;
+        long releaseAt = 0;
+        synchronized (lock) {
+            Job job = new Job(name, lane, task, clock.uptimeMillis());
+            metrics[lane].submitted++;
+            metrics[lane].queueDepth++;
+            if (lane == LANE_DEFERRABLE && batching) {
+                batch.add(job);
+                if (!batchWindowScheduled) {
+                    batchWindowScheduled = true;
+                    scheduleWindow = true;
+                    releaseAt = job.submittedAt + batchWindowMs;
+                }
+            } else {
+                ready[lane].addLast(job);
+                dispatchNow = true;
+            }
+        }
+
+        if (scheduleWindow) {
+            clock.postAtTime(releaseBatchRunnable, releaseAt);
+        } else if (dispatchNow) {
+            dispatch(lane);
+        }
+    }
+
+    /**
+     * منفذ يرسل كل مهمة إلى المسار المحدد - مثلاً لتمريره إلى PagedList
+     */
+    public Executor executor(int lane) {
+        return laneExecutors[lane];
+    }
+
+    /**
+     * نقل الدفعة المؤجلة كاملة إلى التنفيذ
+     */
+    private void releaseBatch() {
+        int released;
+        synchronized (lock) {
+            clock.removeCallbacks(releaseBatchRunnable);
+            batchWindowScheduled = false;
+            released = batch.size();
+            for (Job job : batch) {
+                ready[LANE_DEFERRABLE].addLast(job);
+            }
+            batch.clear();
+        }
+        if (released > 0) {
+            Log.d(TAG, "تشغيل دفعة الأعمال المؤجلة - العدد: " + released);
+        }
+        for (int i = 0; i < released; i++) {
+            dispatch(LANE_DEFERRABLE);
+        }
+    }
+
+    private void dispatch(int lane) {
+        if (lane == LANE_DEFERRABLE) {
+            deferrableExecutor.execute(() -> runNext(LANE_DEFERRABLE, LANE_DEFERRABLE));
+        } else {
+            foregroundExecutor.execute(() -> runNext(LANE_UI_CRITICAL, LANE_IO));
+        }
+    }
+
+    /**
+     * تنفيذ العمل الأعلى أولوية المتاح بين المسارات التي يخدمها المنفذ
+     * كل إرسال يقابله استدعاء واحد لذلك لا يبقى أي عمل دون تنفيذ
+     */
+    private void runNext(int firstLane, int lastLane) {
+        Job job = null;
+        long startedAt;
+        synchronized (lock) {
+            for (int lane = firstLane; lane <= lastLane && job == null; lane++) {
+                job = ready[lane].pollFirst();
+            }
+            if (job == null) {
+                return;
+            }
+            startedAt = clock.uptimeMillis();
+            LaneMetrics laneMetrics = metrics[job.lane];
+            laneMetrics.queueDepth--;
+            long waitMs = startedAt - job.submittedAt;
+            laneMetrics.totalWaitMs += waitMs;
+            laneMetrics.maxWaitMs = Math.max(laneMetrics.maxWaitMs, waitMs);
+        }
+
+        boolean failed = false;
+        try {
+            job.task.run();
+        } catch (RuntimeException e) {
+            failed = true;
+            Log.e(TAG, "فشل العمل " + job.name + " في المسار " + LANE_NAMES[job.lane], e);
+        }
+
+        synchronized (lock) {
+            LaneMetrics laneMetrics = metrics[job.lane];
+            long runMs = clock.uptimeMillis() - startedAt;
+            laneMetrics.totalRunMs += runMs;
+            laneMetrics.maxRunMs = Math.max(laneMetrics.maxRunMs, runMs);
+            if (failed) {
+                laneMetrics.failed++;
+            } else {
+                laneMetrics.completed++;
+            }
+        }
+    }
+
+    /**
+     * نسخة من مقاييس المسار
+     */
+    public LaneMetrics getMetrics(int lane) {
+        LaneMetrics copy = new LaneMetrics();
+        synchronized (lock) {
+            metrics[lane].copyInto(copy);
+        }
+        return copy;
+    }
+
+    public String getStats() {
+        StringBuilder stats = new StringBuilder(192);
+        synchronized (lock) {
+            for (int lane = 0; lane < LANE_COUNT; lane++) {
+                LaneMetrics m = metrics[lane];
+                if (lane > 0) {
+                    stats.append(' ');
+                }
+                stats.append(LANE_NAMES[lane])
+                    .append("[depth=").append(m.queueDepth)
+                    .append(" done=").append(m.completed)
+                    .append(" failed=").append(m.failed)
+                    .append(" waitAvg=").append(m.averageWaitMs())
+                    .append(" waitMax=").append(m.maxWaitMs)
+                    .append(" runAvg=").append(m.averageRunMs())
+                    .append(" runMax=").append(m.maxRunMs)
+                    .append(']');
+            }
+        }
+        return stats.toString();
+    }
+}
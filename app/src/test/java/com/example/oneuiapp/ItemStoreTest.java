@@ -0,0 +1,138 @@
+package com.example.oneuiapp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * اختبار نسخ العناصر إلى المخزن عبر WorkScheduler مع تجميع توفير البطارية مفعلاً
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ItemStoreTest {
+
+    // عدة دفعات كاملة ودفعة أخيرة ناقصة
+    private static final int ITEM_COUNT = ItemStore.SEED_CHUNK_SIZE * 3 + 17;
+
+    // open() يجب أن يعود فوراً، والمهلة فقط حتى لا يتوقف الاختبار عند الفشل
+    private static final long LOCK_TIMEOUT_MS = 5_000;
+
+    private WorkSchedulerTest.VirtualClock clock;
+    private WorkSchedulerTest.ManualExecutor foreground;
+    private WorkSchedulerTest.ManualExecutor deferrable;
+    private WorkScheduler scheduler;
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        clock = new WorkSchedulerTest.VirtualClock();
+        foreground = new WorkSchedulerTest.ManualExecutor();
+        deferrable = new WorkSchedulerTest.ManualExecutor();
+        scheduler = new WorkScheduler(foreground, deferrable, clock);
+        scheduler.setBatching(true);
+        directory = Files.createTempDirectory("item_store").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void seedFillsStoreWithoutWaitingForBatchWindow() throws Exception {
+        ListDataSource source = new SyntheticListDataSource(ITEM_COUNT);
+        ItemStore store = new ItemStore(directory);
+
+        store.seed(source, scheduler);
+        // الوقت لا يتقدم، فأي دفعة في المسار المؤجل تبقى معلقة
+        foreground.runAll();
+
+        assertEquals(ITEM_COUNT, store.getCount());
+        assertEquals(0, deferrable.size());
+        assertEquals(0, clock.pendingCount());
+        StoredListDataSource stored = new ItemStore(directory).open();
+        assertEquals(ITEM_COUNT, stored.size());
+        assertEquals(source.get(ITEM_COUNT - 1), stored.get(ITEM_COUNT - 1));
+    }
+
+    @Test
+    public void seedResumesAfterStoredItems() throws Exception {
+        ListDataSource source = new SyntheticListDataSource(ITEM_COUNT);
+        new ItemStore(directory).append(source, 0, ItemStore.SEED_CHUNK_SIZE + 5);
+
+        // مخزن جديد كما بعد إعادة تشغيل التطبيق في منتصف النسخ
+        ItemStore store = new ItemStore(directory);
+        store.seed(source, scheduler);
+        foreground.runAll();
+
+        assertEquals(ITEM_COUNT, store.getCount());
+        assertEquals(3, scheduler.getMetrics(WorkScheduler.LANE_IO).completed);
+    }
+
+    @Test
+    public void openDoesNotWaitForAppendInProgress() throws Exception {
+        ListDataSource source = new SyntheticListDataSource(ITEM_COUNT);
+        ItemStore store = new ItemStore(directory);
+        store.append(source, 0, ItemStore.SEED_CHUNK_SIZE);
+
+        // دفعة تتوقف أثناء الترميز كما لو كانت على LANE_IO والخيط الرئيسي يفتح المخزن
+        CountDownLatch encoding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ListDataSource blocking = new ListDataSource() {
+            @Override
+            public int size() {
+                return source.size();
+            }
+
+            @Override
+            public String get(int position) {
+                encoding.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return source.get(position);
+            }
+
+            @Override
+            public long getItemId(int position) {
+                return source.getItemId(position);
+            }
+        };
+        Thread writer = new Thread(() -> {
+            try {
+                store.append(blocking, ItemStore.SEED_CHUNK_SIZE, ItemStore.SEED_CHUNK_SIZE * 2);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        writer.start();
+        try {
+            assertTrue(encoding.await(LOCK_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+            FutureTask<StoredListDataSource> open = new FutureTask<>(store::open);
+            new Thread(open).start();
+            // الدفعة الجديدة لا تظهر قبل اكتمال كتابتها
+            assertEquals(ItemStore.SEED_CHUNK_SIZE, open.get(LOCK_TIMEOUT_MS, TimeUnit.MILLISECONDS).size());
+        } finally {
+            release.countDown();
+            writer.join();
+        }
+        assertEquals(ItemStore.SEED_CHUNK_SIZE * 2, store.getCount());
+        assertEquals(ItemStore.SEED_CHUNK_SIZE * 2, store.open().size());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.oneuiapp;
+
+import android.content.Intent;
+import android.os.Looper;
+import android.view.View;
+import androidx.fragment.app.Fragment;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.android.controller.ActivityController;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * اختبار أن إعادة إنشاء النشاط تُبقي الشاشة المعروضة بدلاً من العودة للمحتوى الرئيسي
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MainActivityTest {
+
+    private static final String SETTINGS_SCREEN = "SettingsFragment";
+
+    @Test
+    public void recreateKeepsCurrentScreen() {
+        Intent intent = new Intent(RuntimeEnvironment.getApplication(), MainActivity.class)
+            .putExtra(MainActivity.EXTRA_START_SCREEN, SETTINGS_SCREEN);
+        ActivityController<MainActivity> controller = Robolectric.buildActivity(MainActivity.class, intent).setup();
+        try {
+            shadowOf(Looper.getMainLooper()).idle();
+            assertScreenShown(controller.get());
+
+            controller.recreate();
+            shadowOf(Looper.getMainLooper()).idle();
+            assertScreenShown(controller.get());
+        } finally {
+            controller.pause().stop().destroy();
+        }
+    }
+
+    private static void assertScreenShown(MainActivity activity) {
+        Fragment settings = activity.getSupportFragmentManager().findFragmentByTag(SETTINGS_SCREEN);
+        assertNotNull(settings);
+        assertFalse(settings.isHidden());
+        assertTrue(settings.isResumed());
+        assertEquals(View.GONE, activity.findViewById(R.id.home_content).getVisibility());
+    }
+}
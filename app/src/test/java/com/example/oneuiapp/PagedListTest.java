@@ -0,0 +1,57 @@
+package com.example.oneuiapp;
+
+import android.os.Looper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * اختبار نافذة الصفحات: التمرير عبر مليون عنصر لا يحتفظ بأكثر من maxPages ولا تنمو الذاكرة مع طول القائمة
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PagedListTest {
+
+    private static final int ROW_COUNT = 1_000_000;
+
+    // النافذة الكاملة بضع مئات من النصوص - تحميل كل العناصر يتجاوز هذا الحد بأكثر من عشرين ضعفاً
+    private static final long HEAP_CEILING_BYTES = 4L * 1024 * 1024;
+    private static final int HEAP_SAMPLE_ROWS = 100_000;
+
+    @Test
+    public void scrollingMillionRowsKeepsWindowAndHeapBounded() {
+        PagedList pagedList = new PagedList(
+            new SyntheticListDataSource(ROW_COUNT),
+            PagedList.DEFAULT_PAGE_SIZE,
+            PagedList.DEFAULT_MAX_PAGES,
+            PagedList.DEFAULT_PREFETCH_PAGES,
+            Runnable::run);
+
+        long baseline = usedHeap();
+        long peak = 0;
+        for (int position = 0; position < ROW_COUNT; position += PagedList.DEFAULT_PAGE_SIZE) {
+            pagedList.get(position);
+            shadowOf(Looper.getMainLooper()).idle();
+            assertTrue("صفحات محملة: " + pagedList.getLoadedPageCount(),
+                pagedList.getLoadedPageCount() <= PagedList.DEFAULT_MAX_PAGES);
+            if (position % HEAP_SAMPLE_ROWS == 0) {
+                peak = Math.max(peak, usedHeap() - baseline);
+            }
+        }
+        peak = Math.max(peak, usedHeap() - baseline);
+
+        assertNotNull(pagedList.get(ROW_COUNT - 1));
+        assertTrue("أعلى زيادة في الذاكرة: " + peak / 1024 + " KB", peak < HEAP_CEILING_BYTES);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Looper;
+import android.util.DisplayMetrics;
+import android.view.View;
+import android.view.ViewGroup;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.android.controller.ActivityController;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * اختبار إعادة استخدام صفوف ScrollAdapter داخل حاوية النشاط الحقيقية
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ScrollAdapterTest {
+
+    private static final int SCROLL_STEPS = 20;
+    private static final long SETTLE_TIMEOUT_MS = 60_000;
+
+    // صف جزئي عند كل طرف وصفوف الحاوية المؤقتة أثناء التمرير
+    private static final int RECYCLE_SLACK = 8;
+
+    // الربط يدور على صفوف هذه الصفحات، والنافذة تحملها مع صفحات التحميل المسبق حولها
+    private static final int BOUND_PAGES = 8;
+    private static final int WINDOW_PAGES = BOUND_PAGES + 2 * PagedList.DEFAULT_PREFETCH_PAGES;
+    private static final int BIND_COUNT = 10_000;
+    // تشغيلات تحمية حتى يترجم JIT مسار الربط قبل القياس
+    private static final int WARMUP_ROUNDS = 5;
+    private static final double MAX_BYTES_PER_BIND = 8;
+
+    @Test
+    public void createdHoldersFollowViewportNotItemCount() throws Exception {
+        int small = createdHoldersWhileScrolling(1_000);
+        int large = createdHoldersWhileScrolling(1_000_000);
+        assertEquals(small, large);
+    }
+
+    @Test
+    public void bindAllocatesNothingInSteadyState() throws Exception {
+        Context context = RuntimeEnvironment.getApplication();
+        RecyclerView parent = new RecyclerView(context);
+        parent.setLayoutManager(new LinearLayoutManager(context));
+
+        // كل صفحات النافذة محملة مسبقاً فلا يقيس الربط تحميل الصفحات نفسه
+        // التحميل من الأبعد إلى الأقرب حتى تبقى الصفحات الأولى بعد حذف التحميل المسبق الزائد
+        PagedList pagedList = new PagedList(
+            new SyntheticListDataSource(ScrollFragment.ITEM_COUNT),
+            PagedList.DEFAULT_PAGE_SIZE,
+            WINDOW_PAGES,
+            PagedList.DEFAULT_PREFETCH_PAGES,
+            Runnable::run);
+        ScrollAdapter adapter = new ScrollAdapter(pagedList, "...");
+        for (int page = WINDOW_PAGES - 1; page >= 0; page--) {
+            pagedList.get(page * PagedList.DEFAULT_PAGE_SIZE);
+        }
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(WINDOW_PAGES, pagedList.getLoadedPageCount());
+
+        int boundItems = BOUND_PAGES * PagedList.DEFAULT_PAGE_SIZE;
+        ScrollAdapter.ViewHolder holder = adapter.onCreateViewHolder(parent, ScrollAdapter.VIEW_TYPE_ROW);
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            bindAll(adapter, holder, boundItems);
+        }
+        long before = allocatedBytes();
+        bindAll(adapter, holder, boundItems);
+        double bytesPerBind = (double) (allocatedBytes() - before) / BIND_COUNT;
+
+        assertEquals(WINDOW_PAGES, pagedList.getLoadedPageCount());
+        assertTrue("تخصيص لكل ربط: " + bytesPerBind + " بايت",
+            before >= 0 && bytesPerBind <= MAX_BYTES_PER_BIND);
+    }
+
+    private static void bindAll(ScrollAdapter adapter, ScrollAdapter.ViewHolder holder, int boundItems) {
+        for (int i = 0; i < BIND_COUNT; i++) {
+            adapter.onBindViewHolder(holder, i % boundItems);
+        }
+    }
+
+    /**
+     * الذاكرة المخصصة من الخيط الحالي، أو -1 إذا لم يدعمها JVM
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean)
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * عدد الصفوف المنشأة أثناء فتح القائمة من النشاط الحقيقي ثم تمريرها عشر شاشات
+     * التخطيط من activity_main.xml كما هو، فحاوية بلا ارتفاع محدد تجعل القائمة تنشئ صفاً لكل عنصر
+     */
+    private static int createdHoldersWhileScrolling(int itemCount) throws InterruptedException {
+        Intent intent = new Intent(RuntimeEnvironment.getApplication(), MainActivity.class)
+            .putExtra(MainActivity.EXTRA_ITEM_COUNT, itemCount);
+        ActivityController<MainActivity> controller = Robolectric.buildActivity(MainActivity.class, intent);
+        try {
+            MainActivity activity = controller.setup().get();
+            View decor = activity.getWindow().getDecorView();
+            int before = ScrollAdapter.getCreatedHolderCount();
+
+            activity.findViewById(R.id.btn_scroll_list).performClick();
+            settle(decor);
+            RecyclerView recyclerView = findRecyclerView(decor);
+            assertNotNull("لم تظهر قائمة التمرير", recyclerView);
+            // حركة التغيير تنشئ صفاً إضافياً لكل صفحة تكتمل، وهذا خارج ما يقيسه الاختبار
+            recyclerView.setItemAnimator(null);
+            settle(decor);
+
+            int listHeight = recyclerView.getHeight();
+            assertTrue("ارتفاع القائمة: " + listHeight + " الشاشة: " + decor.getHeight(),
+                listHeight > 0 && listHeight <= decor.getHeight());
+            int visibleRows = recyclerView.getChildCount();
+            int rowHeight = recyclerView.getChildAt(0).getHeight();
+            assertTrue("صفوف ظاهرة: " + visibleRows, visibleRows <= listHeight / rowHeight + 2);
+
+            for (int step = 0; step < SCROLL_STEPS; step++) {
+                recyclerView.scrollBy(0, listHeight / 2);
+                settle(decor);
+            }
+
+            // الصفوف الظاهرة مع المساحة الإضافية وذاكرة الصفوف المؤقتة لوضع الأداء والتجهيز المسبق
+            PerformanceMode.Profile profile = PerformanceMode.getInstance(activity).getProfile();
+            int allowed = (int) Math.ceil(visibleRows * (1 + profile.extraLayoutScreens))
+                + profile.itemViewCacheSize + ScrollFragment.PREWARM_ROW_COUNT + RECYCLE_SLACK;
+            int created = ScrollAdapter.getCreatedHolderCount() - before;
+            assertTrue("صفوف منشأة: " + created + " ظاهرة: " + visibleRows, created <= allowed);
+            return created;
+        } finally {
+            controller.pause().stop().destroy();
+        }
+    }
+
+    /**
+     * تشغيل الرسائل وأعمال الخلفية حتى لا يبقى شيء معلق ثم تخطيط النافذة بحجم الشاشة
+     */
+    private static void settle(View decor) throws InterruptedException {
+        WorkScheduler scheduler = WorkScheduler.getInstance(decor.getContext());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SETTLE_TIMEOUT_MS);
+        while (true) {
+            shadowOf(Looper.getMainLooper()).idle();
+            if (isDrained(scheduler, WorkScheduler.LANE_UI_CRITICAL) && isDrained(scheduler, WorkScheduler.LANE_IO)
+                    && shadowOf(Looper.getMainLooper()).isIdle()) {
+                break;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("لم تنته أعمال الخلفية خلال " + SETTLE_TIMEOUT_MS + " ms");
+            }
+            Thread.sleep(1);
+        }
+        DisplayMetrics metrics = decor.getResources().getDisplayMetrics();
+        decor.measure(
+            View.MeasureSpec.makeMeasureSpec(metrics.widthPixels, View.MeasureSpec.EXACTLY),
+            View.MeasureSpec.makeMeasureSpec(metrics.heightPixels, View.MeasureSpec.EXACTLY));
+        decor.layout(0, 0, metrics.widthPixels, metrics.heightPixels);
+    }
+
+    private static boolean isDrained(WorkScheduler scheduler, int lane) {
+        WorkScheduler.LaneMetrics metrics = scheduler.getMetrics(lane);
+        return metrics.completed + metrics.failed == metrics.submitted;
+    }
+
+    private static RecyclerView findRecyclerView(View view) {
+        if (view instanceof RecyclerView && view.isShown()) {
+            return (RecyclerView) view;
+        }
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                RecyclerView found = findRecyclerView(group.getChildAt(i));
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * اختبار أن القيم الافتراضية في SettingsStore.Key تطابق app:defaultValue في preferences.xml
+ * المخزن لا يقرأ الملف عند بدء التطبيق، فهذا الاختبار هو ما يمنع اختلاف القيمتين
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SettingsDefaultsTest {
+
+    @Test
+    public void keyDefaultsMatchSchema() {
+        Context context = RuntimeEnvironment.getApplication();
+        SettingsSchema schema = SettingsSchema.parse(context.getResources(), R.xml.preferences);
+
+        int keyed = 0;
+        for (int i = 0; i < schema.size(); i++) {
+            SettingsStore.Key<?> key = schema.get(i).key;
+            if (key == null) {
+                continue;
+            }
+            keyed++;
+            assertTrue("لا توجد قيمة افتراضية في المخطط: " + key.name,
+                schema.getDefaults().containsKey(key.name));
+            assertEquals(key.name, key.defaultValue, schema.getDefaults().get(key.name));
+        }
+        assertTrue(keyed > 0);
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.oneuiapp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * اختبار الأولويات والتجميع ومقاييس WorkScheduler بساعة افتراضية ومنفذات يدوية
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WorkSchedulerTest {
+
+    private static final long WINDOW_MS = 60_000;
+
+    private VirtualClock clock;
+    private ManualExecutor foreground;
+    private ManualExecutor deferrable;
+    private WorkScheduler scheduler;
+    private List<String> log;
+
+    @Before
+    public void setUp() {
+        clock = new VirtualClock();
+        foreground = new ManualExecutor();
+        deferrable = new ManualExecutor();
+        scheduler = new WorkScheduler(foreground, deferrable, clock);
+        scheduler.setBatchWindowMs(WINDOW_MS);
+        log = new ArrayList<>();
+    }
+
+    @Test
+    public void uiCriticalRunsBeforeQueuedIo() {
+        scheduler.submit("io1", WorkScheduler.LANE_IO, () -> log.add("io1"));
+        scheduler.submit("io2", WorkScheduler.LANE_IO, () -> log.add("io2"));
+        scheduler.submit("ui", WorkScheduler.LANE_UI_CRITICAL, () -> log.add("ui"));
+
+        foreground.runAll();
+
+        assertEquals(list("ui", "io1", "io2"), log);
+    }
+
+    @Test
+    public void deferrableRunsPromptlyWithoutBatching() {
+        scheduler.submit("cleanup", WorkScheduler.LANE_DEFERRABLE, () -> log.add("cleanup"));
+
+        assertEquals(1, deferrable.size());
+        deferrable.runAll();
+        assertEquals(list("cleanup"), log);
+        assertEquals(0, scheduler.getMetrics(WorkScheduler.LANE_DEFERRABLE).maxWaitMs);
+    }
+
+    @Test
+    public void batchingCoalescesDeferrableWorkIntoOneWindow() {
+        scheduler.setBatching(true);
+        scheduler.submit("a", WorkScheduler.LANE_DEFERRABLE, () -> log.add("a"));
+        clock.advance(10_000);
+        scheduler.submit("b", WorkScheduler.LANE_DEFERRABLE, () -> log.add("b"));
+
+        clock.advance(WINDOW_MS - 10_000 - 1);
+        assertEquals(0, deferrable.size());
+        assertEquals(2, scheduler.getMetrics(WorkScheduler.LANE_DEFERRABLE).queueDepth);
+
+        clock.advance(1);
+        assertEquals(2, deferrable.size());
+        deferrable.runAll();
+
+        assertEquals(list("a", "b"), log);
+        WorkScheduler.LaneMetrics metrics = scheduler.getMetrics(WorkScheduler.LANE_DEFERRABLE);
+        assertEquals(0, metrics.queueDepth);
+        assertEquals(2, metrics.completed);
+        assertEquals(WINDOW_MS, metrics.maxWaitMs);
+        assertEquals(WINDOW_MS + WINDOW_MS - 10_000, metrics.totalWaitMs);
+    }
+
+    @Test
+    public void batchingDoesNotDelayOtherLanes() {
+        scheduler.setBatching(true);
+        scheduler.submit("flush", WorkScheduler.LANE_IO, () -> log.add("flush"));
+
+        foreground.runAll();
+        assertEquals(list("flush"), log);
+    }
+
+    @Test
+    public void disablingBatchingReleasesPendingWork() {
+        scheduler.setBatching(true);
+        scheduler.submit("a", WorkScheduler.LANE_DEFERRABLE, () -> log.add("a"));
+        clock.advance(5_000);
+
+        scheduler.setBatching(false);
+        deferrable.runAll();
+
+        assertEquals(list("a"), log);
+        assertEquals(0, clock.pendingCount());
+        assertEquals(5_000, scheduler.getMetrics(WorkScheduler.LANE_DEFERRABLE).maxWaitMs);
+    }
+
+    @Test
+    public void nextWindowStartsAfterRelease() {
+        scheduler.setBatching(true);
+        scheduler.submit("a", WorkScheduler.LANE_DEFERRABLE, () -> log.add("a"));
+        clock.advance(WINDOW_MS);
+        deferrable.runAll();
+
+        scheduler.submit("b", WorkScheduler.LANE_DEFERRABLE, () -> log.add("b"));
+        clock.advance(WINDOW_MS - 1);
+        assertEquals(0, deferrable.size());
+        clock.advance(1);
+        deferrable.runAll();
+
+        assertEquals(list("a", "b"), log);
+    }
+
+    @Test
+    public void metricsTrackWaitAndRunTime() {
+        scheduler.submit("slow", WorkScheduler.LANE_IO, () -> clock.advance(30));
+        clock.advance(20);
+        foreground.runAll();
+
+        WorkScheduler.LaneMetrics metrics = scheduler.getMetrics(WorkScheduler.LANE_IO);
+        assertEquals(1, metrics.submitted);
+        assertEquals(1, metrics.completed);
+        assertEquals(20, metrics.maxWaitMs);
+        assertEquals(30, metrics.maxRunMs);
+        assertEquals(30, metrics.averageRunMs());
+    }
+
+    @Test
+    public void failingJobIsCountedAndDoesNotBlockOthers() {
+        scheduler.submit("bad", WorkScheduler.LANE_IO, () -> {
+            throw new IllegalStateException("test");
+        });
+        scheduler.submit("good", WorkScheduler.LANE_IO, () -> log.add("good"));
+        foreground.runAll();
+
+        WorkScheduler.LaneMetrics metrics = scheduler.getMetrics(WorkScheduler.LANE_IO);
+        assertEquals(1, metrics.failed);
+        assertEquals(1, metrics.completed);
+        assertEquals(list("good"), log);
+    }
+
+    @Test
+    public void laneExecutorSubmitsToLane() {
+        scheduler.executor(WorkScheduler.LANE_IO).execute(() -> log.add("io"));
+        scheduler.executor(WorkScheduler.LANE_UI_CRITICAL).execute(() -> log.add("ui"));
+        foreground.runAll();
+
+        assertEquals(list("ui", "io"), log);
+        assertTrue(scheduler.getStats().contains("io[depth=0 done=1"));
+    }
+
+    private static List<String> list(String... values) {
+        List<String> result = new ArrayList<>();
+        for (String value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    /**
+     * ساعة افتراضية تنفذ المؤقتات المستحقة عند تقديم الوقت
+     */
+    static final class VirtualClock implements WorkScheduler.Clock {
+        private final List<Runnable> runnables = new ArrayList<>();
+        private final List<Long> times = new ArrayList<>();
+        private long now = 1_000;
+
+        @Override
+        public long uptimeMillis() {
+            return now;
+        }
+
+        @Override
+        public void postAtTime(Runnable runnable, long uptimeMillis) {
+            runnables.add(runnable);
+            times.add(uptimeMillis);
+        }
+
+        @Override
+        public void removeCallbacks(Runnable runnable) {
+            for (int i = runnables.size() - 1; i >= 0; i--) {
+                if (runnables.get(i) == runnable) {
+                    runnables.remove(i);
+                    times.remove(i);
+                }
+            }
+        }
+
+        int pendingCount() {
+            return runnables.size();
+        }
+
+        void advance(long ms) {
+            now += ms;
+            boolean ranAny = true;
+            while (ranAny) {
+                ranAny = false;
+                for (int i = 0; i < runnables.size(); i++) {
+                    if (times.get(i) <= now) {
+                        Runnable due = runnables.remove(i);
+                        times.remove(i);
+                        due.run();
+                        ranAny = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * منفذ يحتفظ بالمهام حتى يُطلب تشغيلها
+     */
+    static final class ManualExecutor implements Executor {
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.addLast(command);
+        }
+
+        int size() {
+            return tasks.size();
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.pollFirst()) != null) {
+                task.run();
+            }
+        }
+    }
+}
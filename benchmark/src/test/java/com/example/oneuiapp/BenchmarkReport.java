@@ -0,0 +1,100 @@
+package com.example.oneuiapp;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * تجميع نتائج فئة قياس واحدة وحفظها كملف JSON
+ * الملف باسم الفئة داخل المجلد المحدد بالخاصية benchmark.outputDir
+ */
+final class BenchmarkReport {
+
+    private final String suite;
+    private final List<Microbenchmark.Result> results = new ArrayList<>();
+
+    BenchmarkReport(Class<?> suiteClass) {
+        this.suite = suiteClass.getSimpleName();
+    }
+
+    synchronized void add(Microbenchmark.Result result) {
+        results.add(result);
+    }
+
+    synchronized void write() throws IOException {
+        File dir = new File(System.getProperty("benchmark.outputDir", "build/benchmark-results"));
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("تعذر إنشاء مجلد النتائج: " + dir);
+        }
+
+        StringBuilder json = new StringBuilder(1024);
+        json.append("{\n");
+        appendField(json, "  ", "suite", suite).append(",\n");
+        appendField(json, "  ", "commit", System.getProperty("benchmark.commit", "unknown")).append(",\n");
+        appendField(json, "  ", "jvm", System.getProperty("java.vm.name") + " "
+            + System.getProperty("java.version")).append(",\n");
+        appendField(json, "  ", "os", System.getProperty("os.name") + " "
+            + System.getProperty("os.arch")).append(",\n");
+        json.append("  \"timestamp\": ").append(System.currentTimeMillis()).append(",\n");
+        json.append("  \"benchmarks\": [");
+        for (int i = 0; i < results.size(); i++) {
+            json.append(i == 0 ? "\n" : ",\n");
+            appendResult(json, results.get(i));
+        }
+        json.append("\n  ]\n}\n");
+
+        File file = new File(dir, suite + ".json");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(json.toString());
+        }
+        System.out.println("نتائج القياس: " + file.getAbsolutePath());
+    }
+
+    private static void appendResult(StringBuilder json, Microbenchmark.Result result) {
+        String indent = "      ";
+        json.append("    {\n");
+        appendField(json, indent, "name", result.name).append(",\n");
+        json.append(indent).append("\"mode\": \"avgt\",\n");
+        json.append(indent).append("\"unit\": \"ns/op\",\n");
+        json.append(indent).append("\"opsPerIteration\": ").append(result.opsPerIteration).append(",\n");
+        json.append(indent).append("\"iterations\": ").append(result.nanosPerOp.length).append(",\n");
+        appendNumber(json, indent, "score", result.mean()).append(",\n");
+        appendNumber(json, indent, "p50", result.percentile(50)).append(",\n");
+        appendNumber(json, indent, "p90", result.percentile(90)).append(",\n");
+        appendNumber(json, indent, "min", result.percentile(0)).append(",\n");
+        appendNumber(json, indent, "max", result.percentile(100)).append(",\n");
+        appendNumber(json, indent, "allocatedBytesPerOp", result.allocatedBytesPerOp);
+        for (Map.Entry<String, Double> extra : result.extras.entrySet()) {
+            json.append(",\n");
+            appendNumber(json, indent, extra.getKey(), extra.getValue());
+        }
+        json.append("\n    }");
+    }
+
+    private static StringBuilder appendField(StringBuilder json, String indent, String key, String value) {
+        json.append(indent).append('"').append(key).append("\": \"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"');
+    }
+
+    private static StringBuilder appendNumber(StringBuilder json, String indent, String key, double value) {
+        return json.append(indent).append('"').append(key).append("\": ")
+            .append(String.format(Locale.ROOT, "%.2f", value));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.oneuiapp;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * اختبار أن ملف النتائج JSON صالح ويحمل كل قيم القياس حتى تُقارن بين الإصدارات
+ */
+@RunWith(RobolectricTestRunner.class)
+public class BenchmarkReportTest {
+
+    private static final String OUTPUT_DIR_PROPERTY = "benchmark.outputDir";
+
+    private File directory;
+    private String previousDir;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("benchmark_results").toFile();
+        previousDir = System.getProperty(OUTPUT_DIR_PROPERTY);
+        System.setProperty(OUTPUT_DIR_PROPERTY, directory.getPath());
+    }
+
+    @After
+    public void tearDown() {
+        if (previousDir != null) {
+            System.setProperty(OUTPUT_DIR_PROPERTY, previousDir);
+        } else {
+            System.clearProperty(OUTPUT_DIR_PROPERTY);
+        }
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void writesParsableJson() throws Exception {
+        BenchmarkReport report = new BenchmarkReport(BenchmarkReportTest.class);
+        // اسم يحتاج تهريباً في JSON
+        Microbenchmark.Result result = Microbenchmark.run("Report.\"quoted\\name\"", 1_000,
+            i -> Microbenchmark.longSink += i)
+            .extra("items", 42);
+        report.add(result);
+        report.write();
+
+        File file = new File(directory, BenchmarkReportTest.class.getSimpleName() + ".json");
+        JSONObject json = new JSONObject(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        assertEquals(BenchmarkReportTest.class.getSimpleName(), json.getString("suite"));
+
+        JSONArray benchmarks = json.getJSONArray("benchmarks");
+        assertEquals(1, benchmarks.length());
+        JSONObject entry = benchmarks.getJSONObject(0);
+        assertEquals(result.name, entry.getString("name"));
+        assertEquals(1_000, entry.getInt("opsPerIteration"));
+        assertEquals(Microbenchmark.MEASUREMENT_ITERATIONS, entry.getInt("iterations"));
+        assertEquals(42, entry.getDouble("items"), 0);
+        assertTrue(entry.getDouble("score") > 0);
+        assertTrue(entry.getDouble("min") <= entry.getDouble("p50"));
+        assertTrue(entry.getDouble("p90") <= entry.getDouble("max"));
+    }
+}
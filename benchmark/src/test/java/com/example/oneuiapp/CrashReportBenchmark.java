@@ -0,0 +1,120 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import java.io.File;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * قياس مسار تقرير الخطأ: التجهيز في المخزن، البصمة، تنسيق الأحجام وسجل المسار
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CrashReportBenchmark {
+
+    private static final BenchmarkReport REPORT = new BenchmarkReport(CrashReportBenchmark.class);
+
+    private static final int CONTENDING_WRITERS = 3;
+
+    private static final long[] SIZES = {
+        512, 4_096, 65_536, 1_048_576, 5_242_880, 268_435_456, 2_147_483_648L, 17
+    };
+
+    private Context context;
+    private Throwable exception;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        BreadcrumbLog.initialize(context);
+        for (int i = 0; i < 256; i++) {
+            BreadcrumbLog.record(BreadcrumbLog.CATEGORY_NAVIGATION, "ScrollFragment", i);
+        }
+        exception = new RuntimeException("فشل التحميل",
+            new IllegalStateException("حالة غير صالحة",
+                new NullPointerException()));
+    }
+
+    @AfterClass
+    public static void writeReport() throws Exception {
+        REPORT.write();
+    }
+
+    @Test
+    public void renderReport() throws Exception {
+        File internalDir = new File(context.getFilesDir(), "crash_logs");
+        File publicDir = new File(context.getExternalFilesDir(null), CrashReportWriter.PUBLIC_DIR_NAME);
+        CrashReportWriter writer = new CrashReportWriter(context, publicDir, internalDir);
+        File target = new File(publicDir, "OneUI_Crash_bench.txt");
+        Thread thread = Thread.currentThread();
+        long signature = CrashFingerprint.compute(exception);
+
+        int reportBytes = writer.renderOnly(thread, exception, signature, target);
+        assertTrue("حجم التقرير: " + reportBytes, reportBytes > 0);
+        REPORT.add(Microbenchmark.run("CrashReportWriter.render", 200,
+            i -> Microbenchmark.longSink = writer.renderOnly(thread, exception, signature, target))
+            .extra("reportBytes", reportBytes));
+    }
+
+    @Test
+    public void fingerprint() throws Exception {
+        assertEquals(CrashFingerprint.compute(exception), CrashFingerprint.compute(exception));
+        REPORT.add(Microbenchmark.run("CrashFingerprint.compute", 2_000,
+            i -> Microbenchmark.longSink = CrashFingerprint.compute(exception)));
+    }
+
+    @Test
+    public void formatBytes() throws Exception {
+        assertEquals("512 B", CrashHandler.formatBytes(512));
+        assertTrue(CrashHandler.formatBytes(4_096).endsWith(" KB"));
+        assertTrue(CrashHandler.formatBytes(5_242_880).endsWith(" MB"));
+        assertTrue(CrashHandler.formatBytes(2_147_483_648L).endsWith(" GB"));
+        REPORT.add(Microbenchmark.run("CrashHandler.formatBytes", 10_000,
+            i -> Microbenchmark.sink = CrashHandler.formatBytes(SIZES[i & 7])));
+    }
+
+    @Test
+    public void breadcrumbRecord() throws Exception {
+        REPORT.add(Microbenchmark.run("BreadcrumbLog.record", 10_000,
+            i -> BreadcrumbLog.record(BreadcrumbLog.CATEGORY_BIND, "bind", i)));
+    }
+
+    @Test
+    public void breadcrumbRecordContended() throws Exception {
+        // كتّاب آخرون يسجلون طوال القياس كما يفعل خيط الواجهة مع خيوط التحميل والحفظ
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread[] writers = new Thread[CONTENDING_WRITERS];
+        for (int w = 0; w < writers.length; w++) {
+            final long id = w;
+            writers[w] = new Thread(() -> {
+                while (running.get()) {
+                    BreadcrumbLog.record(BreadcrumbLog.CATEGORY_LIFECYCLE, "writer", id);
+                }
+            }, "breadcrumb-writer-" + w);
+            writers[w].start();
+        }
+        Microbenchmark.Result result;
+        try {
+            result = Microbenchmark.run("BreadcrumbLog.record.contended", 10_000,
+                i -> BreadcrumbLog.record(BreadcrumbLog.CATEGORY_BIND, "bind", i));
+        } finally {
+            running.set(false);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        }
+        REPORT.add(result.extra("writers", CONTENDING_WRITERS + 1));
+
+        // آخر الأحداث مقروءة كاملة بعد الكتابة المتزامنة
+        BreadcrumbLog log = BreadcrumbLog.getInstance();
+        BreadcrumbLog.Entry entry = new BreadcrumbLog.Entry();
+        assertTrue(log.readEntry(log.getLastSequence(), entry));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * اختبار كتابة تقرير الخطأ بعد نفاد الذاكرة فعلياً
+ * يعمل في JVM خاص به (forkEvery في build.gradle) لأنه يستنفد ذاكرة العملية كاملة
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CrashReportWriterTest {
+
+    // ما يبقى بعد OutOfMemoryError عادة: التخصيص الكبير الذي فشل لم يُنفذ وتبقى فراغات صغيرة
+    private static final int HEADROOM_BYTES = 64 * 1024;
+    private static final int LARGEST_CHUNK = 1 << 20;
+    private static final int SMALLEST_CHUNK = 64;
+    private static final long SIGNATURE = 0x5eedL;
+
+    @Test
+    public void writesReportWhenHeapIsExhausted() throws Exception {
+        Context context = RuntimeEnvironment.getApplication();
+        File internalDir = new File(context.getFilesDir(), "crash_logs");
+        File publicDir = new File(context.getExternalFilesDir(null), CrashReportWriter.PUBLIC_DIR_NAME);
+        CrashReportWriter writer = new CrashReportWriter(context, publicDir, internalDir);
+
+        Microbenchmark.sink = new byte[HEADROOM_BYTES];
+        Object[] ballast = null;
+        OutOfMemoryError error = null;
+        // ملء الذاكرة بقطع تصغر كلما فشل التخصيص حتى لا يبقى إلا أقل من أصغرها
+        for (int chunk = LARGEST_CHUNK; chunk >= SMALLEST_CHUNK; ) {
+            try {
+                ballast = new Object[] {ballast, new byte[chunk]};
+            } catch (OutOfMemoryError e) {
+                error = e;
+                chunk >>= 1;
+            }
+        }
+        Microbenchmark.sink = null;
+
+        File written = writer.write(Thread.currentThread(), error, SIGNATURE);
+        ballast = null;
+
+        assertNotNull(error);
+        assertNotNull("لم يُحفظ التقرير بعد نفاد الذاكرة", written);
+        String report = new String(Files.readAllBytes(written.toPath()), StandardCharsets.UTF_8);
+        assertTrue(report.contains(OutOfMemoryError.class.getName()));
+        assertTrue(report.contains("=== نهاية التقرير ==="));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.oneuiapp;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * قياس تكلفة أدوات القياس نفسها التي تعمل على الخيط الرئيسي في كل إطار
+ */
+@RunWith(RobolectricTestRunner.class)
+public class InstrumentationBenchmark {
+
+    private static final BenchmarkReport REPORT = new BenchmarkReport(InstrumentationBenchmark.class);
+
+    @AfterClass
+    public static void writeReport() throws Exception {
+        REPORT.write();
+    }
+
+    @Test
+    public void frameHistogramRecord() throws Exception {
+        FrameHistogram histogram = new FrameHistogram();
+        REPORT.add(Microbenchmark.run("FrameHistogram.record", 100_000,
+            i -> histogram.record(8_000 + (i & 0x3FFF))));
+        REPORT.add(Microbenchmark.run("FrameHistogram.p99", 1_000,
+            i -> Microbenchmark.longSink = histogram.getValueAtPercentile(99)));
+
+        // القيم المسجلة بين 8 ms و 8 ms + 0x3FFF، فالمئين 99 يقع في النصف الأعلى منها
+        long p99 = histogram.getValueAtPercentile(99);
+        assertTrue("p99: " + p99, p99 > 8_000 + 0x3FFF / 2 && p99 <= 8_000 + 0x3FFF);
+    }
+}
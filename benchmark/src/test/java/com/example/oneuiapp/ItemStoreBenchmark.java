@@ -0,0 +1,124 @@
+package com.example.oneuiapp;
+
+import java.io.File;
+import java.nio.file.Files;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * أول شاشة من مخزن العناصر على القرص مقابل حجم البيانات
+ * الزمن المقاس من فتح المخزن حتى قراءة أول صفحة، والذاكرة المحجوزة للقطة مقابل تحميل كل العناصر
+ * ملفات المخزن في ذاكرة النظام المؤقتة بعد النسخ، فالقياس لا يشمل زمن قراءة القرص نفسه
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ItemStoreBenchmark {
+
+    private static final BenchmarkReport REPORT = new BenchmarkReport(ItemStoreBenchmark.class);
+
+    // تحميل كل العناصر للمقارنة يُقاس حتى هذا الحجم فقط
+    private static final int MAX_LOADED_COMPARISON = 100_000;
+
+    // أول شاشة لا تقرأ إلا سجلاً واحداً وصفحة واحدة، فمئة ضعف في الحجم لا تضاعف زمنها أكثر من هذا
+    private static final double MAX_FIRST_SCREEN_GROWTH = 3;
+    // اللقطة مع أول صفحة مقابل تحميل كل العناصر
+    private static final double MAX_SNAPSHOT_FRACTION = 0.1;
+
+    @AfterClass
+    public static void writeReport() throws Exception {
+        REPORT.write();
+    }
+
+    @Test
+    public void firstScreenDoesNotGrowWithSize() throws Exception {
+        Microbenchmark.Result small = measure(10_000);
+        measure(100_000);
+        Microbenchmark.Result large = measure(1_000_000);
+        assertTrue("أول شاشة: " + small.mean() + " ns لعشرة آلاف، " + large.mean() + " ns لمليون",
+            large.mean() < small.mean() * MAX_FIRST_SCREEN_GROWTH);
+    }
+
+    /**
+     * نسخ العناصر إلى مخزن مؤقت ثم قياس الفتح البارد والنطاقات والذاكرة - يعيد نتيجة أول شاشة
+     */
+    private Microbenchmark.Result measure(int size) throws Exception {
+        File directory = Files.createTempDirectory("item_store").toFile();
+        ListDataSource source = new SyntheticListDataSource(size);
+        ItemStore store = new ItemStore(directory);
+        long seedStart = System.nanoTime();
+        for (int from = 0; from < size; from += ItemStore.SEED_CHUNK_SIZE) {
+            store.append(source, from, Math.min(size, from + ItemStore.SEED_CHUNK_SIZE));
+        }
+        long seedMillis = (System.nanoTime() - seedStart) / 1_000_000;
+        long diskBytes = store.getDiskBytes();
+
+        // فتح بارد من الملفات كما عند تشغيل التطبيق: قراءة الحالة والربط ثم أول صفحة
+        String[] page = new String[PagedList.DEFAULT_PAGE_SIZE];
+        Microbenchmark.Result firstScreen = Microbenchmark.run("ItemStore.firstScreen." + size, 20, i -> {
+            StoredListDataSource stored = new ItemStore(directory).open();
+            stored.readPage(0, page);
+            Microbenchmark.sink = page[0];
+        }).extra("items", size)
+            .extra("diskKb", diskBytes / 1024.0)
+            .extra("seedMillis", seedMillis);
+        REPORT.add(firstScreen);
+
+        // نطاق معرفات في منتصف البيانات: بحثان ثنائيان في الفهرس ثم صفحة واحدة
+        StoredListDataSource stored = store.open();
+        REPORT.add(Microbenchmark.run("ItemStore.rangePage." + size, 200, i -> {
+            long fromId = 1 + (long) (i * 7_919) % (size - page.length);
+            StoredListDataSource range = stored.rangeOfIds(fromId, fromId + page.length);
+            range.readPage(0, page);
+            Microbenchmark.sink = page[page.length - 1];
+        }).extra("items", size));
+
+        long before = usedHeap();
+        StoredListDataSource retained = store.open();
+        retained.readPage(0, page);
+        long snapshotBytes = usedHeap() - before;
+        Microbenchmark.sink = retained;
+
+        Microbenchmark.Result memory = Microbenchmark.run("ItemStore.open." + size, 20,
+            i -> Microbenchmark.sink = store.open())
+            .extra("items", size)
+            .extra("snapshotHeapKb", snapshotBytes / 1024.0);
+        if (size <= MAX_LOADED_COMPARISON) {
+            long loadedBytes = loadedHeapBytes(source);
+            memory.extra("loadedHeapKb", loadedBytes / 1024.0);
+            assertTrue("ذاكرة اللقطة: " + snapshotBytes + " بايت، التحميل الكامل: " + loadedBytes + " بايت",
+                snapshotBytes < loadedBytes * MAX_SNAPSHOT_FRACTION);
+        }
+        REPORT.add(memory);
+
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+        return firstScreen;
+    }
+
+    /**
+     * الذاكرة المحجوزة لو حُمّلت كل العناصر قبل عرض أول شاشة
+     */
+    private static long loadedHeapBytes(ListDataSource source) {
+        long before = usedHeap();
+        String[] items = new String[source.size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = source.get(i);
+        }
+        long bytes = usedHeap() - before;
+        Microbenchmark.sink = items;
+        return bytes;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
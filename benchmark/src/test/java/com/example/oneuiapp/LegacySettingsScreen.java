@@ -0,0 +1,169 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+import android.widget.SeekBar;
+import android.widget.Switch;
+import android.widget.TextView;
+import androidx.core.widget.NestedScrollView;
+
+/**
+ * شاشة الإعدادات كما كانت تُبنى يدوياً في onCreateView قبل preferences.xml
+ * نسخة للقياس فقط حتى يُقارن زمن الجاهزية قبل التغيير وبعده في نفس التشغيل
+ * الرسائل المنبثقة وسجل المسار محذوفة من المستمعين لأنها لا تُنفذ أثناء فتح الشاشة
+ */
+final class LegacySettingsScreen {
+
+    private static final int ONEUI_BLUE = Color.parseColor("#1976D2");
+
+    private final Context context;
+    private final SettingsStore settingsStore;
+
+    private LegacySettingsScreen(Context context, SettingsStore settingsStore) {
+        this.context = context;
+        this.settingsStore = settingsStore;
+    }
+
+    static View build(Context context, SettingsStore settingsStore) {
+        return new LegacySettingsScreen(context, settingsStore).build();
+    }
+
+    private View build() {
+        NestedScrollView scrollView = new NestedScrollView(context);
+        scrollView.setLayoutParams(new ViewGroup.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.MATCH_PARENT));
+        scrollView.setFillViewport(true);
+        scrollView.setPadding(dpToPx(16), dpToPx(16), dpToPx(16), dpToPx(16));
+
+        LinearLayout content = new LinearLayout(context);
+        content.setOrientation(LinearLayout.VERTICAL);
+        content.setLayoutParams(new LinearLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.WRAP_CONTENT));
+
+        content.addView(createHeader("إعدادات التطبيق", 24, 0));
+        content.addView(createSpacer(24));
+
+        content.addView(createHeader("إعدادات الصوت", 18, 16));
+        content.addView(createSlider("مستوى الصوت", SettingsStore.VOLUME));
+        content.addView(createSpacer(32));
+
+        content.addView(createHeader("إعدادات العرض", 18, 16));
+        LinearLayout display = createSection();
+        display.addView(createSlider("سرعة الرسوم المتحركة", SettingsStore.ANIMATION_SPEED));
+        display.addView(createSwitch("الوضع الداكن", SettingsStore.DARK_MODE));
+        content.addView(display);
+        content.addView(createSpacer(32));
+
+        content.addView(createHeader("إعدادات الإشعارات", 18, 16));
+        LinearLayout notifications = createSection();
+        notifications.addView(createSwitch("تفعيل الإشعارات", SettingsStore.NOTIFICATIONS));
+        notifications.addView(createSpacer(16));
+        notifications.addView(createSwitch("الاهتزاز مع الإشعارات", SettingsStore.VIBRATION));
+        content.addView(notifications);
+        content.addView(createSpacer(32));
+
+        content.addView(createHeader("إعدادات الأداء", 18, 16));
+        LinearLayout performance = createSection();
+        performance.addView(createSwitch("الأداء العالي", SettingsStore.HIGH_PERFORMANCE));
+        performance.addView(createSpacer(16));
+        performance.addView(createSwitch("توفير البطارية", SettingsStore.BATTERY_SAVER));
+        performance.addView(createSpacer(16));
+        performance.addView(createSwitch("المزامنة في الخلفية", SettingsStore.BACKGROUND_SYNC));
+        content.addView(performance);
+
+        content.addView(createSpacer(40));
+        LinearLayout tips = createSection();
+        tips.addView(createHeader("نصائح مفيدة", 18, 16));
+        TextView tipsContent = new TextView(context);
+        tipsContent.setText(context.getString(R.string.settings_tips));
+        tipsContent.setTextSize(14);
+        tipsContent.setTextColor(Color.GRAY);
+        tipsContent.setLineSpacing(dpToPx(4), 1.3f);
+        tips.addView(tipsContent);
+        content.addView(tips);
+
+        scrollView.addView(content);
+        return scrollView;
+    }
+
+    private LinearLayout createSection() {
+        LinearLayout layout = new LinearLayout(context);
+        layout.setOrientation(LinearLayout.VERTICAL);
+        return layout;
+    }
+
+    private TextView createHeader(String title, int textSize, int bottomPaddingDp) {
+        TextView header = new TextView(context);
+        header.setText(title);
+        header.setTextSize(textSize);
+        header.setTextColor(ONEUI_BLUE);
+        header.setPadding(0, 0, 0, dpToPx(bottomPaddingDp));
+        header.setLayoutParams(new LinearLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.WRAP_CONTENT));
+        return header;
+    }
+
+    private LinearLayout createSlider(String title, SettingsStore.Key<Integer> key) {
+        LinearLayout layout = createSection();
+        TextView label = new TextView(context);
+        int value = settingsStore.get(key);
+        label.setText(title + ": " + value + "%");
+        label.setTextSize(16);
+        label.setPadding(0, 0, 0, dpToPx(8));
+
+        SeekBar seekBar = new SeekBar(context);
+        seekBar.setMax(100);
+        seekBar.setProgress(value);
+        seekBar.setPadding(0, 0, 0, dpToPx(16));
+        seekBar.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                if (fromUser) {
+                    label.setText(title + ": " + progress + "%");
+                    settingsStore.set(key, progress);
+                }
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {
+            }
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {
+            }
+        });
+
+        layout.addView(label);
+        layout.addView(seekBar);
+        return layout;
+    }
+
+    private Switch createSwitch(String text, SettingsStore.Key<Boolean> key) {
+        Switch switchView = new Switch(context);
+        switchView.setText(text);
+        switchView.setTextSize(16);
+        switchView.setChecked(settingsStore.get(key));
+        switchView.setPadding(0, dpToPx(12), 0, dpToPx(12));
+        switchView.setOnCheckedChangeListener((buttonView, isChecked) -> settingsStore.set(key, isChecked));
+        return switchView;
+    }
+
+    private View createSpacer(int dp) {
+        View spacer = new View(context);
+        spacer.setLayoutParams(new LinearLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT, dpToPx(dp)));
+        return spacer;
+    }
+
+    // كما في النسخة الأصلية: قراءة الكثافة من الموارد في كل تحويل
+    private int dpToPx(int dp) {
+        float density = context.getResources().getDisplayMetrics().density;
+        return Math.round(dp * density);
+    }
+}
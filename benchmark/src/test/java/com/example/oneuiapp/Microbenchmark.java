@@ -0,0 +1,109 @@
+package com.example.oneuiapp;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * أداة قياس مصغرة على غرار JMH
+ * تحمية ثم عدة تكرارات قياس، وكل تكرار ينفذ العملية عدداً ثابتاً من المرات
+ * النتيجة متوسط الزمن لكل عملية بالنانوثانية مع النسب المئوية والذاكرة المخصصة لكل عملية
+ */
+final class Microbenchmark {
+
+    static final int WARMUP_ITERATIONS = 5;
+    static final int MEASUREMENT_ITERATIONS = 10;
+
+    // تمنع JIT من حذف نتائج العمليات غير المستخدمة - الأرقام بدون تغليف حتى لا تُحسب كتخصيص
+    static volatile Object sink;
+    static volatile long longSink;
+
+    /**
+     * العملية المقاسة - index رقم العملية داخل التكرار
+     */
+    interface Operation {
+        void run(int index) throws Exception;
+    }
+
+    /**
+     * نتيجة قياس واحد
+     */
+    static final class Result {
+        final String name;
+        final int opsPerIteration;
+        final double[] nanosPerOp;
+        final double allocatedBytesPerOp;
+        final Map<String, Double> extras = new LinkedHashMap<>();
+
+        Result(String name, int opsPerIteration, double[] nanosPerOp, double allocatedBytesPerOp) {
+            this.name = name;
+            this.opsPerIteration = opsPerIteration;
+            this.nanosPerOp = nanosPerOp;
+            this.allocatedBytesPerOp = allocatedBytesPerOp;
+        }
+
+        double mean() {
+            double sum = 0;
+            for (double value : nanosPerOp) {
+                sum += value;
+            }
+            return sum / nanosPerOp.length;
+        }
+
+        double percentile(double percentile) {
+            double[] sorted = nanosPerOp.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        Result extra(String key, double value) {
+            extras.put(key, value);
+            return this;
+        }
+    }
+
+    private Microbenchmark() {
+    }
+
+    static Result run(String name, int opsPerIteration, Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runIteration(opsPerIteration, operation);
+        }
+
+        double[] nanosPerOp = new double[MEASUREMENT_ITERATIONS];
+        long allocatedBefore = allocatedBytes();
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            nanosPerOp[i] = (double) runIteration(opsPerIteration, operation) / opsPerIteration;
+        }
+        long allocatedAfter = allocatedBytes();
+
+        double allocatedPerOp = allocatedBefore < 0 ? -1
+            : (double) (allocatedAfter - allocatedBefore) / ((long) opsPerIteration * MEASUREMENT_ITERATIONS);
+        Result result = new Result(name, opsPerIteration, nanosPerOp, allocatedPerOp);
+        System.out.printf("%-48s %12.1f ns/op  %10.1f B/op%n", name, result.mean(), allocatedPerOp);
+        return result;
+    }
+
+    private static long runIteration(int ops, Operation operation) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < ops; i++) {
+            operation.run(i);
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * الذاكرة المخصصة من الخيط الحالي، أو -1 إذا لم يدعمها JVM
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean)
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.os.Looper;
+import android.view.View;
+import androidx.recyclerview.widget.RecyclerView;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * مقارنة أوضاع الأداء: زمن كل خطوة تمرير مقابل الذاكرة المحتفظ بها بعد التمرير
+ * التحميل متزامن حتى تكون النتائج قابلة للتكرار، لذلك لا يظهر أثر عدد خيوط القراءة هنا
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PerformanceModeBenchmark {
+
+    private static final BenchmarkReport REPORT = new BenchmarkReport(PerformanceModeBenchmark.class);
+
+    private static final int LIST_WIDTH = 1080;
+    private static final int LIST_HEIGHT = 2200;
+    private static final int SCROLL_STEP_PX = 400;
+    private static final int STEPS_PER_ITERATION = 200;
+
+    @AfterClass
+    public static void writeReport() throws Exception {
+        REPORT.write();
+    }
+
+    @Test
+    public void profilesTradeMemoryForCaching() throws Exception {
+        Microbenchmark.Result high = run(PerformanceMode.HIGH);
+        run(PerformanceMode.STANDARD);
+        Microbenchmark.Result low = run(PerformanceMode.LOW_MEMORY);
+
+        // الوضع العالي يحتفظ بصفحات ونصوص أكثر، ووضع الذاكرة المنخفضة يتخلى عنها
+        assertTrue(high.extras.get("loadedPages") > low.extras.get("loadedPages"));
+        double highKb = high.extras.get("retainedKb");
+        double lowKb = low.extras.get("retainedKb");
+        assertTrue("high: " + highKb + " KB، low_memory: " + lowKb + " KB", highKb > lowKb);
+    }
+
+    private Microbenchmark.Result run(PerformanceMode.Profile profile) throws Exception {
+        Context context = RuntimeEnvironment.getApplication();
+        long heapBefore = usedHeap();
+
+        PagedList pagedList = new PagedList(
+            new SyntheticListDataSource(ScrollFragment.ITEM_COUNT),
+            PagedList.DEFAULT_PAGE_SIZE,
+            profile.maxPages,
+            profile.prefetchPages,
+            Runnable::run);
+        ScrollAdapter adapter = new ScrollAdapter(pagedList, "...");
+        TextPrecomputer textPrecomputer = new TextPrecomputer(
+            RowView.createLabelPaint(context), profile.textCacheSize);
+        textPrecomputer.setLabelWidth(RowView.labelWidthFor(context, LIST_WIDTH));
+        adapter.setTextPrecomputer(textPrecomputer);
+
+        RecyclerView recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(new ScrollFragment.ProfiledLayoutManager(context));
+        recyclerView.setRecycledViewPool(new RowViewPool());
+        recyclerView.setAdapter(adapter);
+        ScrollFragment.applyProfile(profile, recyclerView, pagedList, textPrecomputer);
+
+        recyclerView.measure(
+            View.MeasureSpec.makeMeasureSpec(LIST_WIDTH, View.MeasureSpec.EXACTLY),
+            View.MeasureSpec.makeMeasureSpec(LIST_HEIGHT, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, LIST_WIDTH, LIST_HEIGHT);
+
+        int createdBefore = ScrollAdapter.getCreatedHolderCount();
+        Microbenchmark.Result result = Microbenchmark.run(
+            "PerformanceMode." + profile + ".scrollStep", STEPS_PER_ITERATION, i -> {
+                recyclerView.scrollBy(0, SCROLL_STEP_PX);
+                shadowOf(Looper.getMainLooper()).idle();
+            });
+        int rowsCreated = ScrollAdapter.getCreatedHolderCount() - createdBefore;
+
+        long retained = usedHeap() - heapBefore;
+        int lookups = textPrecomputer.getHitCount() + textPrecomputer.getMissCount();
+        REPORT.add(result
+            .extra("retainedKb", retained / 1024.0)
+            .extra("rowsCreated", rowsCreated)
+            .extra("loadedPages", pagedList.getLoadedPageCount())
+            .extra("textHitRate", lookups > 0 ? (double) textPrecomputer.getHitCount() / lookups : 0)
+            .extra("itemViewCacheSize", profile.itemViewCacheSize)
+            .extra("textCacheSize", profile.textCacheSize)
+            .extra("ioThreads", profile.ioThreads));
+        System.out.printf("%-48s retained %.1f KB%n", profile.toString(), retained / 1024.0);
+
+        // إبقاء القائمة حية حتى بعد قياس الذاكرة
+        Microbenchmark.sink = recyclerView;
+        return result;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.GraphicsMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * مقارنة تكلفة القياس والتخطيط والرسم لكل صف بين RowView والصف السابق (LinearLayout مع عرضين للنص)
+ * الرسم الحقيقي يتطلب وضع الرسوميات الأصلي في Robolectric
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class RowViewBenchmark {
+
+    private static final BenchmarkReport REPORT = new BenchmarkReport(RowViewBenchmark.class);
+
+    private static final int ROW_WIDTH = 1080;
+    private static final int LABEL_COUNT = 256;
+
+    private final String[] labels = new String[LABEL_COUNT];
+    private Context context;
+    private Canvas canvas;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        ListDataSource source = new SyntheticListDataSource(LABEL_COUNT);
+        for (int i = 0; i < LABEL_COUNT; i++) {
+            labels[i] = source.get(i);
+        }
+        canvas = new Canvas(Bitmap.createBitmap(ROW_WIDTH, 256, Bitmap.Config.ARGB_8888));
+    }
+
+    @AfterClass
+    public static void writeReport() throws Exception {
+        REPORT.write();
+    }
+
+    @Test
+    public void rowViewVersusLegacyRow() throws Exception {
+        LinearLayout legacy = createLegacyRow(context);
+        TextView label = (TextView) legacy.getChildAt(1);
+        Microbenchmark.Result legacyResult =
+            run("LegacyRow", legacy, i -> label.setText(labels[i % LABEL_COUNT]), 3);
+
+        RowView row = new RowView(context);
+        row.setLayoutParams(new ViewGroup.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.WRAP_CONTENT));
+        Microbenchmark.Result rowResult = run("RowView", row, i -> row.setText(labels[i % LABEL_COUNT]), 1);
+
+        assertTrue("RowView: " + rowResult.mean() + " ns، الصف السابق: " + legacyResult.mean() + " ns",
+            rowResult.mean() < legacyResult.mean());
+    }
+
+    @Test
+    public void rowViewPrecomputed() throws Exception {
+        // التخطيطات مجهزة مسبقاً بعرض الصف كما يفعل خيط تحميل الصفحات
+        TextPrecomputer precomputer = new TextPrecomputer(
+            RowView.createLabelPaint(context), TextPrecomputer.DEFAULT_CAPACITY);
+        precomputer.setLabelWidth(RowView.labelWidthFor(context, ROW_WIDTH));
+        precomputer.processPage(labels);
+        RowView row = new RowView(context);
+        row.setLayoutParams(new ViewGroup.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.WRAP_CONTENT));
+        run("RowView.precomputed", row, i -> {
+            String label = labels[i % LABEL_COUNT];
+            row.setLabel(label, precomputer.lookup(label));
+        }, 1);
+
+        // كل ربط وجد تخطيطه جاهزاً والصف يرسمه كما هو، فلا تشكيل ولا بناء على الخيط الرئيسي
+        assertEquals(0, precomputer.getMissCount());
+        assertTrue(precomputer.getHitCount() > 0);
+        assertSame(precomputer.lookup(row.getText().toString()), row.getLabelLayout());
+    }
+
+    /**
+     * كل عملية تربط نصاً جديداً ثم تقيس الصف كما يفعل RecyclerView بعد إعادة الربط
+     * يعيد نتيجة الدورة الكاملة من الربط حتى الرسم
+     */
+    private Microbenchmark.Result run(String name, View row, Microbenchmark.Operation bind, int viewCount)
+            throws Exception {
+        int widthSpec = View.MeasureSpec.makeMeasureSpec(ROW_WIDTH, View.MeasureSpec.EXACTLY);
+        int heightSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+
+        REPORT.add(Microbenchmark.run(name + ".measureLayout", 1000, i -> {
+            bind.run(i);
+            forceLayout(row);
+            row.measure(widthSpec, heightSpec);
+            row.layout(0, 0, row.getMeasuredWidth(), row.getMeasuredHeight());
+        }).extra("views", viewCount).extra("heightPx", row.getMeasuredHeight()));
+
+        REPORT.add(Microbenchmark.run(name + ".draw", 1000, i -> {
+            bind.run(i);
+            row.draw(canvas);
+        }).extra("views", viewCount));
+
+        Microbenchmark.Result full = Microbenchmark.run(name + ".bindMeasureLayoutDraw", 1000, i -> {
+            bind.run(i);
+            forceLayout(row);
+            row.measure(widthSpec, heightSpec);
+            row.layout(0, 0, row.getMeasuredWidth(), row.getMeasuredHeight());
+            row.draw(canvas);
+        }).extra("views", viewCount);
+        REPORT.add(full);
+        return full;
+    }
+
+    private static void forceLayout(View view) {
+        view.forceLayout();
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                forceLayout(group.getChildAt(i));
+            }
+        }
+    }
+
+    /**
+     * نسخة من بنية الصف قبل RowView كما كانت في ScrollAdapter.onCreateViewHolder
+     */
+    private static LinearLayout createLegacyRow(Context context) {
+        LinearLayout itemLayout = new LinearLayout(context);
+        itemLayout.setOrientation(LinearLayout.HORIZONTAL);
+        itemLayout.setPadding(32, 24, 32, 24);
+        itemLayout.setLayoutParams(new ViewGroup.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.WRAP_CONTENT));
+
+        TextView iconText = new TextView(context);
+        iconText.setText("📄");
+        iconText.setTextSize(16);
+        iconText.setPadding(0, 0, 24, 0);
+        iconText.setLayoutParams(new LinearLayout.LayoutParams(
+            ViewGroup.LayoutParams.WRAP_CONTENT,
+            ViewGroup.LayoutParams.WRAP_CONTENT));
+
+        TextView itemText = new TextView(context);
+        itemText.setTextSize(16);
+        itemText.setTextColor(Color.DKGRAY);
+        itemText.setLayoutParams(new LinearLayout.LayoutParams(
+            0,
+            ViewGroup.LayoutParams.WRAP_CONTENT,
+            1.0f));
+
+        itemLayout.addView(iconText);
+        itemLayout.addView(itemText);
+        return itemLayout;
+    }
+}
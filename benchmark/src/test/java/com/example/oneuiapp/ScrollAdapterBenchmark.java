@@ -0,0 +1,241 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.os.Looper;
+import android.util.SparseArray;
+import android.view.View;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * قياس إنشاء وربط صفوف ScrollAdapter وحساب الفروقات عند استبدال المصدر
+ * والتحديث بالفروقات مقابل الاستبدال الكامل لقوائم من 50 ألف عنصر فأكثر
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ScrollAdapterBenchmark {
+
+    private static final BenchmarkReport REPORT = new BenchmarkReport(ScrollAdapterBenchmark.class);
+
+    // عدد العناصر داخل نافذة الصفحات المحملة
+    private static final int WINDOW_ITEMS = PagedList.DEFAULT_PAGE_SIZE * PagedList.DEFAULT_MAX_PAGES;
+
+    // أحجام التحديث الكبيرة والقائمة المعروضة في شاشة كاملة أثناء التحديث
+    private static final int[] UPDATE_SIZES = {50_000, 100_000, 200_000};
+    private static final int VIEWPORT_WIDTH = 1080;
+    private static final int VIEWPORT_HEIGHT = 1920;
+    private static final int UPDATES = Microbenchmark.WARMUP_ITERATIONS + Microbenchmark.MEASUREMENT_ITERATIONS;
+
+    private RecyclerView parent;
+    private ScrollAdapter adapter;
+
+    @Before
+    public void setUp() {
+        Context context = RuntimeEnvironment.getApplication();
+        parent = new RecyclerView(context);
+        parent.setLayoutManager(new LinearLayoutManager(context));
+
+        // تحميل متزامن للصفحات حتى يقيس الربط نصوصاً حقيقية وليس النص المؤقت
+        PagedList pagedList = new PagedList(
+            new SyntheticListDataSource(ScrollFragment.ITEM_COUNT),
+            PagedList.DEFAULT_PAGE_SIZE,
+            PagedList.DEFAULT_MAX_PAGES,
+            PagedList.DEFAULT_PREFETCH_PAGES,
+            Runnable::run);
+        adapter = new ScrollAdapter(pagedList, "...");
+        for (int i = 0; i < WINDOW_ITEMS; i += PagedList.DEFAULT_PAGE_SIZE) {
+            pagedList.get(i);
+        }
+        shadowOf(Looper.getMainLooper()).idle();
+        assertNotNull(pagedList.get(WINDOW_ITEMS - 1));
+    }
+
+    @AfterClass
+    public static void writeReport() throws Exception {
+        REPORT.write();
+    }
+
+    @Test
+    public void createViewHolder() throws Exception {
+        REPORT.add(Microbenchmark.run("ScrollAdapter.onCreateViewHolder", 200,
+            i -> Microbenchmark.sink = adapter.onCreateViewHolder(parent, ScrollAdapter.VIEW_TYPE_ROW)));
+    }
+
+    @Test
+    public void bindDistinctRows() throws Exception {
+        ScrollAdapter.ViewHolder holder = adapter.onCreateViewHolder(parent, ScrollAdapter.VIEW_TYPE_ROW);
+        REPORT.add(Microbenchmark.run("ScrollAdapter.onBindViewHolder.distinct", WINDOW_ITEMS,
+            i -> adapter.onBindViewHolder(holder, i)));
+    }
+
+    @Test
+    public void rebindSameRow() throws Exception {
+        // إعادة الربط بنفس المحتوى بعد notifyItemChanged - يجب أن تتخطى setText
+        ScrollAdapter.ViewHolder holder = adapter.onCreateViewHolder(parent, ScrollAdapter.VIEW_TYPE_ROW);
+        REPORT.add(Microbenchmark.run("ScrollAdapter.onBindViewHolder.unchanged", 1000,
+            i -> adapter.onBindViewHolder(holder, 7)));
+    }
+
+    @Test
+    public void diffFilteredSource() throws Exception {
+        diff(1_000);
+        diff(10_000);
+    }
+
+    private void diff(int size) throws Exception {
+        ListDataSource oldSource = new SyntheticListDataSource(size);
+        ListDataSource newSource = new EveryNthRemoved(oldSource, 100);
+        REPORT.add(Microbenchmark.run("ScrollAdapter.calculateDiff." + size, 1,
+            i -> Microbenchmark.sink = DiffUtil.calculateDiff(
+                new ScrollAdapter.SourceDiffCallback(oldSource, newSource), true))
+            .extra("items", size));
+    }
+
+    @Test
+    public void fullReplaceVersusDiffedUpdate() throws Exception {
+        for (int size : UPDATE_SIZES) {
+            updates(size);
+        }
+    }
+
+    /**
+     * تحديث قائمة معروضة بالتناوب بين المصدر الكامل ونسخة محذوف منها عنصر من كل 100
+     * الاستبدال الكامل ينشئ محولاً جديداً كما كان قبل submitSource فيُعاد ربط كل الصفوف الظاهرة
+     * التحديث بالفروقات يطبق نتيجة DiffUtil المحسوبة مسبقاً كما تصل من الخلفية، فيُقاس عمل الخيط الرئيسي فقط
+     */
+    private void updates(int size) throws Exception {
+        Context context = RuntimeEnvironment.getApplication();
+        ListDataSource[] sources = {new SyntheticListDataSource(size), null};
+        sources[1] = new EveryNthRemoved(sources[0], 100);
+
+        RecyclerView list = new RecyclerView(context);
+        list.setLayoutManager(new LinearLayoutManager(context));
+        list.setHasFixedSize(true);
+        list.setItemAnimator(null);
+
+        int[] step = {0};
+        int bindsBefore = CountingAdapter.binds;
+        Microbenchmark.Result fullReplace = Microbenchmark.run("ScrollAdapter.update.fullReplace." + size, 1, i -> {
+            ListDataSource target = sources[++step[0] & 1];
+            list.setAdapter(new CountingAdapter(pagedListOf(target)));
+            settle(list);
+        });
+        double fullBinds = (double) (CountingAdapter.binds - bindsBefore) / UPDATES;
+        REPORT.add(fullReplace.extra("items", size).extra("bindsPerUpdate", fullBinds));
+
+        DiffUtil.DiffResult[] diffs = {
+            DiffUtil.calculateDiff(new ScrollAdapter.SourceDiffCallback(sources[1], sources[0]), false),
+            DiffUtil.calculateDiff(new ScrollAdapter.SourceDiffCallback(sources[0], sources[1]), false)
+        };
+        REPORT.add(Microbenchmark.run("ScrollAdapter.update.diffCompute." + size, 1,
+            i -> Microbenchmark.sink = DiffUtil.calculateDiff(
+                new ScrollAdapter.SourceDiffCallback(sources[0], sources[1]), false))
+            .extra("items", size)
+            .extra("changedItems", sources[0].size() - sources[1].size()));
+
+        PagedList pagedList = pagedListOf(sources[0]);
+        CountingAdapter adapter = new CountingAdapter(pagedList);
+        list.setAdapter(adapter);
+        settle(list);
+        step[0] = 0;
+        bindsBefore = CountingAdapter.binds;
+        Microbenchmark.Result diffed = Microbenchmark.run("ScrollAdapter.update.diffed." + size, 1, i -> {
+            int next = ++step[0] & 1;
+            ListDataSource target = sources[next];
+            SparseArray<String[]> preloaded = pagedList.preloadPages(target, pagedList.getAnchorPosition());
+            pagedList.swapSource(target, preloaded);
+            diffs[next].dispatchUpdatesTo(adapter);
+            settle(list);
+        });
+        double diffedBinds = (double) (CountingAdapter.binds - bindsBefore) / UPDATES;
+        REPORT.add(diffed.extra("items", size).extra("bindsPerUpdate", diffedBinds));
+
+        assertTrue("ربط لكل تحديث بالفروقات: " + diffedBinds + " بالاستبدال: " + fullBinds,
+            diffedBinds < fullBinds);
+    }
+
+    private static PagedList pagedListOf(ListDataSource source) {
+        return new PagedList(
+            source,
+            PagedList.DEFAULT_PAGE_SIZE,
+            PagedList.DEFAULT_MAX_PAGES,
+            PagedList.DEFAULT_PREFETCH_PAGES,
+            Runnable::run);
+    }
+
+    /**
+     * إطار كامل: تخطيط ثم نشر الصفحات المحملة ثم تخطيط لإعادة ربطها
+     */
+    private static void settle(RecyclerView list) {
+        layout(list);
+        shadowOf(Looper.getMainLooper()).idle();
+        layout(list);
+    }
+
+    private static void layout(RecyclerView list) {
+        list.measure(
+            View.MeasureSpec.makeMeasureSpec(VIEWPORT_WIDTH, View.MeasureSpec.EXACTLY),
+            View.MeasureSpec.makeMeasureSpec(VIEWPORT_HEIGHT, View.MeasureSpec.EXACTLY));
+        list.layout(0, 0, VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+    }
+
+    /**
+     * محول يعد عمليات الربط
+     */
+    private static final class CountingAdapter extends ScrollAdapter {
+        static int binds;
+
+        CountingAdapter(PagedList pagedList) {
+            super(pagedList, "...");
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+            binds++;
+            super.onBindViewHolder(holder, position);
+        }
+    }
+
+    /**
+     * مصدر يحذف عنصراً من كل n عناصر - تغيير صغير متفرق كما في التصفية
+     */
+    private static final class EveryNthRemoved implements ListDataSource {
+        private final ListDataSource source;
+        private final int n;
+
+        EveryNthRemoved(ListDataSource source, int n) {
+            this.source = source;
+            this.n = n;
+        }
+
+        private int map(int position) {
+            return position + position / (n - 1) + 1;
+        }
+
+        @Override
+        public int size() {
+            return source.size() - (source.size() + n - 1) / n;
+        }
+
+        @Override
+        public String get(int position) {
+            return source.get(map(position));
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return source.getItemId(map(position));
+        }
+    }
+}
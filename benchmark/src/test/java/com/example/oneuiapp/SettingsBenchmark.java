@@ -0,0 +1,169 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewGroup;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * قياس حفظ الإعدادات وقراءة مخطط شاشة الإعدادات وزمن جاهزية الشاشة قبل المخطط وبعده
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SettingsBenchmark {
+
+    private static final BenchmarkReport REPORT = new BenchmarkReport(SettingsBenchmark.class);
+
+    // عدد التغييرات في سحبة واحدة لشريط التمرير
+    private static final int BURST_SIZE = 100;
+
+    // سحب بطيء: كل تغيير قبل انتهاء مهلة الحفظ، والسحب كله أطول منها بكثير
+    private static final int SLOW_DRAG_STEPS = 20;
+    private static final long SLOW_DRAG_STEP_MS = SettingsStore.FLUSH_DELAY_MS / 5;
+
+    private static final long FLUSH_TIMEOUT_MS = 5_000;
+
+    // الجاهزية: بناء الشاشة حتى أول تخطيط كامل في نافذة بحجم الشاشة
+    private static final int SCREEN_WIDTH = 1080;
+    private static final int SCREEN_HEIGHT = 1920;
+
+    private Context context;
+    private SettingsStore store;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        store = SettingsStore.getInstance(context);
+    }
+
+    @AfterClass
+    public static void writeReport() throws Exception {
+        REPORT.write();
+    }
+
+    @Test
+    public void setInMemory() throws Exception {
+        REPORT.add(Microbenchmark.run("SettingsStore.set", 1_000,
+            i -> store.set(SettingsStore.VOLUME, i & 63)));
+        flushPending();
+    }
+
+    @Test
+    public void burstWriteAmplification() throws Exception {
+        flushPending();
+        int writesBefore = store.getDiskWriteCount();
+        Microbenchmark.Result result = Microbenchmark.run("SettingsStore.burstAndFlush", 1, i -> {
+            for (int step = 0; step < BURST_SIZE; step++) {
+                store.set(SettingsStore.ANIMATION_SPEED, step);
+            }
+            flushPending();
+        });
+        int bursts = Microbenchmark.WARMUP_ITERATIONS + Microbenchmark.MEASUREMENT_ITERATIONS;
+        double writesPerBurst = (double) (store.getDiskWriteCount() - writesBefore) / bursts;
+        REPORT.add(result
+            .extra("setsPerBurst", BURST_SIZE)
+            .extra("diskWritesPerBurst", writesPerBurst));
+        assertEquals(1.0, writesPerBurst, 0.0);
+    }
+
+    @Test
+    public void slowDragWritesOnce() throws Exception {
+        flushPending();
+        int writesBefore = store.getDiskWriteCount();
+        for (int step = 0; step < SLOW_DRAG_STEPS; step++) {
+            store.set(SettingsStore.VOLUME, (store.get(SettingsStore.VOLUME) + 1) % 100);
+            shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(SLOW_DRAG_STEP_MS));
+        }
+        flushPending();
+        assertEquals(writesBefore + 1, store.getDiskWriteCount());
+    }
+
+    @Test
+    public void parseSchema() throws Exception {
+        REPORT.add(Microbenchmark.run("SettingsSchema.parse", 20,
+            i -> Microbenchmark.sink = SettingsSchema.parse(context.getResources(), R.xml.preferences)));
+        REPORT.add(Microbenchmark.run("SettingsSchema.get.cached", 10_000,
+            i -> Microbenchmark.sink = SettingsSchema.get(context, R.xml.preferences)));
+    }
+
+    @Test
+    public void timeToInteractive() throws Exception {
+        REPORT.add(Microbenchmark.run("SettingsScreen.timeToInteractive.imperative", 20, i -> {
+            View screen = LegacySettingsScreen.build(context, store);
+            layout(screen);
+            Microbenchmark.sink = screen;
+        }).extra("views", countViews(LegacySettingsScreen.build(context, store))));
+
+        SettingsSchema schema = SettingsSchema.get(context, R.xml.preferences);
+        RecyclerView[] last = new RecyclerView[1];
+        REPORT.add(Microbenchmark.run("SettingsScreen.timeToInteractive.schema", 20, i -> {
+            // نفس خطوات SettingsFragment.onCreateView مع المخطط المحفوظ من النسخة السابقة
+            RecyclerView list = new RecyclerView(context);
+            list.setLayoutManager(new LinearLayoutManager(context));
+            list.setAdapter(new SettingsAdapter(context, SettingsSchema.get(context, R.xml.preferences), store));
+            layout(list);
+            last[0] = list;
+        }).extra("rows", schema.size()));
+
+        // المخطط يُقرأ مرة واحدة لكل عملية والصفوف المبنية هي الظاهرة فقط
+        assertSame(schema, SettingsSchema.get(context, R.xml.preferences));
+        RecyclerView list = last[0];
+        assertTrue(list.getChildCount() > 0);
+        assertTrue("صفوف مبنية: " + list.getChildCount() + " من " + schema.size(),
+            list.getChildCount() <= schema.size());
+        View lastChild = list.getChildAt(list.getChildCount() - 1);
+        assertTrue(list.getChildCount() == schema.size() || lastChild.getBottom() >= SCREEN_HEIGHT);
+    }
+
+    private static void layout(View screen) {
+        screen.measure(
+            View.MeasureSpec.makeMeasureSpec(SCREEN_WIDTH, View.MeasureSpec.EXACTLY),
+            View.MeasureSpec.makeMeasureSpec(SCREEN_HEIGHT, View.MeasureSpec.EXACTLY));
+        screen.layout(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+    }
+
+    private static int countViews(View view) {
+        int count = 1;
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                count += countViews(group.getChildAt(i));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * تشغيل الحفظ المؤجل وانتظار انتهاء كل أعمال مسار القراءة الذي يُنفذ عليه الحفظ
+     * المسار له أكثر من خيط، لذلك يُنتظر اكتمال كل ما أُرسل إليه بدلاً من عمل فارغ خلفه
+     */
+    private void flushPending() throws Exception {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(SettingsStore.FLUSH_DELAY_MS));
+        WorkScheduler scheduler = WorkScheduler.getInstance(context);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_TIMEOUT_MS);
+        while (true) {
+            WorkScheduler.LaneMetrics metrics = scheduler.getMetrics(WorkScheduler.LANE_IO);
+            if (metrics.completed + metrics.failed == metrics.submitted) {
+                return;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("لم ينته حفظ الإعدادات خلال " + FLUSH_TIMEOUT_MS + " ms");
+            }
+            Thread.yield();
+        }
+    }
+}
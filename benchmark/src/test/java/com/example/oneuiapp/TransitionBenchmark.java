@@ -0,0 +1,174 @@
+package com.example.oneuiapp;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+import androidx.recyclerview.widget.RecyclerView;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.GraphicsMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * تكلفة إطار واحد من الإظهار التدريجي لشاشة القائمة بطبقة وبدونها
+ * بدون طبقة يُعاد رسم الشجرة كاملة في طبقة شفافة مؤقتة لكل إطار، ومع withLayer تُرسم مرة واحدة
+ * ثم يرسم كل إطار الطبقة بشفافية مختلفة - الرسم هنا برمجي، والقياس على الجهاز في FrameMonitor
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class TransitionBenchmark {
+
+    private static final BenchmarkReport REPORT = new BenchmarkReport(TransitionBenchmark.class);
+
+    private static final int SCREEN_WIDTH = 1080;
+    private static final int SCREEN_HEIGHT = 2200;
+    // عدد إطارات انتقال مدته 300 ms بمعدل 60Hz
+    private static final int FADE_FRAMES = 18;
+
+    private Context context;
+    private Canvas canvas;
+    private LinearLayout root;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        canvas = new Canvas(Bitmap.createBitmap(SCREEN_WIDTH, SCREEN_HEIGHT, Bitmap.Config.ARGB_8888));
+        root = createScreen(context);
+        layoutScreen();
+        // نشر الصفحة الأولى ثم إعادة التخطيط حتى تظهر النصوص بدلاً من رسالة التحميل
+        shadowOf(Looper.getMainLooper()).idle();
+        layoutScreen();
+    }
+
+    private void layoutScreen() {
+        root.measure(
+            View.MeasureSpec.makeMeasureSpec(SCREEN_WIDTH, View.MeasureSpec.EXACTLY),
+            View.MeasureSpec.makeMeasureSpec(SCREEN_HEIGHT, View.MeasureSpec.EXACTLY));
+        root.layout(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+    }
+
+    @AfterClass
+    public static void writeReport() throws Exception {
+        REPORT.write();
+    }
+
+    @Test
+    public void fadeFrame() throws Exception {
+        Microbenchmark.Result noLayer = Microbenchmark.run("Transition.fadeFrame.noLayer", 200, i -> {
+            canvas.drawColor(Color.WHITE);
+            canvas.saveLayerAlpha(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT, alphaForFrame(i));
+            root.draw(canvas);
+            canvas.restore();
+        }).extra("views", countViews(root));
+        REPORT.add(noLayer);
+
+        Bitmap layer = Bitmap.createBitmap(SCREEN_WIDTH, SCREEN_HEIGHT, Bitmap.Config.ARGB_8888);
+        Canvas layerCanvas = new Canvas(layer);
+
+        // تكلفة بناء الطبقة تُدفع مرة واحدة في بداية الانتقال
+        REPORT.add(Microbenchmark.run("Transition.layerBuild", 50, i -> {
+            layer.eraseColor(Color.TRANSPARENT);
+            root.draw(layerCanvas);
+        }).extra("views", countViews(root)));
+
+        Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+        Microbenchmark.Result withLayer = Microbenchmark.run("Transition.fadeFrame.withLayer", 200, i -> {
+            canvas.drawColor(Color.WHITE);
+            paint.setAlpha(alphaForFrame(i));
+            canvas.drawBitmap(layer, 0, 0, paint);
+        }).extra("views", countViews(root));
+        REPORT.add(withLayer);
+
+        assertTrue("إطار بطبقة: " + withLayer.mean() + " ns، بدون طبقة: " + noLayer.mean() + " ns",
+            withLayer.mean() < noLayer.mean());
+    }
+
+    @Test
+    public void durationsFollowSpeedSetting() {
+        SettingsStore store = SettingsStore.getInstance(context);
+        AnimationPolicy policy = AnimationPolicy.getInstance(context);
+        PerformanceMode.Profile profile = PerformanceMode.getInstance(context).getProfile();
+        int speed = store.get(SettingsStore.ANIMATION_SPEED);
+        try {
+            store.set(SettingsStore.ANIMATION_SPEED, AnimationPolicy.REFERENCE_SPEED);
+            assertEquals(profile.scaleDuration(AnimationPolicy.FADE_IN_MS),
+                policy.scaleDuration(AnimationPolicy.FADE_IN_MS));
+
+            // التغيير يصل مباشرة دون إعادة فتح الشاشة، والسرعة 0 تلغي الرسوم
+            store.set(SettingsStore.ANIMATION_SPEED, 0);
+            assertFalse(policy.isEnabled());
+            assertEquals(0, policy.scaleDuration(AnimationPolicy.FADE_IN_MS));
+
+            store.set(SettingsStore.ANIMATION_SPEED, AnimationPolicy.REFERENCE_SPEED * 2);
+            assertTrue(policy.isEnabled());
+            assertTrue(policy.scaleDuration(AnimationPolicy.FADE_IN_MS)
+                < profile.scaleDuration(AnimationPolicy.FADE_IN_MS));
+        } finally {
+            store.set(SettingsStore.ANIMATION_SPEED, speed);
+        }
+    }
+
+    private static int alphaForFrame(int frame) {
+        return Math.round(255f * (frame % FADE_FRAMES + 1) / FADE_FRAMES);
+    }
+
+    /**
+     * نفس بنية شاشة القائمة في ScrollFragment: عنوان وقائمة ونص ختامي
+     */
+    private static LinearLayout createScreen(Context context) {
+        LinearLayout screen = new LinearLayout(context);
+        screen.setOrientation(LinearLayout.VERTICAL);
+        screen.setPadding(48, 48, 48, 48);
+
+        TextView header = new TextView(context);
+        header.setText("📋 قائمة التمرير المحسنة");
+        header.setTextSize(20);
+        screen.addView(header, new LinearLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+
+        PagedList pagedList = new PagedList(
+            new SyntheticListDataSource(ScrollFragment.ITEM_COUNT),
+            PagedList.DEFAULT_PAGE_SIZE,
+            PagedList.DEFAULT_MAX_PAGES,
+            PagedList.DEFAULT_PREFETCH_PAGES,
+            Runnable::run);
+        RecyclerView recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(new ScrollFragment.ProfiledLayoutManager(context));
+        recyclerView.setAdapter(new ScrollAdapter(pagedList, "..."));
+        screen.addView(recyclerView, new LinearLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT, 0, 1f));
+
+        TextView footer = new TextView(context);
+        footer.setText("💡 نصيحة: استخدم ميزة Pull-to-Reach لسهولة الوصول للعناصر العلوية");
+        footer.setTextSize(14);
+        screen.addView(footer, new LinearLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        return screen;
+    }
+
+    private static int countViews(View view) {
+        int count = 1;
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                count += countViews(group.getChildAt(i));
+            }
+        }
+        return count;
+    }
+}